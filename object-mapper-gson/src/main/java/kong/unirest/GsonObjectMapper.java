@@ -50,6 +50,22 @@ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
 package kong.unirest;
 
 import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 public class GsonObjectMapper implements ObjectMapper {
     private Gson om;
@@ -76,4 +92,90 @@ public class GsonObjectMapper implements ObjectMapper {
     public String writeValue(Object value) {
         return om.toJson(value);
     }
+
+    @Override
+    public <T> T readValue(byte[] value, Class<T> valueType) {
+        return readValue(new ByteArrayInputStream(value), valueType);
+    }
+
+    @Override
+    public <T> T readValue(byte[] value, GenericType<T> genericType) {
+        return readValue(new ByteArrayInputStream(value), genericType);
+    }
+
+    @Override
+    public <T> T readValue(InputStream value, Class<T> valueType) {
+        return readValue(new InputStreamReader(value, StandardCharsets.UTF_8), valueType);
+    }
+
+    @Override
+    public <T> T readValue(InputStream value, GenericType<T> genericType) {
+        return readValue(new InputStreamReader(value, StandardCharsets.UTF_8), genericType);
+    }
+
+    @Override
+    public <T> T readValue(Reader value, Class<T> valueType) {
+        return om.fromJson(value, valueType);
+    }
+
+    @Override
+    public <T> T readValue(Reader value, GenericType<T> genericType) {
+        return om.fromJson(value, genericType.getType());
+    }
+
+    @Override
+    public <T> Iterator<T> readValues(Reader value, Class<T> valueType) {
+        return new ValueIterator<>(om.newJsonReader(value), valueType);
+    }
+
+    @Override
+    public void writeValue(Object value, OutputStream output, Charset charset) {
+        try {
+            Writer writer = new OutputStreamWriter(output, charset);
+            om.toJson(value, writer);
+            writer.flush();
+        } catch (IOException e) {
+            throw new UnirestException(e);
+        }
+    }
+
+    /**
+     * Reads the elements of a top level array, or values following each other, one at a time.
+     */
+    private class ValueIterator<T> implements Iterator<T> {
+        private final JsonReader reader;
+        private final Class<T> valueType;
+        private Boolean array;
+
+        ValueIterator(JsonReader reader, Class<T> valueType) {
+            this.reader = reader;
+            this.valueType = valueType;
+            reader.setLenient(true);
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                if (array == null) {
+                    array = reader.peek() == JsonToken.BEGIN_ARRAY;
+                    if (array) {
+                        reader.beginArray();
+                    }
+                }
+                return array ? reader.hasNext() : reader.peek() != JsonToken.END_DOCUMENT;
+            } catch (EOFException e) {
+                return false;
+            } catch (IOException e) {
+                throw new UnirestException(e);
+            }
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return om.fromJson(reader, valueType);
+        }
+    }
 }
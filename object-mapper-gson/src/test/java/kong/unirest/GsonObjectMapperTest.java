@@ -53,6 +53,11 @@ import org.junit.Test;
 import org.skyscreamer.jsonassert.JSONAssert;
 
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.List;
 
 import static org.junit.Assert.*;
@@ -99,6 +104,63 @@ public class GsonObjectMapperTest {
         assertEquals(null, test.another.another);
     }
 
+    @Test
+    public void canReadBytes(){
+        TestMe test = om.readValue("{\"text\":\"foo\",\"nmbr\":42}".getBytes(StandardCharsets.UTF_8),
+                TestMe.class);
+
+        assertEquals("foo", test.text);
+        assertEquals(42, test.nmbr);
+    }
+
+    @Test
+    public void canReadGenericsFromAStream(){
+        List<TestMe> testList = om.readValue(new ByteArrayInputStream("[{\"text\":\"foo\",\"nmbr\":42}]".getBytes(StandardCharsets.UTF_8)),
+                new GenericType<List<TestMe>>(){});
+
+        assertEquals("foo", testList.get(0).text);
+        assertEquals(42, testList.get(0).nmbr);
+    }
+
+    @Test
+    public void canReadFromAReader(){
+        TestMe test = om.readValue(new StringReader("{\"text\":\"föö\",\"nmbr\":42}"), TestMe.class);
+
+        assertEquals("föö", test.text);
+        assertEquals(42, test.nmbr);
+    }
+
+    @Test
+    public void canWriteToAStream() {
+        TestMe test = new TestMe("föö", 42, null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        om.writeValue(test, out, StandardCharsets.ISO_8859_1);
+
+        JSONAssert.assertEquals(
+                "{\"text\":\"föö\",\"nmbr\":42}"
+                , new String(out.toByteArray(), StandardCharsets.ISO_8859_1)
+                , true
+        );
+    }
+
+    @Test
+    public void canReadTheValuesOfAnArrayOneAtATime() {
+        Iterator<TestMe> values = om.readValues(new StringReader("[{\"text\":\"foo\",\"nmbr\":1}, {\"text\":\"bar\",\"nmbr\":2}]"), TestMe.class);
+
+        assertEquals("foo", values.next().text);
+        assertEquals(2, values.next().nmbr);
+        assertFalse(values.hasNext());
+    }
+
+    @Test
+    public void canReadNewlineDelimitedValues() {
+        Iterator<TestMe> values = om.readValues(new ByteArrayInputStream("{\"text\":\"foo\"}\n{\"text\":\"bar\"}\n".getBytes(StandardCharsets.UTF_8)), TestMe.class);
+
+        assertEquals("foo", values.next().text);
+        assertEquals("bar", values.next().text);
+        assertFalse(values.hasNext());
+    }
 
     public static class TestMe {
         public String text;
@@ -49,10 +49,20 @@ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
 */
 package kong.unirest;
 
+import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 
 public class JacksonObjectMapper implements ObjectMapper {
     private final com.fasterxml.jackson.databind.ObjectMapper om;
@@ -92,4 +102,107 @@ public class JacksonObjectMapper implements ObjectMapper {
             throw new UnirestException(e);
         }
     }
+
+    @Override
+    public <T> T readValue(byte[] value, Class<T> valueType) {
+        try {
+            return om.readValue(value, valueType);
+        } catch (IOException e) {
+            throw new UnirestException(e);
+        }
+    }
+
+    @Override
+    public <T> T readValue(byte[] value, GenericType<T> genericType) {
+        try {
+            return om.readValue(value, om.constructType(genericType.getType()));
+        } catch (IOException e) {
+            throw new UnirestException(e);
+        }
+    }
+
+    @Override
+    public <T> T readValue(InputStream value, Class<T> valueType) {
+        try (JsonParser parser = open(om.getFactory().createParser(value))) {
+            return om.readValue(parser, valueType);
+        } catch (IOException e) {
+            throw new UnirestException(e);
+        }
+    }
+
+    @Override
+    public <T> T readValue(InputStream value, GenericType<T> genericType) {
+        try (JsonParser parser = open(om.getFactory().createParser(value))) {
+            return om.readValue(parser, om.constructType(genericType.getType()));
+        } catch (IOException e) {
+            throw new UnirestException(e);
+        }
+    }
+
+    @Override
+    public <T> T readValue(Reader value, Class<T> valueType) {
+        try (JsonParser parser = open(om.getFactory().createParser(value))) {
+            return om.readValue(parser, valueType);
+        } catch (IOException e) {
+            throw new UnirestException(e);
+        }
+    }
+
+    @Override
+    public <T> T readValue(Reader value, GenericType<T> genericType) {
+        try (JsonParser parser = open(om.getFactory().createParser(value))) {
+            return om.readValue(parser, om.constructType(genericType.getType()));
+        } catch (IOException e) {
+            throw new UnirestException(e);
+        }
+    }
+
+    // the stream belongs to the caller, so closing the parser must leave it open
+    private JsonParser open(JsonParser parser) {
+        return parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+    }
+
+    @Override
+    public <T> Iterator<T> readValues(InputStream value, Class<T> valueType) {
+        try {
+            return readValues(om.getFactory().createParser(value), valueType);
+        } catch (IOException e) {
+            throw new UnirestException(e);
+        }
+    }
+
+    @Override
+    public <T> Iterator<T> readValues(Reader value, Class<T> valueType) {
+        try {
+            return readValues(om.getFactory().createParser(value), valueType);
+        } catch (IOException e) {
+            throw new UnirestException(e);
+        }
+    }
+
+    // step into a top level array, otherwise the values simply follow each other
+    private <T> Iterator<T> readValues(JsonParser parser, Class<T> valueType) throws IOException {
+        open(parser);
+        if (parser.nextToken() == JsonToken.START_ARRAY) {
+            parser.nextToken();
+        }
+        return om.readerFor(valueType).readValues(parser);
+    }
+
+    @Override
+    public void writeValue(Object value, OutputStream output, Charset charset) {
+        try (JsonGenerator gen = createGenerator(output, charset)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            om.writeValue(gen, value);
+        } catch (IOException e) {
+            throw new UnirestException(e);
+        }
+    }
+
+    private JsonGenerator createGenerator(OutputStream output, Charset charset) throws IOException {
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            return om.getFactory().createGenerator(output, JsonEncoding.UTF8);
+        }
+        return om.getFactory().createGenerator(new OutputStreamWriter(output, charset));
+    }
 }
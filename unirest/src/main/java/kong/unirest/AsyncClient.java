@@ -27,7 +27,9 @@ package kong.unirest;
 
 
 
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -39,7 +41,7 @@ public interface AsyncClient {
     <T> T getClient();
 
     /**
-     * Make a Async request
+     * Make a Async request. The whole response is received before the transformer runs.
      * @param <T> The type of the body
      * @param request the prepared request object
      * @param transformer the function to transform the response
@@ -48,11 +50,44 @@ public interface AsyncClient {
      */
     <T> CompletableFuture<HttpResponse<T>> request(HttpRequest request, Function<RawResponse, HttpResponse<T>> transformer, CompletableFuture<HttpResponse<T>> callback);
 
+    /**
+     * Make a Async request where the transformed body keeps reading from the connection after the future has completed.
+     * The future completes as soon as the transformer returns. Closing the body's InputStream before
+     * the end drops the connection rather than reading what is left.
+     * By default this is just {@link #request(HttpRequest, Function, CompletableFuture)}, so the body is only
+     * streamed by clients which override it.
+     * @param <T> The type of the body
+     * @param request the prepared request object
+     * @param transformer the function to transform the response
+     * @param callback the CompletableFuture that will handle the eventual response
+     * @return a CompletableFuture of a response
+     */
+    default <T> CompletableFuture<HttpResponse<T>> stream(HttpRequest request, Function<RawResponse, HttpResponse<T>> transformer, CompletableFuture<HttpResponse<T>> callback) {
+        return request(request, transformer, callback);
+    }
+
+    /**
+     * Make a Async request where the transformed body keeps reading from the connection, like
+     * {@link #stream(HttpRequest, Function, CompletableFuture)}, with the transformer run by the given executor.
+     * This is for transformers which read for as long as the connection lasts, like event streams,
+     * so they don't take up the threads the client needs for other requests.
+     * By default the executor is not used and this is just {@link #stream(HttpRequest, Function, CompletableFuture)}.
+     * @param <T> The type of the body
+     * @param request the prepared request object
+     * @param transformer the function to transform the response
+     * @param callback the CompletableFuture that will handle the eventual response
+     * @param executor runs the transformer
+     * @return a CompletableFuture of a response
+     */
+    default <T> CompletableFuture<HttpResponse<T>> stream(HttpRequest request, Function<RawResponse, HttpResponse<T>> transformer,
+                                                          CompletableFuture<HttpResponse<T>> callback, Executor executor) {
+        return stream(request, transformer, callback);
+    }
+
     /**
      * @return a stream of exceptions possibly thrown while closing all the things.
      */
     default Stream<Exception> close() {
-        System.out.println("ciao");
         return Stream.empty();
     }
 
@@ -67,4 +102,30 @@ public interface AsyncClient {
      * Register the Async clients with shutdown hooks
      */
     void registerShutdownHook();
+
+    /**
+     * @return the state of the connection pool of this client, if it has one
+     */
+    default Optional<PoolStats> getPoolStats() {
+        return Optional.empty();
+    }
+
+    /**
+     * Apply the concurrency levels of the config to a client which is already running.
+     * Clients without a connection pool of their own can ignore it.
+     */
+    default void applyConnectionLimits() {
+    }
+
+    /**
+     * Open connections to a route ahead of the first requests and leave them in the pool.
+     * Clients without a connection pool of their own have nothing to warm.
+     *
+     * @param route the scheme, host and port of the route, like https://api.example.com:443
+     * @param connections the number of connections to open
+     * @return a future which completes when the connections are open, handshakes and all, and back in the pool
+     */
+    default CompletableFuture<Void> prewarm(String route, int connections) {
+        return CompletableFuture.completedFuture(null);
+    }
 }
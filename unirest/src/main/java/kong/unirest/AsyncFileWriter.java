@@ -0,0 +1,116 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Copies a stream into a file through an AsynchronousFileChannel using two alternating buffers,
+ * so the next chunk is read from the stream while the previous one is still being written.
+ */
+class AsyncFileWriter implements AutoCloseable {
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final AsynchronousFileChannel channel;
+    private final ByteBuffer[] buffers = {ByteBuffer.allocate(CHUNK_SIZE), ByteBuffer.allocate(CHUNK_SIZE)};
+    private ByteBuffer pending;
+    private Future<Integer> write;
+    private long position;
+
+    AsyncFileWriter(Path target) throws IOException {
+        this.channel = AsynchronousFileChannel.open(target, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Grow the file to its final size up front so the filesystem can lay it out in one go
+     * @param size the expected size of the file
+     */
+    void preallocate(long size) throws IOException {
+        if (size > 0) {
+            await(channel.write(ByteBuffer.allocate(1), size - 1));
+        }
+    }
+
+    /**
+     * Write all of the stream to the file and trim it to the number of bytes actually read
+     * @param content the stream to copy
+     */
+    void copy(InputStream content) throws IOException {
+        int next = 0;
+        while (true) {
+            ByteBuffer buffer = buffers[next];
+            int read = content.read(buffer.array());
+            if (read == -1) {
+                break;
+            }
+            buffer.clear().limit(read);
+            finishPending();
+            startWrite(buffer);
+            next = 1 - next;
+        }
+        finishPending();
+        channel.truncate(position);
+    }
+
+    private void startWrite(ByteBuffer buffer) {
+        pending = buffer;
+        write = channel.write(buffer, position);
+    }
+
+    private void finishPending() throws IOException {
+        while (write != null) {
+            position += await(write);
+            if (pending.hasRemaining()) {
+                write = channel.write(pending, position);
+            } else {
+                write = null;
+            }
+        }
+    }
+
+    private static int await(Future<Integer> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
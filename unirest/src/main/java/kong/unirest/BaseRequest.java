@@ -32,30 +32,33 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
-abstract class BaseRequest<R extends HttpRequest> implements HttpRequest<R> {
+abstract class BaseRequest<R extends HttpRequest> extends BaseResponseReaders<R> {
 
     private Optional<ObjectMapper> objectMapper = Optional.empty();
     private String responseEncoding;
     protected Headers headers = new Headers();
-    protected final Config config;
     protected HttpMethod method;
     protected Path url;
     private Integer socketTimeout;
     private Integer connectTimeout;
     private Proxy proxy;
+    private ResponseOptions responseOptions;
+    private BodyCompression bodyCompression;
 
     BaseRequest(BaseRequest httpRequest) {
-        this.config = httpRequest.config;
+        super(httpRequest.config);
         this.method = httpRequest.method;
         this.url = httpRequest.url;
         this.headers.putAll(httpRequest.headers);
         this.socketTimeout = httpRequest.socketTimeout;
         this.connectTimeout = httpRequest.connectTimeout;
         this.proxy = httpRequest.proxy;
+        this.responseOptions = httpRequest.responseOptions;
+        this.bodyCompression = httpRequest.bodyCompression;
     }
 
     BaseRequest(Config config, HttpMethod method, String url) {
-        this.config = config;
+        super(config);
         this.method = method;
         this.url = new Path(url);
         headers.putAll(config.getDefaultHeaders());
@@ -142,6 +145,18 @@ abstract class BaseRequest<R extends HttpRequest> implements HttpRequest<R> {
         return (R)this;
     }
 
+    @Override
+    public R responseOptions(ResponseOptions options) {
+        this.responseOptions = options;
+        return (R)this;
+    }
+
+    @Override
+    public R bodyCompression(String encoding, long minBytes) {
+        this.bodyCompression = new BodyCompression(encoding, minBytes);
+        return (R)this;
+    }
+
     @Override
     public R proxy(String host, int port) {
         this.proxy = new Proxy(host, port);
@@ -272,12 +287,12 @@ abstract class BaseRequest<R extends HttpRequest> implements HttpRequest<R> {
 
     @Override
     public CompletableFuture<HttpResponse<File>> asFileAsync(String path) {
-        return config.getAsyncClient().request(this, r -> new FileResponse(r, path), new CompletableFuture<>());
+        return config.getAsyncClient().stream(this, r -> new FileResponse(r, path), new CompletableFuture<>());
     }
 
     @Override
     public CompletableFuture<HttpResponse<File>> asFileAsync(String path, Callback<File> callback) {
-        return config.getAsyncClient().request(this, r -> new FileResponse(r, path), CallbackFuture.wrap(callback));
+        return config.getAsyncClient().stream(this, r -> new FileResponse(r, path), CallbackFuture.wrap(callback));
     }
 
     @Override
@@ -317,7 +332,13 @@ abstract class BaseRequest<R extends HttpRequest> implements HttpRequest<R> {
         return headers;
     }
 
-    private ObjectMapper getObjectMapper() {
+    @Override
+    String getResponseEncoding() {
+        return responseEncoding;
+    }
+
+    @Override
+    ObjectMapper getObjectMapper() {
         return objectMapper.orElseGet(config::getObjectMapper);
     }
 
@@ -331,6 +352,16 @@ abstract class BaseRequest<R extends HttpRequest> implements HttpRequest<R> {
         return valueOr(connectTimeout, config::getConnectionTimeout);
     }
 
+    @Override
+    public ResponseOptions getResponseOptions() {
+        return valueOr(responseOptions, ResponseOptions::new).withDefaults(config);
+    }
+
+    @Override
+    public BodyCompression getBodyCompression() {
+        return valueOr(bodyCompression, config::getRequestBodyCompression);
+    }
+
     @Override
     public Proxy getProxy() {
         return valueOr(proxy, config::getProxy);
@@ -28,6 +28,7 @@ package kong.unirest;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 abstract class BaseResponse<T> implements HttpResponse<T> {
 
@@ -36,6 +37,8 @@ abstract class BaseResponse<T> implements HttpResponse<T> {
     private final int statusCode;
     private Optional<UnirestParsingException> parsingerror = Optional.empty();
     private final Config config;
+    private Supplier<T> bodyParser;
+    private T parsedBody;
 
     protected BaseResponse(RawResponse response){
         this.headers = response.getHeaders();
@@ -71,9 +74,48 @@ abstract class BaseResponse<T> implements HttpResponse<T> {
 
     @Override
     public Optional<UnirestParsingException> getParsingError() {
+        resolveBody();
         return parsingerror;
     }
 
+    /**
+     * Parse the body from the raw response. When lazy response bodies are turned on in the config,
+     * the raw body is kept in memory and only parsed the first time the body or the parsing error is asked for.
+     * With a spill threshold the raw body is read into a buffer first, so a large one is parsed from disk.
+     * @param response the raw response
+     * @param parser a function to parse the body
+     */
+    protected void parseBody(RawResponse response, Function<RawResponse, T> parser) {
+        if (config != null && config.isLazyResponseBodies()) {
+            RawResponse buffered = new BufferedResponse(response);
+            bodyParser = () -> parser.apply(buffered);
+        } else if (BufferedResponse.spillThreshold(response) >= 0) {
+            parsedBody = parser.apply(new BufferedResponse(response));
+        } else {
+            parsedBody = parser.apply(response);
+        }
+    }
+
+    /**
+     * @return the body from {@link #parseBody(RawResponse, Function)}, parsing it now if it was deferred
+     */
+    protected T getParsedBody() {
+        resolveBody();
+        return parsedBody;
+    }
+
+    private synchronized boolean isBodyPending() {
+        return bodyParser != null;
+    }
+
+    private synchronized void resolveBody() {
+        if (bodyParser != null) {
+            Supplier<T> parser = bodyParser;
+            bodyParser = null;
+            parsedBody = parser.get();
+        }
+    }
+
     @Override
     public <V> V mapBody(Function<T, V> func){
         return func.apply(getBody());
@@ -90,7 +132,7 @@ abstract class BaseResponse<T> implements HttpResponse<T> {
 
     @Override
     public boolean isSuccess() {
-        return getStatus() >= 200 && getStatus() < 300 && !getParsingError().isPresent();
+        return getStatus() >= 200 && getStatus() < 300 && (isBodyPending() || !getParsingError().isPresent());
     }
 
     @Override
@@ -0,0 +1,158 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The {@link ResponseReaders} half of {@link BaseRequest}, which reads responses in all the ways
+ * that go beyond a plain string, json or object.
+ */
+abstract class BaseResponseReaders<R extends HttpRequest> implements HttpRequest<R> {
+
+    protected final Config config;
+
+    BaseResponseReaders(Config config) {
+        this.config = config;
+    }
+
+    abstract String getResponseEncoding();
+
+    abstract ObjectMapper getObjectMapper();
+
+
+    @Override
+    public HttpResponse<CharSequence> asCharSequence() {
+        return config.getClient().request(this, this::toCharSequence);
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse<CharSequence>> asCharSequenceAsync() {
+        return config.getAsyncClient().request(this, this::toCharSequence, new CompletableFuture<>());
+    }
+
+    @Override
+    public HttpResponse<byte[]> asBytes() {
+        return config.getClient().request(this, ByteResponse::new);
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse<byte[]>> asBytesAsync() {
+        return config.getAsyncClient().request(this, ByteResponse::new, new CompletableFuture<>());
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse<byte[]>> asBytesAsync(Callback<byte[]> callback) {
+        return config.getAsyncClient().request(this, ByteResponse::new, CallbackFuture.wrap(callback));
+    }
+
+    @Override
+    public HttpResponse<ByteBuffer> asByteBuffer() {
+        return config.getClient().request(this, r -> new ByteBufferResponse(r, false));
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse<ByteBuffer>> asByteBufferAsync() {
+        return config.getAsyncClient().request(this, r -> new ByteBufferResponse(r, false), new CompletableFuture<>());
+    }
+
+    @Override
+    public HttpResponse<ByteBuffer> asDirectByteBuffer() {
+        return config.getClient().request(this, r -> new ByteBufferResponse(r, true));
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse<ByteBuffer>> asDirectByteBufferAsync() {
+        return config.getAsyncClient().request(this, r -> new ByteBufferResponse(r, true), new CompletableFuture<>());
+    }
+
+    @Override
+    public <T> HttpResponse<Stream<T>> asObjectStream(Class<T> responseClass) {
+        return config.getClient().stream(this, r -> toObjectStream(r, responseClass));
+    }
+
+    @Override
+    public HttpResponse<Stream<String>> asLines() {
+        return config.getClient().stream(this, this::toLines);
+    }
+
+    @Override
+    public HttpResponse<Empty> asEventStream(EventStreamListener listener) {
+        return new EventStream(this, listener).connect();
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse<Empty>> asEventStreamAsync(EventStreamListener listener) {
+        return new EventStream(this, listener).connectAsync();
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse<ByteBufferPublisher>> asPublisherAsync() {
+        return config.getAsyncClient()
+                .stream(this, r -> new BasicResponse<>(r, new InputStreamPublisher(r.getContent())), new CompletableFuture<>());
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse<Empty>> thenConsumeChunksAsync(Consumer<ByteBuffer> consumer) {
+        return config.getAsyncClient().stream(this, r -> {
+            Util.readChunks(r.getContent(), consumer);
+            return new EmptyResponse(r);
+        }, new CompletableFuture<>());
+    }
+
+    private HttpResponse<CharSequence> toCharSequence(RawResponse r) {
+        return new BasicResponse<>(r, new ByteCharSequence(r.getContentAsBytes(), charset(r)));
+    }
+
+    private <T> HttpResponse<Stream<T>> toObjectStream(RawResponse r, Class<T> responseClass) {
+        Charset charset = charset(r);
+        Iterator<T> values = StandardCharsets.UTF_8.equals(charset)
+                ? getObjectMapper().readValues(r.getContent(), responseClass)
+                : getObjectMapper().readValues(new InputStreamReader(r.getContent(), charset), responseClass);
+        return new BasicResponse<>(r, StreamSupport.stream(Spliterators.spliteratorUnknownSize(values, Spliterator.ORDERED), false));
+    }
+
+    private HttpResponse<Stream<String>> toLines(RawResponse r) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(r.getContent(), charset(r)));
+        return new BasicResponse<>(r, reader.lines());
+    }
+
+    private Charset charset(RawResponse r) {
+        String encoding = getResponseEncoding();
+        return Charset.forName(Util.isNullOrEmpty(encoding) ? r.getCharSet() : encoding);
+    }
+}
@@ -56,4 +56,11 @@ public interface Body {
         return null;
     }
 
+    /**
+     * @return the listener for the progress of the upload, by default the monitor
+     */
+    default ProgressListener getProgressListener(){
+        return getMonitor();
+    }
+
 }
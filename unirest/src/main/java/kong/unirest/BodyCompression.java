@@ -0,0 +1,69 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.util.Optional;
+
+/**
+ * How request bodies are compressed as they are sent.
+ * See {@link Config#requestBodyCompression(String, long)} and {@link HttpRequest#bodyCompression(String, long)}
+ */
+public class BodyCompression {
+    /**
+     * Bodies are sent as they are
+     */
+    public static final BodyCompression NONE = new BodyCompression(null, 0);
+
+    private final String encoding;
+    private final long minBytes;
+
+    /**
+     * @param encoding "gzip" or "deflate", or null for none
+     * @param minBytes the smallest body to compress
+     * @throws UnirestConfigException for any other encoding
+     */
+    public BodyCompression(String encoding, long minBytes) {
+        if (encoding != null && !EncodingOutputStream.isSupported(encoding)) {
+            throw new UnirestConfigException("Unsupported content encoding: " + encoding);
+        }
+        this.encoding = encoding;
+        this.minBytes = minBytes;
+    }
+
+    /**
+     * @return the content encoding bodies are compressed with, if any
+     */
+    public Optional<String> getEncoding() {
+        return Optional.ofNullable(encoding);
+    }
+
+    /**
+     * @return the smallest body which is compressed. Bodies of unknown length are always compressed.
+     */
+    public long getMinBytes() {
+        return minBytes;
+    }
+}
@@ -0,0 +1,247 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A pool of reusable byte buffers used to read response bodies.
+ * Bodies with a known length are read straight into an array of that size. Bodies of unknown
+ * length are read into pooled buffers and copied once into an array of exactly the right size.
+ * A declared length is only trusted up to {@link #MAX_INITIAL_ALLOCATION}, past that the array grows
+ * as the bytes actually arrive.
+ */
+public class BufferPool {
+    public static final int DEFAULT_BUFFER_SIZE = 16 * 1024;
+    public static final int DEFAULT_MAX_POOLED = 32;
+    public static final int MAX_INITIAL_ALLOCATION = 1024 * 1024;
+    public static final long DEFAULT_MAX_DIRECT_BYTES = 64L * 1024 * 1024;
+
+    private final int bufferSize;
+    private final int maxPooled;
+    private final BlockingQueue<byte[]> idle;
+    private final Map<Integer, BlockingQueue<ByteBuffer>> idleDirect = new ConcurrentHashMap<>();
+    private final long maxDirectBytes;
+    private final AtomicLong idleDirectBytes = new AtomicLong();
+
+    /**
+     * @param bufferSize the size of each buffer in bytes
+     * @param maxPooled the maximum number of idle buffers kept for reuse
+     */
+    public BufferPool(int bufferSize, int maxPooled) {
+        this(bufferSize, maxPooled, DEFAULT_MAX_DIRECT_BYTES);
+    }
+
+    /**
+     * @param bufferSize the size of each buffer in bytes
+     * @param maxPooled the maximum number of idle buffers kept for reuse, of each size for direct buffers
+     * @param maxDirectBytes the most memory kept in idle direct buffers, across all sizes
+     */
+    public BufferPool(int bufferSize, int maxPooled, long maxDirectBytes) {
+        if (bufferSize < 1 || maxPooled < 1 || maxDirectBytes < 0) {
+            throw new UnirestConfigException("Buffer size and pool size must be positive");
+        }
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+        this.maxDirectBytes = maxDirectBytes;
+        this.idle = new ArrayBlockingQueue<>(maxPooled);
+    }
+
+    /**
+     * @return a buffer from the pool, or a new one if the pool is empty
+     */
+    public byte[] acquire() {
+        byte[] buffer = idle.poll();
+        return buffer != null ? buffer : new byte[bufferSize];
+    }
+
+    /**
+     * Return a buffer to the pool. Buffers of the wrong size, or beyond the pool limit are dropped.
+     * @param buffer the buffer
+     */
+    public void release(byte[] buffer) {
+        if (buffer != null && buffer.length == bufferSize) {
+            idle.offer(buffer);
+        }
+    }
+
+    /**
+     * Get a direct (off-heap) buffer with at least the requested capacity, cleared and ready to be filled.
+     * Capacities are rounded up to a power of two so buffers can be reused across similar sizes.
+     * Give it back with {@link #release(ByteBuffer)} once done.
+     * @param capacity the minimum capacity
+     * @return a direct buffer
+     */
+    public ByteBuffer acquireDirect(int capacity) {
+        int size = sizeClass(capacity);
+        ByteBuffer buffer = idleDirect.computeIfAbsent(size, k -> new ArrayBlockingQueue<>(maxPooled)).poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(size);
+        }
+        idleDirectBytes.addAndGet(-size);
+        return buffer;
+    }
+
+    /**
+     * Return a direct buffer from {@link #acquireDirect(int)} to the pool.
+     * It is dropped instead if keeping it would go over the limit of idle direct memory.
+     * @param buffer the buffer
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect() || buffer.capacity() != sizeClass(buffer.capacity())) {
+            return;
+        }
+        int size = buffer.capacity();
+        if (idleDirectBytes.addAndGet(size) > maxDirectBytes) {
+            idleDirectBytes.addAndGet(-size);
+            return;
+        }
+        buffer.clear();
+        if (!idleDirect.computeIfAbsent(size, k -> new ArrayBlockingQueue<>(maxPooled)).offer(buffer)) {
+            idleDirectBytes.addAndGet(-size);
+        }
+    }
+
+    private int sizeClass(int capacity) {
+        int size = Math.max(capacity, bufferSize);
+        int rounded = Integer.highestOneBit(size);
+        return rounded == size || rounded == 1 << 30 ? size : rounded << 1;
+    }
+
+    /**
+     * @return the size of the buffers in this pool
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * @return the number of idle buffers currently pooled
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * @return the memory held by idle direct buffers in bytes
+     */
+    public long getIdleDirectBytes() {
+        return idleDirectBytes.get();
+    }
+
+    /**
+     * Read a stream to the end.
+     * @param input the stream
+     * @param expectedLength the length of the content if known, otherwise -1
+     * @return all the bytes in the stream
+     * @throws IOException if the stream cannot be read
+     */
+    public byte[] readAll(InputStream input, long expectedLength) throws IOException {
+        if (expectedLength < 0 || expectedLength > Integer.MAX_VALUE - 8) {
+            return readChunks(input, new byte[0]);
+        }
+        byte[] body = readUpTo(input, (int) expectedLength);
+        if (body.length < expectedLength) {
+            return body;
+        }
+        int next = input.read();
+        if (next == -1) {
+            return body;
+        }
+        // the length was wrong, carry on with whatever is left
+        byte[] prefix = Arrays.copyOf(body, body.length + 1);
+        prefix[body.length] = (byte) next;
+        return readChunks(input, prefix);
+    }
+
+    // a length which is a lie costs no more than the bytes which really arrive
+    private static byte[] readUpTo(InputStream input, int length) throws IOException {
+        byte[] body = new byte[Math.min(length, MAX_INITIAL_ALLOCATION)];
+        int offset = 0;
+        while (true) {
+            offset += readFully(input, body, offset);
+            if (offset < body.length) {
+                return Arrays.copyOf(body, offset);
+            } else if (body.length == length) {
+                return body;
+            }
+            body = Arrays.copyOf(body, (int) Math.min(body.length * 2L, length));
+        }
+    }
+
+    private byte[] readChunks(InputStream input, byte[] prefix) throws IOException {
+        List<byte[]> chunks = new ArrayList<>();
+        try {
+            long total = prefix.length;
+            int read;
+            do {
+                byte[] chunk = acquire();
+                chunks.add(chunk);
+                read = readFully(input, chunk, 0);
+                total += read;
+            } while (read == bufferSize);
+            return join(prefix, chunks, total);
+        } finally {
+            chunks.forEach(this::release);
+        }
+    }
+
+    private byte[] join(byte[] prefix, List<byte[]> chunks, long total) {
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new UnirestException("Body is too large to fit in a byte array: " + total);
+        }
+        byte[] body = Arrays.copyOf(prefix, (int) total);
+        int offset = prefix.length;
+        for (byte[] chunk : chunks) {
+            int length = Math.min(chunk.length, body.length - offset);
+            System.arraycopy(chunk, 0, body, offset, length);
+            offset += length;
+        }
+        return body;
+    }
+
+    private static int readFully(InputStream input, byte[] buffer, int from) throws IOException {
+        int offset = from;
+        while (offset < buffer.length) {
+            int read = input.read(buffer, offset, buffer.length - offset);
+            if (read == -1) {
+                break;
+            }
+            offset += read;
+        }
+        return offset - from;
+    }
+}
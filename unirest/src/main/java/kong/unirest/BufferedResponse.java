@@ -0,0 +1,142 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+
+/**
+ * A copy of a raw response with the body already read (and unzipped) into memory,
+ * so it can be parsed after the connection has been handed back.
+ * Bodies over the spill threshold are kept in a memory mapped temp file instead of on the heap.
+ */
+class BufferedResponse extends RawResponseBase {
+    private final int status;
+    private final String statusText;
+    private final Headers headers;
+    private final boolean hasContent;
+    private final String contentType;
+    private final ByteBuffer content;
+
+    BufferedResponse(RawResponse response) {
+        super(response.getConfig());
+        this.status = response.getStatus();
+        this.statusText = response.getStatusText();
+        this.headers = response.getHeaders();
+        this.hasContent = response.hasContent();
+        this.contentType = response.getContentType();
+        this.content = read(response);
+    }
+
+    /**
+     * @param response a raw response
+     * @return the size above which a buffered copy of its body is written to disk, negative for never
+     */
+    static long spillThreshold(RawResponse response) {
+        if (response instanceof RawResponseBase) {
+            return ((RawResponseBase) response).getSpillThreshold();
+        }
+        return response.getConfig() == null ? -1 : response.getConfig().getResponseSpillThreshold();
+    }
+
+    private static ByteBuffer read(RawResponse response) {
+        long threshold = spillThreshold(response);
+        if (threshold < 0) {
+            return ByteBuffer.wrap(response.getContentAsBytes());
+        }
+        try (InputStream in = response.getContent()) {
+            return SpillBuffer.read(in, threshold, response.getConfig().getBufferPool());
+        } catch (IOException e) {
+            throw new UnirestException(e);
+        }
+    }
+
+    @Override
+    public int getStatus() {
+        return status;
+    }
+
+    @Override
+    public String getStatusText() {
+        return statusText;
+    }
+
+    @Override
+    public Headers getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public InputStream getContent() {
+        return new ByteBufferInputStream(content.duplicate());
+    }
+
+    @Override
+    public byte[] getContentAsBytes() {
+        if (content.hasArray()) {
+            return content.array();
+        }
+        byte[] copy = new byte[content.remaining()];
+        content.duplicate().get(copy);
+        return copy;
+    }
+
+    @Override
+    public String getContentAsString() {
+        return getContentAsString(null);
+    }
+
+    @Override
+    public String getContentAsString(String charset) {
+        if (content.hasArray()) {
+            return new String(content.array(), toCharset(charset));
+        }
+        return toCharset(charset).decode(content.duplicate()).toString();
+    }
+
+    @Override
+    public InputStreamReader getContentReader() {
+        return new InputStreamReader(getContent());
+    }
+
+    @Override
+    public boolean hasContent() {
+        return hasContent;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    // the content has already been decoded
+    @Override
+    public String getEncoding() {
+        return "";
+    }
+}
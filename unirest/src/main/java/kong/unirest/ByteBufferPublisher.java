@@ -0,0 +1,72 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A response body published as a series of ByteBuffers, following the Reactive Streams rules
+ * so it can be adapted to any reactive library (or to java.util.concurrent.Flow) with a thin wrapper.
+ * Nothing is read from the connection without demand from the subscriber, a slow subscriber
+ * ends up pausing the reads from the socket itself.
+ * A body can only be subscribed to once.
+ */
+public interface ByteBufferPublisher {
+    /**
+     * Start reading the body into the subscriber.
+     * @param subscriber the subscriber
+     */
+    void subscribe(Subscriber subscriber);
+
+    /**
+     * Receives the chunks of the body. The buffers belong to the subscriber once they have been passed on.
+     */
+    interface Subscriber {
+        void onSubscribe(Subscription subscription);
+
+        void onNext(ByteBuffer chunk);
+
+        void onError(Throwable throwable);
+
+        void onComplete();
+    }
+
+    /**
+     * The subscriber's control over the flow of chunks.
+     */
+    interface Subscription {
+        /**
+         * Ask for more chunks of the body.
+         * @param n the number of chunks, must be positive
+         */
+        void request(long n);
+
+        /**
+         * Stop receiving chunks, and drop the connection if the body has not been read to the end.
+         */
+        void cancel();
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * A response with the body in a ByteBuffer, ready to be read (flipped).
+ * A direct buffer is filled from the connection a few kilobytes at a time through a small heap buffer,
+ * so the body as a whole is never held on the heap.
+ * It comes from the config's {@link BufferPool} and should be handed back with
+ * {@link BufferPool#release(ByteBuffer)} once it has been used.
+ */
+public class ByteBufferResponse extends BaseResponse<ByteBuffer> {
+    private final ByteBuffer body;
+
+    public ByteBufferResponse(RawResponse response, boolean direct) {
+        super(response);
+        if (direct) {
+            body = readDirect(response, response.getConfig().getBufferPool());
+        } else {
+            body = ByteBuffer.wrap(response.getContentAsBytes());
+        }
+    }
+
+    private static ByteBuffer readDirect(RawResponse response, BufferPool pool) {
+        long length = Util.contentLength(response);
+        // one byte of slack so a body of exactly the expected length does not have to grow the buffer
+        ByteBuffer buffer = pool.acquireDirect(length < 0 ? 0 : (int) Math.min(length + 1, BufferPool.MAX_INITIAL_ALLOCATION));
+        boolean filled = false;
+        try (InputStream stream = response.getContent();
+             ReadableByteChannel in = Channels.newChannel(stream)) {
+            while (in.read(buffer) != -1) {
+                if (!buffer.hasRemaining()) {
+                    buffer = grow(buffer, pool);
+                }
+            }
+            buffer.flip();
+            filled = true;
+            return buffer;
+        } catch (IOException e) {
+            throw new UnirestException(e);
+        } finally {
+            // whatever went wrong, like a body over the size limit, the buffer goes back
+            if (!filled) {
+                pool.release(buffer);
+            }
+        }
+    }
+
+    private static ByteBuffer grow(ByteBuffer full, BufferPool pool) {
+        if (full.capacity() >= 1 << 30) {
+            throw new UnirestException("Body is too large to fit in a ByteBuffer");
+        }
+        ByteBuffer bigger = pool.acquireDirect(full.capacity() * 2);
+        full.flip();
+        bigger.put(full);
+        pool.release(full);
+        return bigger;
+    }
+
+
+    @Override
+    public ByteBuffer getBody() {
+        return body;
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A read-only view of text held as bytes, which is only decoded when it is read.
+ * Latin-1 text, and ASCII or UTF-8 text made up of only ASCII bytes, is never decoded at all;
+ * each byte is read as a char directly.
+ */
+final class ByteCharSequence implements CharSequence {
+    private final byte[] bytes;
+    private final int offset;
+    private final int length;
+    private final Charset charset;
+    private Boolean direct;
+    private String decoded;
+
+    ByteCharSequence(byte[] bytes, Charset charset) {
+        this(bytes, 0, bytes.length, charset, null);
+    }
+
+    private ByteCharSequence(byte[] bytes, int offset, int length, Charset charset, Boolean direct) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+        this.charset = charset;
+        this.direct = direct;
+    }
+
+    @Override
+    public int length() {
+        return isDirect() ? length : decoded().length();
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (!isDirect()) {
+            return decoded().charAt(index);
+        }
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index: " + index + ", length: " + length);
+        }
+        return (char) (bytes[offset + index] & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (!isDirect()) {
+            return decoded().subSequence(start, end);
+        }
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("start: " + start + ", end: " + end + ", length: " + length);
+        }
+        return new ByteCharSequence(bytes, offset + start, end - start, charset, true);
+    }
+
+    @Override
+    public String toString() {
+        if (isDirect()) {
+            return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+        }
+        return decoded();
+    }
+
+    private boolean isDirect() {
+        if (direct == null) {
+            direct = StandardCharsets.ISO_8859_1.equals(charset) || (isAsciiCompatible() && isAllAscii());
+        }
+        return direct;
+    }
+
+    private boolean isAsciiCompatible() {
+        return StandardCharsets.UTF_8.equals(charset) || StandardCharsets.US_ASCII.equals(charset);
+    }
+
+    private boolean isAllAscii() {
+        for (int i = offset; i < offset + length; i++) {
+            if (bytes[i] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String decoded() {
+        if (decoded == null) {
+            decoded = new String(bytes, offset, length, charset);
+        }
+        return decoded;
+    }
+}
@@ -25,7 +25,10 @@
 
 package kong.unirest;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
+import java.util.stream.BaseStream;
 import java.util.stream.Stream;
 
 public interface Client {
@@ -43,10 +46,50 @@ public interface Client {
      */
     <T> HttpResponse<T> request(HttpRequest request, Function<RawResponse, HttpResponse<T>> transformer);
 
+    /**
+     * Make a request where the body is a stream which is read after this method has returned.
+     * The connection is held until the stream has been read to the end or is closed.
+     * By default this is just {@link #request(HttpRequest, Function)}, so clients which let go of
+     * the connection once the request returns must override it for the stream to be readable.
+     * @param <T> The type of the stream
+     * @param request the prepared request object
+     * @param transformer the function to transform the response into a lazy stream
+     * @return a HttpResponse with the stream as the body
+     */
+    default <T extends BaseStream<?, T>> HttpResponse<T> stream(HttpRequest request, Function<RawResponse, HttpResponse<T>> transformer) {
+        return request(request, transformer);
+    }
+
     /**
      * @return a stream of exceptions possibly thrown while closing all the things.
      */
     Stream<Exception> close();
 
     void registerShutdownHook();
+
+    /**
+     * @return the state of the connection pool of this client, if it has one
+     */
+    default Optional<PoolStats> getPoolStats() {
+        return Optional.empty();
+    }
+
+    /**
+     * Apply the concurrency levels of the config to a client which is already running.
+     * Clients without a connection pool of their own can ignore it.
+     */
+    default void applyConnectionLimits() {
+    }
+
+    /**
+     * Open connections to a route ahead of the first requests and leave them in the pool.
+     * Clients without a connection pool of their own have nothing to warm.
+     *
+     * @param route the scheme, host and port of the route, like https://api.example.com:443
+     * @param connections the number of connections to open
+     * @return a future which completes when the connections are open, handshakes and all, and back in the pool
+     */
+    default CompletableFuture<Void> prewarm(String route, int connections) {
+        return CompletableFuture.completedFuture(null);
+    }
 }
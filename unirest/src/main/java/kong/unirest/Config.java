@@ -27,17 +27,23 @@ package kong.unirest;
 
 import kong.unirest.apache.ApacheAsyncClient;
 import kong.unirest.apache.ApacheClient;
+import kong.unirest.apache.IdleConnectionReaper;
 import org.apache.http.HttpRequestInterceptor;
 import org.apache.http.client.HttpClient;
 import org.apache.http.nio.client.HttpAsyncClient;
 
 import java.io.InputStream;
+import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.security.KeyStore;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -62,6 +68,7 @@ public class Config {
     private int socketTimeout;
     private int maxTotal;
     private int maxPerRoute;
+    private final Map<String, Integer> routeConcurrency = new ConcurrentHashMap<>();
     private boolean followRedirects;
     private boolean cookieManagement;
     private boolean useSystemProperties;
@@ -76,6 +83,15 @@ public class Config {
     private Supplier<String> keystorePassword = () -> null;
     private String cookieSpec;
     private UniMetric metrics = new NoopMetric();
+    private BufferPool bufferPool;
+    private MemoryBudget bodyMemoryBudget;
+    private BodyCompression requestBodyCompression;
+    private boolean lazyResponseBodies;
+    private long maxResponseSize;
+    private long responseSpillThreshold;
+    private long progressBytes;
+    private long progressMillis;
+    private ConnectionOptions connectionOptions;
 
     public Config() {
         setDefaults();
@@ -96,6 +112,7 @@ public class Config {
         socketTimeout = DEFAULT_SOCKET_TIMEOUT;
         maxTotal = DEFAULT_MAX_CONNECTIONS;
         maxPerRoute = DEFAULT_MAX_PER_ROUTE;
+        routeConcurrency.clear();
         followRedirects = true;
         cookieManagement = true;
         requestCompressionOn = true;
@@ -103,6 +120,15 @@ public class Config {
         verifySsl = true;
         keystore = null;
         keystorePassword = null;
+        lazyResponseBodies = false;
+        maxResponseSize = -1;
+        responseSpillThreshold = -1;
+        bufferPool = new BufferPool(BufferPool.DEFAULT_BUFFER_SIZE, BufferPool.DEFAULT_MAX_POOLED);
+        bodyMemoryBudget = null;
+        requestBodyCompression = BodyCompression.NONE;
+        progressBytes = 0;
+        progressMillis = 0;
+        connectionOptions = new ConnectionOptions();
     }
 
     /**
@@ -112,7 +138,7 @@ public class Config {
      * @return this config object
      */
     public Config httpClient(HttpClient httpClient) {
-        client = Optional.of(new ApacheClient(httpClient, this, null, null));
+        client = Optional.of(new ApacheClient(httpClient, this, null, (IdleConnectionReaper) null));
         return this;
     }
 
@@ -145,7 +171,7 @@ public class Config {
      * @return this config object
      */
     public Config asyncClient(HttpAsyncClient value) {
-        this.asyncClient = Optional.of(new ApacheAsyncClient(value, this, null, null));
+        this.asyncClient = Optional.of(new ApacheAsyncClient(value, this, null, (IdleConnectionReaper) null));
         return this;
     }
 
@@ -274,16 +300,65 @@ public class Config {
     }
 
     /**
-     * Set the concurrency levels
+     * Set the concurrency levels.
+     * Unlike most settings these can be changed while the clients are running.
      *
      * @param total    Defines the overall connection limit for a connection pool. Default is 200.
      * @param perRoute Defines a connection limit per one HTTP route (this can be considered a per target host limit). Default is 20.
      * @return this config object
      */
     public Config concurrency(int total, int perRoute) {
-        validateClientsNotRunning();
         this.maxTotal = total;
         this.maxPerRoute = perRoute;
+        applyConnectionLimits();
+        return this;
+    }
+
+    /**
+     * Set the connection limit for a single route, in place of the per route limit of {@link #concurrency(int, int)}.
+     * For example a busy internal service can be given 200 connections while third party APIs are held to 5.
+     * Requests sent through a proxy other than the one in this config are on a route of their own and keep the default limit.
+     * Like the other concurrency levels this can be changed while the clients are running.
+     *
+     * @param url the scheme, host and port of the route, like https://api.example.com. The port defaults to the one for the scheme.
+     * @param maxConnections the connection limit for the route
+     * @return this config object
+     */
+    public Config concurrency(String url, int maxConnections) {
+        routeConcurrency.put(toRoute(url), maxConnections);
+        applyConnectionLimits();
+        return this;
+    }
+
+    private static String toRoute(String url) {
+        URI uri = URI.create(url.contains("://") ? url : "http://" + url);
+        if (uri.getHost() == null) {
+            throw new UnirestConfigException("Not a route: " + url);
+        }
+        String scheme = uri.getScheme().toLowerCase();
+        int port = uri.getPort();
+        if (port < 0) {
+            port = "https".equals(scheme) ? 443 : 80;
+        }
+        return scheme + "://" + uri.getHost().toLowerCase() + ":" + port;
+    }
+
+    private void applyConnectionLimits() {
+        client.ifPresent(Client::applyConnectionLimits);
+        asyncClient.ifPresent(AsyncClient::applyConnectionLimits);
+    }
+
+    /**
+     * Set how long pooled connections are kept, how they are checked before being reused,
+     * how often the pools are reported on and how TLS sessions are resumed.
+     * See {@link ConnectionOptions} for the defaults.
+     *
+     * @param options the connection options
+     * @return this config object
+     */
+    public Config connectionOptions(ConnectionOptions options) {
+        validateClientsNotRunning();
+        this.connectionOptions = options;
         return this;
     }
 
@@ -425,6 +500,23 @@ public class Config {
         return this;
     }
 
+    /**
+     * Compress request bodies of at least minBytes with gzip or deflate, as they are sent.
+     * Bodies of unknown length (streams and objects) are always compressed.
+     * Compressed bodies are sent chunked with a Content-Encoding header,
+     * and bodies which already have a Content-Encoding header are left alone.
+     * Note that this is not the same thing as {@link #requestCompression(boolean)} which is about responses.
+     * default is off
+     *
+     * @param encoding "gzip" or "deflate", or null to turn it off
+     * @param minBytes the smallest body to compress
+     * @return this config object
+     */
+    public Config requestBodyCompression(String encoding, long minBytes) {
+        this.requestBodyCompression = new BodyCompression(encoding, minBytes);
+        return this;
+    }
+
     /**
      * Automaticly retry certain recoverable errors like socket timeouts. Up to 4 times
      * Note that currently this only works on synchronous calls.
@@ -468,6 +560,85 @@ public class Config {
         return this;
     }
 
+    /**
+     * Keep the raw body of string, json and object responses in memory and only parse it
+     * the first time the body (or a parsing error) is asked for.
+     * Callers that only look at the status or {@link HttpResponse#isSuccess()} skip the parsing entirely,
+     * so until the body is parsed isSuccess() does not know about a parsing error. default is false
+     *
+     * @param value a bool is its true or not.
+     * @return this config object
+     */
+    public Config lazyResponseBodies(boolean value) {
+        this.lazyResponseBodies = value;
+        return this;
+    }
+
+    /**
+     * Set the largest response body (after unzipping) that will be read.
+     * Bodies which declare a larger Content-Length are refused before any of it is read,
+     * otherwise reading stops as soon as the limit is passed. Either way the connection is dropped
+     * and the request fails with a {@link ResponseTooLargeException}.
+     * default is -1, no limit
+     *
+     * @param bytes the maximum size in bytes, or a negative number for no limit
+     * @return this config object
+     */
+    public Config maxResponseSize(long bytes) {
+        this.maxResponseSize = bytes;
+        return this;
+    }
+
+    /**
+     * Set the size above which the raw body of a string, json or object response is written to a temp file
+     * rather than held on the heap, whether it is parsed straight away or later (see {@link #lazyResponseBodies(boolean)}).
+     * The file is memory mapped for reading and removed once it has been mapped.
+     * default is -1, bodies are always kept in memory
+     *
+     * @param bytes the threshold in bytes, or a negative number to never spill
+     * @return this config object
+     */
+    public Config responseSpillThreshold(long bytes) {
+        this.responseSpillThreshold = bytes;
+        return this;
+    }
+
+    /**
+     * Set the pool of buffers used to read response bodies when their length is not known up front,
+     * and to read bodies into direct buffers.
+     * default is 32 buffers of 16kb, with up to 64mb kept in idle direct buffers
+     *
+     * @param pool the buffer pool
+     * @return this config object
+     */
+    public Config responseBufferPool(BufferPool pool) {
+        this.bufferPool = pool;
+        return this;
+    }
+
+    /**
+     * Cap the memory held by request and response bodies across all requests at once.
+     * Async request bodies count from the time they are prepared until the exchange is over,
+     * response bodies read into memory (as strings, bytes, json and objects) count while they are read and mapped,
+     * or with the async client from the time they start to arrive.
+     * When the budget is used up, sync requests wait for room for their response body up to the given time
+     * and then fail with a {@link MemoryBudgetException}. Anything else fails straight away rather than hold on to the budget
+     * (or an IO thread) while waiting: async bodies, and the rest of a response body of unknown length once its first part is in.
+     * Not counted are bodies read as streams (lines, object streams, events, publishers and chunks), which are never held whole,
+     * direct byte buffers, which are off the heap, and the heap part of a body read with a spill threshold, which the threshold caps.
+     * The budget is handed back once a response has been mapped, so with lazy response bodies the raw body is held uncounted after that.
+     * The bytes in use are reported to {@link UniMetric#bodyMemoryInUse(long, long)}.
+     * default is no limit
+     *
+     * @param maxBytes the most bytes held at once
+     * @param waitMillis how long to wait for room, 0 to fail straight away
+     * @return this config object
+     */
+    public Config bodyMemoryBudget(long maxBytes, long waitMillis) {
+        this.bodyMemoryBudget = new MemoryBudget(maxBytes, waitMillis, this::getMetric);
+        return this;
+    }
+
     /**
      * Register the client with a system shutdown hook. Note that this creates up to two threads
      * (depending on if you use both sync and async clients). default is false
@@ -589,6 +760,39 @@ public class Config {
         }
     }
 
+    /**
+     * Open connections to a route in the background and leave them in the pools of the clients which have already been built,
+     * so the first requests don't pay for the connect and TLS handshakes. Each pool is warmed up to the limit of the route.
+     * Connections to https hosts through a proxy are not opened ahead of time.
+     * Use {@link #prewarm(String, int, boolean)} to build and warm a client which has not been used yet.
+     *
+     * @param url the scheme, host and port of the route, like https://api.example.com. The port defaults to the one for the scheme.
+     * @param connections the number of connections to open for each client
+     * @return a future which completes when the pools are warm, or exceptionally if a connection could not be opened
+     */
+    public CompletableFuture<Void> prewarm(String url, int connections) {
+        String route = toRoute(url);
+        return CompletableFuture.allOf(
+                client.map(c -> c.prewarm(route, connections)).orElseGet(() -> CompletableFuture.completedFuture(null)),
+                asyncClient.filter(AsyncClient::isRunning)
+                        .map(c -> c.prewarm(route, connections))
+                        .orElseGet(() -> CompletableFuture.completedFuture(null)));
+    }
+
+    /**
+     * Open connections to a route in the background and leave them in the pool of one of the clients,
+     * building the client if it does not exist yet. See {@link #prewarm(String, int)}
+     *
+     * @param url the scheme, host and port of the route, like https://api.example.com. The port defaults to the one for the scheme.
+     * @param connections the number of connections to open
+     * @param async true to warm the async client, false for the synchronous one
+     * @return a future which completes when the pool is warm, or exceptionally if a connection could not be opened
+     */
+    public CompletableFuture<Void> prewarm(String url, int connections, boolean async) {
+        String route = toRoute(url);
+        return async ? getAsyncClient().prewarm(route, connections) : getClient().prewarm(route, connections);
+    }
+
     // Accessors for unirest.
 
     /**
@@ -623,6 +827,34 @@ public class Config {
         return maxPerRoute;
     }
 
+    /**
+     * @return the connection limits of single routes, keyed by scheme://host:port
+     */
+    public Map<String, Integer> getRouteConcurrency() {
+        return Collections.unmodifiableMap(routeConcurrency);
+    }
+
+    /**
+     * @return the state of the connection pool of the synchronous client, if it has been built
+     */
+    public Optional<PoolStats> getPoolStats() {
+        return client.flatMap(Client::getPoolStats);
+    }
+
+    /**
+     * @return the state of the connection pool of the async client, if it has been built
+     */
+    public Optional<PoolStats> getAsyncPoolStats() {
+        return asyncClient.flatMap(AsyncClient::getPoolStats);
+    }
+
+    /**
+     * @return how long pooled connections are kept and how they are checked
+     */
+    public ConnectionOptions getConnectionOptions() {
+        return connectionOptions;
+    }
+
     /**
      * @return the connection timeout in milliseconds
      *         default: 10000
@@ -709,4 +941,56 @@ public class Config {
     public UniMetric getMetric() {
         return metrics;
     }
+
+    /**
+     * Set how often upload and download progress listeners are called.
+     * A listener is called once at least this many bytes have gone through since it was last called,
+     * or once this much time has passed, whichever comes first. It is always called for the last byte.
+     * Set both to 0 to hear about every single read and write.
+     * default is 0 and 0, every read and write
+     *
+     * @param bytes the number of bytes between calls, or 0 for no byte interval
+     * @param millis the time between calls in milliseconds, or 0 for no time interval
+     * @return this config object
+     */
+    public Config progressInterval(long bytes, long millis) {
+        this.progressBytes = bytes;
+        this.progressMillis = millis;
+        return this;
+    }
+
+    public BufferPool getBufferPool() {
+        return bufferPool;
+    }
+
+    public boolean isLazyResponseBodies() {
+        return lazyResponseBodies;
+    }
+
+    public long getMaxResponseSize() {
+        return maxResponseSize;
+    }
+
+    public long getResponseSpillThreshold() {
+        return responseSpillThreshold;
+    }
+
+    /**
+     * @return the budget for the memory held by bodies, or null when there is none
+     */
+    public MemoryBudget getBodyMemoryBudget() {
+        return bodyMemoryBudget;
+    }
+
+    public BodyCompression getRequestBodyCompression() {
+        return requestBodyCompression;
+    }
+
+    public long getProgressBytes() {
+        return progressBytes;
+    }
+
+    public long getProgressMillis() {
+        return progressMillis;
+    }
 }
@@ -0,0 +1,164 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+/**
+ * How long pooled connections are kept, how they are checked before being reused and how TLS sessions are resumed.
+ * See {@link Config#connectionOptions(ConnectionOptions)}
+ */
+public class ConnectionOptions {
+    public static final int DEFAULT_IDLE_TIMEOUT = 30000;
+    public static final int DEFAULT_SWEEP_INTERVAL = 5000;
+    public static final int DEFAULT_VALIDATE_AFTER_INACTIVITY = 2000;
+    public static final int DEFAULT_SSL_SESSION_CACHE_SIZE = 10000;
+    public static final int DEFAULT_SSL_SESSION_TIMEOUT = 86400;
+
+    private long timeToLive = -1;
+    private long idleTimeout = DEFAULT_IDLE_TIMEOUT;
+    private long sweepInterval = DEFAULT_SWEEP_INTERVAL;
+    private int validateAfterInactivity = DEFAULT_VALIDATE_AFTER_INACTIVITY;
+    private long statsInterval;
+    private int sslSessionCacheSize = DEFAULT_SSL_SESSION_CACHE_SIZE;
+    private int sslSessionTimeout = DEFAULT_SSL_SESSION_TIMEOUT;
+
+    /**
+     * Set how long a pooled connection may live, however busy it is. Older connections are closed
+     * rather than reused, which spreads the load again when the hosts behind a name change.
+     * default is -1, forever
+     *
+     * @param millis the time to live in milliseconds, or a negative number for no limit
+     * @return this options object
+     */
+    public ConnectionOptions timeToLive(long millis) {
+        this.timeToLive = millis;
+        return this;
+    }
+
+    /**
+     * Set how long a connection may sit idle in the pool before it is closed.
+     * default is 30000
+     *
+     * @param millis the idle time in milliseconds, or 0 to keep idle connections open
+     * @return this options object
+     */
+    public ConnectionOptions idleTimeout(long millis) {
+        this.idleTimeout = millis;
+        return this;
+    }
+
+    /**
+     * Set how often the pools are swept for expired and idle connections.
+     * All clients are swept from one shared thread.
+     * default is 5000
+     *
+     * @param millis the time between sweeps in milliseconds, or 0 to never sweep
+     * @return this options object
+     */
+    public ConnectionOptions sweepInterval(long millis) {
+        this.sweepInterval = millis;
+        return this;
+    }
+
+    /**
+     * Set how long a pooled connection can go unused before it is checked to still be open before being reused.
+     * Only the synchronous client checks its connections.
+     * default is 2000
+     *
+     * @param millis the time in milliseconds, or a negative number to never check
+     * @return this options object
+     */
+    public ConnectionOptions validateAfterInactivity(int millis) {
+        this.validateAfterInactivity = millis;
+        return this;
+    }
+
+    /**
+     * Have the clients push the state of their connection pools to the metric
+     * (see {@link UniMetric#poolStats(PoolStats, boolean)}) every so often.
+     * default is 0, off
+     *
+     * @param millis the time between reports in milliseconds, or 0 for none
+     * @return this options object
+     */
+    public ConnectionOptions statsInterval(long millis) {
+        this.statsInterval = millis;
+        return this;
+    }
+
+    /**
+     * Size the TLS session cache, which lets new connections to a host resume an earlier session
+     * instead of going through a full handshake.
+     * SSL contexts are shared by every client in the process with the same keystore and ssl verification,
+     * so the sync and async clients resume each other's sessions.
+     * default is 10000 sessions kept for 86400 seconds
+     *
+     * @param size the number of sessions to keep, 0 for no limit
+     * @param timeoutSeconds how long a session can be resumed for in seconds, 0 for no limit
+     * @return this options object
+     */
+    public ConnectionOptions sslSessionCache(int size, int timeoutSeconds) {
+        this.sslSessionCacheSize = size;
+        this.sslSessionTimeout = timeoutSeconds;
+        return this;
+    }
+
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public long getSweepInterval() {
+        return sweepInterval;
+    }
+
+    public int getValidateAfterInactivity() {
+        return validateAfterInactivity;
+    }
+
+    /**
+     * @return the time between pool stats reports in milliseconds, 0 for none
+     */
+    public long getStatsInterval() {
+        return statsInterval;
+    }
+
+    /**
+     * @return the number of TLS sessions kept for resumption
+     */
+    public int getSslSessionCacheSize() {
+        return sslSessionCacheSize;
+    }
+
+    /**
+     * @return how long a TLS session can be resumed for in seconds
+     */
+    public int getSslSessionTimeout() {
+        return sslSessionTimeout;
+    }
+}
@@ -0,0 +1,296 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Decodes a gzip or deflate encoded body as it is read, using an Inflater borrowed from a shared pool.
+ * Deflate bodies may be zlib wrapped (as the spec says) or raw (as some servers send them).
+ * Concatenated gzip members are read one after the other, and an empty body decodes to nothing.
+ * Once the body has been read to the end, or the stream is closed, the number of compressed and decoded
+ * bytes seen so far is passed on to the {@link MetricContext}.
+ */
+public class DecodingInputStream extends InputStream {
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+
+    private final InputStream source;
+    private final String encoding;
+    private final MetricContext metric;
+    private final boolean gzip;
+    private final byte[] input = new byte[8192];
+    private final byte[] single = new byte[1];
+    private final CRC32 crc = new CRC32();
+    private Inflater inflater;
+    private boolean nowrap;
+    private int pos;
+    private int limit;
+    private long compressed;
+    private long decoded;
+    private long memberSize;
+    private boolean eof;
+    private boolean reported;
+    private volatile boolean closed;
+
+    public DecodingInputStream(InputStream source, String encoding, MetricContext metric) {
+        if (!isSupported(encoding)) {
+            throw new UnirestException("Unsupported content encoding: " + encoding);
+        }
+        this.source = source;
+        this.encoding = encoding.trim().toLowerCase();
+        this.metric = metric;
+        this.gzip = isGzip(encoding);
+    }
+
+    /**
+     * @param encoding a Content-Encoding header value
+     * @return true if the encoding is one this stream can decode
+     */
+    public static boolean isSupported(String encoding) {
+        return encoding != null && (isGzip(encoding) || "deflate".equalsIgnoreCase(encoding.trim()));
+    }
+
+    private static boolean isGzip(String encoding) {
+        String e = encoding.trim();
+        return "gzip".equalsIgnoreCase(e) || "x-gzip".equalsIgnoreCase(e);
+    }
+
+    @Override
+    public int read() throws IOException {
+        return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public synchronized int read(byte[] b, int off, int len) throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (len == 0) {
+            return 0;
+        }
+        if (eof || !start()) {
+            return -1;
+        }
+        while (true) {
+            int n = inflate(b, off, len);
+            if (n > 0) {
+                if (gzip) {
+                    crc.update(b, off, n);
+                }
+                memberSize += n;
+                decoded += n;
+                return n;
+            }
+            if (inflater.needsDictionary()) {
+                throw new ZipException("Deflate streams with a preset dictionary are not supported");
+            } else if (inflater.finished()) {
+                if (!nextMember()) {
+                    finish();
+                    return -1;
+                }
+            } else if (inflater.needsInput()) {
+                feed();
+            }
+        }
+    }
+
+    private boolean start() throws IOException {
+        if (inflater != null) {
+            return true;
+        }
+        if (!ensure(1)) {
+            finish();
+            return false;
+        }
+        if (gzip) {
+            readGzipHeader();
+            nowrap = true;
+        } else {
+            nowrap = !isZlibHeader();
+        }
+        inflater = InflaterPool.acquire(nowrap);
+        return true;
+    }
+
+    // RFC 1950: deflate method in the low nibble and a header checksum that is a multiple of 31
+    private boolean isZlibHeader() throws IOException {
+        if (!ensure(2)) {
+            return false;
+        }
+        int cmf = input[pos] & 0xff;
+        int flg = input[pos + 1] & 0xff;
+        return (cmf & 0x0f) == 8 && ((cmf << 8) | flg) % 31 == 0;
+    }
+
+    private int inflate(byte[] b, int off, int len) throws IOException {
+        try {
+            return inflater.inflate(b, off, len);
+        } catch (DataFormatException e) {
+            throw new ZipException(e.getMessage());
+        }
+    }
+
+    private void feed() throws IOException {
+        if (pos == limit && !fill()) {
+            throw new EOFException("Unexpected end of " + encoding + " content");
+        }
+        inflater.setInput(input, pos, limit - pos);
+        pos = limit;
+    }
+
+    private boolean nextMember() throws IOException {
+        // hand back whatever the inflater did not need, that is the trailer and maybe the next member
+        pos = limit - inflater.getRemaining();
+        if (!gzip) {
+            return false;
+        }
+        readGzipTrailer();
+        if (!ensure(2) || ((input[pos] & 0xff) | (input[pos + 1] & 0xff) << 8) != GZIP_MAGIC) {
+            return false;
+        }
+        readGzipHeader();
+        inflater.reset();
+        crc.reset();
+        memberSize = 0;
+        return true;
+    }
+
+    private void readGzipHeader() throws IOException {
+        if (readUShort() != GZIP_MAGIC) {
+            throw new ZipException("Not in GZIP format");
+        }
+        if (readUByte() != 8) {
+            throw new ZipException("Unsupported GZIP compression method");
+        }
+        int flags = readUByte();
+        skip(6);
+        if ((flags & FEXTRA) != 0) {
+            skip(readUShort());
+        }
+        if ((flags & FNAME) != 0) {
+            skipString();
+        }
+        if ((flags & FCOMMENT) != 0) {
+            skipString();
+        }
+        if ((flags & FHCRC) != 0) {
+            skip(2);
+        }
+    }
+
+    private void readGzipTrailer() throws IOException {
+        long expectedCrc = readUInt();
+        long expectedSize = readUInt();
+        if (expectedCrc != crc.getValue() || expectedSize != (memberSize & 0xffffffffL)) {
+            throw new ZipException("Corrupt GZIP trailer");
+        }
+    }
+
+    private long readUInt() throws IOException {
+        return readUShort() | ((long) readUShort() << 16);
+    }
+
+    private int readUShort() throws IOException {
+        return readUByte() | (readUByte() << 8);
+    }
+
+    private int readUByte() throws IOException {
+        if (!ensure(1)) {
+            throw new EOFException("Unexpected end of GZIP content");
+        }
+        return input[pos++] & 0xff;
+    }
+
+    private void skip(int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            readUByte();
+        }
+    }
+
+    private void skipString() throws IOException {
+        while (readUByte() != 0) {
+            // zero terminated
+        }
+    }
+
+    private boolean ensure(int count) throws IOException {
+        while (limit - pos < count) {
+            if (!fill()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // only called when the inflater holds no input, so the unread bytes can be moved to the front
+    private boolean fill() throws IOException {
+        System.arraycopy(input, pos, input, 0, limit - pos);
+        limit -= pos;
+        pos = 0;
+        int read = source.read(input, limit, input.length - limit);
+        if (read == -1) {
+            return false;
+        }
+        limit += read;
+        compressed += read;
+        return true;
+    }
+
+    private synchronized void finish() {
+        eof = true;
+        if (inflater != null) {
+            InflaterPool.release(inflater, nowrap);
+            inflater = null;
+        }
+        if (!reported) {
+            reported = true;
+            metric.contentDecoded(encoding, compressed, decoded);
+        }
+    }
+
+    // may be called while another thread is blocked reading, closing the source first is what wakes it up
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            try {
+                source.close();
+            } finally {
+                finish();
+            }
+        }
+    }
+}
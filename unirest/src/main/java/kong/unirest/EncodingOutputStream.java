@@ -0,0 +1,136 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Compresses a body with gzip or (zlib wrapped) deflate as it is written, using a Deflater borrowed
+ * from a shared pool. {@link #finish()} writes the end of the compressed data and hands the Deflater back,
+ * leaving the underlying stream open, {@link #close()} also closes it.
+ */
+public class EncodingOutputStream extends DeflaterOutputStream {
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, 0};
+
+    private final boolean gzip;
+    private final CRC32 crc = new CRC32();
+    private boolean finished;
+
+    public EncodingOutputStream(OutputStream out, String encoding) throws IOException {
+        super(out, DeflaterPool.acquire(isGzip(check(encoding))), 8192);
+        this.gzip = isGzip(encoding);
+        if (gzip) {
+            try {
+                out.write(GZIP_HEADER);
+            } catch (IOException | RuntimeException e) {
+                discard();
+                throw e;
+            }
+        }
+    }
+
+    private static String check(String encoding) {
+        if (!isSupported(encoding)) {
+            throw new UnirestException("Unsupported content encoding: " + encoding);
+        }
+        return encoding;
+    }
+
+    /**
+     * @param encoding a Content-Encoding header value
+     * @return true if the encoding is one this stream can write
+     */
+    public static boolean isSupported(String encoding) {
+        return encoding != null && (isGzip(encoding) || "deflate".equalsIgnoreCase(encoding.trim()));
+    }
+
+    private static boolean isGzip(String encoding) {
+        return "gzip".equalsIgnoreCase(encoding.trim());
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (finished) {
+            throw new IOException("The compressed body has already been finished");
+        }
+        super.write(b, off, len);
+        if (gzip) {
+            crc.update(b, off, len);
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        try {
+            super.finish();
+            if (gzip) {
+                writeInt((int) crc.getValue());
+                writeInt((int) def.getBytesRead());
+            }
+        } finally {
+            finished = true;
+            DeflaterPool.release(def, gzip);
+        }
+    }
+
+    /**
+     * Hand the Deflater back without writing the end of the compressed data, for a body which failed part way.
+     * Does nothing once finished.
+     */
+    public void discard() {
+        if (!finished) {
+            finished = true;
+            DeflaterPool.release(def, gzip);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void writeInt(int value) throws IOException {
+        out.write(value & 0xff);
+        out.write((value >> 8) & 0xff);
+        out.write((value >> 16) & 0xff);
+        out.write((value >> 24) & 0xff);
+    }
+}
@@ -0,0 +1,183 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static kong.unirest.SharedExecutors.EVENT_STREAMS;
+import static kong.unirest.SharedExecutors.SCHEDULER;
+
+/**
+ * Keeps a Server-Sent Events subscription going. Events are parsed as they arrive, and when the server closes
+ * the stream or the connection is lost the request is sent again after the retry delay with a Last-Event-ID header.
+ * It stops for good when the server answers with anything but a 200 text/event-stream (like a 204),
+ * or when the listener throws.
+ */
+class EventStream {
+    private static final long DEFAULT_RETRY_MILLIS = 3000;
+    private static final String EVENT_STREAM = "text/event-stream";
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final BaseResponseReaders<?> request;
+    private final EventStreamListener listener;
+    private final EventStreamParser parser;
+    private volatile RuntimeException failure;
+    private volatile Exception dropped;
+    private volatile boolean reconnect;
+    private volatile CompletableFuture<HttpResponse<Empty>> attempt;
+
+    EventStream(BaseResponseReaders<?> request, EventStreamListener listener) {
+        this.request = request;
+        this.listener = listener;
+        this.parser = new EventStreamParser(this::deliver, DEFAULT_RETRY_MILLIS);
+        if (!request.getHeaders().containsKey(HeaderNames.ACCEPT)) {
+            request.header(HeaderNames.ACCEPT, EVENT_STREAM);
+        }
+        request.headerReplace(HeaderNames.CACHE_CONTROL, "no-cache");
+    }
+
+    HttpResponse<Empty> connect() {
+        while (true) {
+            HttpResponse<Empty> response = null;
+            try {
+                response = request.config.getClient().request(prepare(), this::read);
+            } catch (UnirestException e) {
+                listener.onError(e);
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            if (response != null && !reconnect) {
+                return response;
+            }
+            if (dropped != null) {
+                listener.onError(dropped);
+            }
+            if (!pause()) {
+                throw new UnirestException("Interrupted while waiting to reconnect");
+            }
+        }
+    }
+
+    CompletableFuture<HttpResponse<Empty>> connectAsync() {
+        CompletableFuture<HttpResponse<Empty>> result = new CompletableFuture<>();
+        result.whenComplete((r, e) -> {
+            if (result.isCancelled()) {
+                abort();
+            }
+        });
+        attemptAsync(result);
+        return result;
+    }
+
+    private void attemptAsync(CompletableFuture<HttpResponse<Empty>> result) {
+        if (!result.isDone()) {
+            CompletableFuture<HttpResponse<Empty>> current = new CompletableFuture<>();
+            attempt = current;
+            request.config.getAsyncClient()
+                    .stream(prepare(), this::read, current, EVENT_STREAMS)
+                    .whenComplete((r, e) -> next(result, r, e));
+        }
+    }
+
+    private void next(CompletableFuture<HttpResponse<Empty>> result, HttpResponse<Empty> response, Throwable e) {
+        if (result.isDone()) {
+            return;
+        }
+        try {
+            if (failure != null) {
+                result.completeExceptionally(failure);
+            } else if (e == null && !reconnect) {
+                result.complete(response);
+            } else {
+                Throwable error = e != null ? e : dropped;
+                if (error != null) {
+                    listener.onError(error instanceof Exception ? (Exception) error : new UnirestException(error));
+                }
+                SCHEDULER.schedule(() -> attemptAsync(result), parser.getRetry(), TimeUnit.MILLISECONDS);
+            }
+        } catch (RuntimeException ex) {
+            result.completeExceptionally(ex);
+        }
+    }
+
+    private BaseResponseReaders<?> prepare() {
+        reconnect = false;
+        dropped = null;
+        if (!parser.getLastEventId().isEmpty()) {
+            request.headerReplace(LAST_EVENT_ID, parser.getLastEventId());
+        }
+        return request;
+    }
+
+    private HttpResponse<Empty> read(RawResponse r) {
+        reconnect = r.getStatus() == 200 && r.getContentType().toLowerCase().startsWith(EVENT_STREAM);
+        if (reconnect) {
+            try {
+                parser.parse(new BufferedReader(new InputStreamReader(r.getContent(), StandardCharsets.UTF_8)));
+            } catch (IOException | RuntimeException e) {
+                if (failure != null) {
+                    // don't wait for an endless body to drain, the client drops the connection instead
+                    abort();
+                } else {
+                    dropped = e;
+                }
+            }
+        }
+        return new EmptyResponse(r);
+    }
+
+    private void deliver(ServerSentEvent event) {
+        try {
+            listener.onEvent(event);
+        } catch (RuntimeException e) {
+            failure = e;
+            throw e;
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(parser.getRetry());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void abort() {
+        CompletableFuture<HttpResponse<Empty>> current = attempt;
+        if (current != null) {
+            current.cancel(true);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Parses a text/event-stream line by line as it is read, following the
+ * <a href="https://html.spec.whatwg.org/multipage/server-sent-events.html">event stream interpretation</a>.
+ * Only the event being built is held in memory. The last event id and retry time
+ * outlive a connection so the stream can be resumed from where it stopped.
+ */
+class EventStreamParser {
+    private final Consumer<ServerSentEvent> dispatch;
+    private final StringBuilder data = new StringBuilder();
+    private String event = "";
+    private String lastEventId = "";
+    private long retry;
+
+    EventStreamParser(Consumer<ServerSentEvent> dispatch, long retry) {
+        this.dispatch = dispatch;
+        this.retry = retry;
+    }
+
+    /**
+     * Reads events until the end of the stream. An event which was not terminated by a blank line is discarded.
+     */
+    void parse(BufferedReader reader) throws IOException {
+        data.setLength(0);
+        event = "";
+        String line = reader.readLine();
+        if (line != null && line.startsWith("\uFEFF")) {
+            line = line.substring(1);
+        }
+        while (line != null) {
+            processLine(line);
+            line = reader.readLine();
+        }
+    }
+
+    private void processLine(String line) {
+        if (line.isEmpty()) {
+            dispatchEvent();
+        } else if (line.charAt(0) != ':') {
+            int colon = line.indexOf(':');
+            if (colon < 0) {
+                processField(line, "");
+            } else {
+                int start = colon + 1 < line.length() && line.charAt(colon + 1) == ' ' ? colon + 2 : colon + 1;
+                processField(line.substring(0, colon), line.substring(start));
+            }
+        }
+    }
+
+    private void processField(String field, String value) {
+        switch (field) {
+            case "event":
+                event = value;
+                break;
+            case "data":
+                data.append(value).append('\n');
+                break;
+            case "id":
+                if (value.indexOf('\0') < 0) {
+                    lastEventId = value;
+                }
+                break;
+            case "retry":
+                if (!value.isEmpty() && value.length() < 19 && value.chars().allMatch(c -> c >= '0' && c <= '9')) {
+                    retry = Long.parseLong(value);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void dispatchEvent() {
+        if (data.length() > 0) {
+            data.setLength(data.length() - 1);
+            dispatch.accept(new ServerSentEvent(lastEventId, event.isEmpty() ? "message" : event, data.toString()));
+        }
+        data.setLength(0);
+        event = "";
+    }
+
+    String getLastEventId() {
+        return lastEventId;
+    }
+
+    long getRetry() {
+        return retry;
+    }
+}
@@ -27,9 +27,13 @@ package kong.unirest;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class FileResponse extends BaseResponse<File> {
     private File body;
@@ -38,13 +42,49 @@ public class FileResponse extends BaseResponse<File> {
         super(r);
         try {
             Path target = Paths.get(path);
-            Files.copy(r.getContent(), target);
+            Path temp = tempFileFor(target);
+            try {
+                write(r, temp);
+                move(temp, target);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
             body = target.toFile();
         } catch (IOException e) {
             throw new UnirestException(e);
         }
     }
 
+    private void write(RawResponse r, Path temp) throws IOException {
+        try (AsyncFileWriter writer = new AsyncFileWriter(temp)) {
+            writer.preallocate(Util.contentLength(r));
+            writer.copy(r.getContent());
+        }
+    }
+
+
+    // not Files.createTempFile, which makes the file private to its owner, and the download would keep that
+    static Path tempFileFor(Path target) throws IOException {
+        Path dir = target.toAbsolutePath().getParent();
+        while (true) {
+            String name = target.getFileName() + Long.toUnsignedString(ThreadLocalRandom.current().nextLong()) + ".part";
+            try {
+                return Files.createFile(dir.resolve(name));
+            } catch (FileAlreadyExistsException e) {
+                // try another name
+            }
+        }
+    }
+
+    // the download only shows up at the target once it is complete
+    static void move(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
     @Override
     public File getBody() {
         return body;
@@ -25,5 +25,16 @@
 
 package kong.unirest;
 
+import java.io.File;
+
 public interface GetRequest extends HttpRequest<GetRequest> {
+    /**
+     * Executes the request as several byte ranges downloaded in parallel over the connection pool
+     * and writes them into a single file. Ranges which fail part way through are resumed.
+     * If the server does not support ranges, the file is downloaded in one go.
+     * @param path The path to the file.
+     * @param parts the number of ranges to download at the same time
+     * @return a file containing the results
+     */
+    HttpResponse<File> asFileParallel(String path, int parts);
 }
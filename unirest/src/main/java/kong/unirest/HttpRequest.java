@@ -37,7 +37,7 @@ import java.util.function.Function;
     The primary request builder used to create a request. This will be completed after calling one of
     the "as**" methods like asString()
  */
-public interface HttpRequest<R extends HttpRequest>  {
+public interface HttpRequest<R extends HttpRequest> extends ResponseReaders {
     /**
      * add a route param that replaces the matching {name}
      * For example routeParam("name", "fred") will replace {name} in
@@ -155,6 +155,23 @@ public interface HttpRequest<R extends HttpRequest>  {
      */
     R connectTimeout(int millies);
 
+    /**
+     * Set how the response to this request is read: its size limits and a listener for its progress.
+     * Sizes not set in the options are taken from the config.
+     * @param options the response options
+     * @return this request builder
+     */
+    R responseOptions(ResponseOptions options);
+
+    /**
+     * Compress the body of this request with gzip or deflate as it is sent, if it is at least minBytes long,
+     * overriding the config. Bodies of unknown length are always compressed.
+     * @param encoding "gzip" or "deflate", or null to turn it off for this request
+     * @param minBytes the smallest body to compress
+     * @return this request builder
+     */
+    R bodyCompression(String encoding, long minBytes);
+
     /**
      * Set a proxy for this request. Only basic proxies are supported.
      * @param host the host url
@@ -182,6 +199,15 @@ public interface HttpRequest<R extends HttpRequest>  {
      */
     CompletableFuture<HttpResponse<String>> asStringAsync(Callback<String> callback);
 
+
+
+
+
+
+
+
+
+
     /**
      * Executes the request and returns the response with the body mapped into a JsonNode
      * @return response
@@ -272,21 +298,26 @@ public interface HttpRequest<R extends HttpRequest>  {
     <T> CompletableFuture<HttpResponse<T>> asObjectAsync(Function<RawResponse, T> function);
 
     /**
-     * Executes the request and writes the contents into a file
+     * Executes the request and writes the contents into a file.
+     * A file already at the path is replaced once the download is complete.
      * @param path The path to the file.
      * @return a file containing the results
      */
     HttpResponse<File> asFile(String path);
 
     /**
-     * asynchronously executes the request and writes the contents into a file
+     * asynchronously executes the request and writes the contents into a file.
+     * The body goes to disk as it arrives rather than being held in memory first.
+     * A file already at the path is replaced once the download is complete.
      * @param path The path to the file.
      * @return a file containing the results
      */
     CompletableFuture<HttpResponse<File>> asFileAsync(String path);
 
     /**
-     * asynchronously executes the request and writes the contents into a file
+     * asynchronously executes the request and writes the contents into a file.
+     * The body goes to disk as it arrives rather than being held in memory first.
+     * A file already at the path is replaced once the download is complete.
      * @param path The path to the file.
      * @param callback a callback for handling the body post mapping
      * @return a file containing the results
@@ -324,6 +355,11 @@ public interface HttpRequest<R extends HttpRequest>  {
     CompletableFuture<HttpResponse<Empty>> asEmptyAsync(Callback<Empty> callback);
 
 
+
+
+
+
+
     /**
      * Execute the request asynchronously and pass the raw response to a consumer.
      * This raw response contains the original InputStream and is suitable for
@@ -340,6 +376,7 @@ public interface HttpRequest<R extends HttpRequest>  {
      */
     void thenConsumeAsync(Consumer<RawResponse> consumer);
 
+
     /**
      * @return The HTTP method of the request
      */
@@ -372,6 +409,16 @@ public interface HttpRequest<R extends HttpRequest>  {
      */
     int getConnectTimeout();
 
+    /**
+     * @return how the response to this request is read, with the sizes not set on the request taken from the config
+     */
+    ResponseOptions getResponseOptions();
+
+    /**
+     * @return how the body of this request is compressed
+     */
+    BodyCompression getBodyCompression();
+
     /**
      * @return the proxy for this request
      */
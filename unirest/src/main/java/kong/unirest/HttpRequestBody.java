@@ -30,8 +30,10 @@ import org.json.JSONObject;
 
 import java.io.File;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
@@ -107,7 +109,7 @@ class HttpRequestBody extends BaseRequest<HttpRequestWithBody> implements HttpRe
 
 	@Override
 	public RequestBodyEntity body(Object body) {
-		return body(config.getObjectMapper().writeValue(body));
+		return new HttpRequestUniBody(this).body(new ObjectPart(body, config.getObjectMapper(), charSet));
 	}
 
 	@Override
@@ -137,6 +139,26 @@ class HttpRequestBody extends BaseRequest<HttpRequestWithBody> implements HttpRe
 		return body(body.toString());
 	}
 
+	@Override
+	public RequestBodyEntity body(File body) {
+		return new HttpRequestUniBody(this).body(body);
+	}
+
+	@Override
+	public RequestBodyEntity body(Path body) {
+		return new HttpRequestUniBody(this).body(body);
+	}
+
+	@Override
+	public RequestBodyEntity body(InputStream body) {
+		return new HttpRequestUniBody(this).body(body);
+	}
+
+	@Override
+	public RequestBodyEntity body(ByteBuffer body) {
+		return new HttpRequestUniBody(this).body(body);
+	}
+
 	@Override
 	public Charset getCharset() {
 		return charSet;
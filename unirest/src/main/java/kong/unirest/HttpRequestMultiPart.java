@@ -38,6 +38,7 @@ class HttpRequestMultiPart extends BaseRequest<MultipartBody> implements Multipa
     private MultipartMode mode = MultipartMode.BROWSER_COMPATIBLE;
     private Charset charSet;
     private boolean forceMulti = false;
+    private boolean hasFile = false;
     private ProgressMonitor monitor;
 
     HttpRequestMultiPart(HttpRequestBody httpRequest) {
@@ -165,9 +166,20 @@ class HttpRequestMultiPart extends BaseRequest<MultipartBody> implements Multipa
         }
     }
 
+    // keep the parts ordered by name as they come in, equal names stay in the order they were added
     private void addPart(BodyPart value) {
-        parameters.add(value);
-        Collections.sort(parameters);
+        int low = 0;
+        int high = parameters.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (parameters.get(mid).compareTo(value) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        parameters.add(low, value);
+        hasFile |= value.isFile();
     }
 
     @Override
@@ -177,7 +189,7 @@ class HttpRequestMultiPart extends BaseRequest<MultipartBody> implements Multipa
 
     @Override
     public boolean isMultiPart() {
-        return forceMulti || multiParts().stream().anyMatch(BodyPart::isFile);
+        return forceMulti || hasFile;
     }
 
     @Override
@@ -187,7 +199,7 @@ class HttpRequestMultiPart extends BaseRequest<MultipartBody> implements Multipa
 
     @Override
     public Collection<BodyPart> multiParts() {
-        return new ArrayList<>(parameters);
+        return Collections.unmodifiableList(parameters);
     }
 
     @Override
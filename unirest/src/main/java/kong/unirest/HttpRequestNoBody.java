@@ -25,6 +25,7 @@
 
 package kong.unirest;
 
+import java.io.File;
 import java.util.Optional;
 
 class HttpRequestNoBody extends BaseRequest<GetRequest> implements GetRequest {
@@ -32,6 +33,15 @@ class HttpRequestNoBody extends BaseRequest<GetRequest> implements GetRequest {
 		super(config, method, url);
 	}
 
+	HttpRequestNoBody(HttpRequestNoBody request) {
+		super(request);
+	}
+
+	@Override
+	public HttpResponse<File> asFileParallel(String path, int parts) {
+		return new ParallelDownload(this, path, parts).download();
+	}
+
 	@Override
 	public Optional<Body> getBody() {
 		return Optional.empty();
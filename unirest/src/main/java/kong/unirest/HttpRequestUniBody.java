@@ -25,13 +25,18 @@
 
 package kong.unirest;
 
+import java.io.File;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.util.Optional;
 
 class HttpRequestUniBody extends BaseRequest<RequestBodyEntity> implements RequestBodyEntity {
 
 	private BodyPart body;
 	private Charset charSet;
+	private ProgressListener monitor;
 
 	HttpRequestUniBody(HttpRequestBody httpRequest) {
 		super(httpRequest);
@@ -55,6 +60,48 @@ class HttpRequestUniBody extends BaseRequest<RequestBodyEntity> implements Reque
 		return this;
 	}
 
+	@Override
+	public RequestBodyEntity body(File file) {
+		return body(file.toPath());
+	}
+
+	@Override
+	public RequestBodyEntity body(Path file) {
+		this.body = new UniRawBody<>(file);
+		return this;
+	}
+
+	@Override
+	public RequestBodyEntity body(InputStream stream) {
+		this.body = new UniRawBody<>(stream);
+		return this;
+	}
+
+	@Override
+	public RequestBodyEntity body(ByteBuffer buffer) {
+		this.body = new UniRawBody<>(buffer);
+		return this;
+	}
+
+	RequestBodyEntity body(ObjectPart objectBody) {
+		this.body = objectBody;
+		return this;
+	}
+
+	@Override
+	public RequestBodyEntity precomputeLength(boolean value) {
+		if (body instanceof ObjectPart) {
+			this.body = ((ObjectPart) body).withPrecomputedLength(value);
+		}
+		return this;
+	}
+
+	@Override
+	public RequestBodyEntity uploadMonitor(ProgressListener uploadMonitor) {
+		this.monitor = uploadMonitor;
+		return this;
+	}
+
 	@Override
 	public RequestBodyEntity charset(Charset charset) {
 		this.charSet = charset;
@@ -85,4 +132,9 @@ class HttpRequestUniBody extends BaseRequest<RequestBodyEntity> implements Reque
 	public BodyPart uniPart() {
 		return body;
 	}
+
+	@Override
+	public ProgressListener getProgressListener() {
+		return monitor;
+	}
 }
@@ -30,7 +30,9 @@ import org.json.JSONObject;
 
 import java.io.File;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Map;
 
@@ -71,5 +73,35 @@ public interface HttpRequestWithBody extends HttpRequest<HttpRequestWithBody> {
 
     RequestBodyEntity body(JSONArray body);
 
+    /**
+     * Stream a file as the body, without reading it into memory.
+     * On the async client over plain HTTP the file is sent straight from its channel (sendfile).
+     * @param body the file
+     * @return RequestBodyEntity instance
+     */
+    RequestBodyEntity body(File body);
+
+    /**
+     * Stream a file as the body, without reading it into memory.
+     * On the async client over plain HTTP the file is sent straight from its channel (sendfile).
+     * @param body the file
+     * @return RequestBodyEntity instance
+     */
+    RequestBodyEntity body(Path body);
+
+    /**
+     * Stream the rest of an InputStream as the body. The length is not known, so it is sent chunked.
+     * @param body the stream
+     * @return RequestBodyEntity instance
+     */
+    RequestBodyEntity body(InputStream body);
+
+    /**
+     * Send the remaining bytes of a ByteBuffer as the body, the position of the buffer is left alone.
+     * @param body the buffer
+     * @return RequestBodyEntity instance
+     */
+    RequestBodyEntity body(ByteBuffer body);
+
     Charset getCharset();
 }
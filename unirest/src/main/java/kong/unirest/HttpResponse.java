@@ -104,7 +104,8 @@ public interface HttpResponse<T> {
     <E> HttpResponse<T> ifFailure(Class<? extends E> errorClass, Consumer<HttpResponse<E>> consumer);
 
      /**
-     * @return true if the response was a 200-series response and no mapping exception happened, else false
+     * @return true if the response was a 200-series response and no mapping exception happened, else false.
+     * With lazy response bodies a body that has not been parsed yet is not parsed to answer this.
      */
     boolean isSuccess();
 
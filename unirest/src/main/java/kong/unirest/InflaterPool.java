@@ -0,0 +1,63 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Inflater;
+
+/**
+ * Keeps a few idle Inflaters around so every compressed response does not have to allocate
+ * (and later finalize) a new one along with its native buffers.
+ */
+final class InflaterPool {
+    private static final int MAX_IDLE = 32;
+    private static final BlockingQueue<Inflater> RAW = new ArrayBlockingQueue<>(MAX_IDLE);
+    private static final BlockingQueue<Inflater> ZLIB = new ArrayBlockingQueue<>(MAX_IDLE);
+
+    private InflaterPool() {
+    }
+
+    static Inflater acquire(boolean nowrap) {
+        Inflater inflater = idle(nowrap).poll();
+        return inflater != null ? inflater : new Inflater(nowrap);
+    }
+
+    static void release(Inflater inflater, boolean nowrap) {
+        inflater.reset();
+        if (!idle(nowrap).offer(inflater)) {
+            inflater.end();
+        }
+    }
+
+    static int getIdleCount(boolean nowrap) {
+        return idle(nowrap).size();
+    }
+
+    private static BlockingQueue<Inflater> idle(boolean nowrap) {
+        return nowrap ? RAW : ZLIB;
+    }
+}
@@ -0,0 +1,152 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static kong.unirest.SharedExecutors.READERS;
+
+/**
+ * Publishes an InputStream chunk by chunk, reading only as much as the subscriber has asked for.
+ * Reads happen on a reader thread so the subscriber's thread is never blocked, and only one
+ * read or signal is in flight at a time. Cancelling closes the stream, which for a streamed
+ * response drops the connection.
+ */
+class InputStreamPublisher implements ByteBufferPublisher, ByteBufferPublisher.Subscription {
+    private static final int CHUNK_SIZE = 8192;
+    private final InputStream content;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicInteger work = new AtomicInteger();
+    private volatile Subscriber subscriber;
+    private volatile Throwable invalid;
+    private volatile boolean cancelled;
+    private boolean done;
+
+    InputStreamPublisher(InputStream content) {
+        this.content = content;
+    }
+
+    @Override
+    public void subscribe(Subscriber s) {
+        Objects.requireNonNull(s, "Subscriber may not be null");
+        if (!subscribed.compareAndSet(false, true)) {
+            s.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            s.onError(new IllegalStateException("A response body can only be subscribed to once"));
+            return;
+        }
+        subscriber = s;
+        s.onSubscribe(this);
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            invalid = new IllegalArgumentException("The number of chunks requested must be positive but was " + n);
+        } else {
+            demand.getAndUpdate(d -> d + n < 0 ? Long.MAX_VALUE : d + n);
+        }
+        schedule();
+    }
+
+    @Override
+    public void cancel() {
+        if (!cancelled) {
+            cancelled = true;
+            close();
+        }
+    }
+
+    private void schedule() {
+        if (work.getAndIncrement() == 0) {
+            READERS.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        int missed = 1;
+        do {
+            emit();
+            missed = work.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void emit() {
+        try {
+            while (!done && !cancelled) {
+                if (invalid != null) {
+                    fail(invalid);
+                    return;
+                }
+                if (demand.get() == 0) {
+                    return;
+                }
+                byte[] chunk = new byte[CHUNK_SIZE];
+                int read = content.read(chunk);
+                if (read == -1) {
+                    done = true;
+                    close();
+                    subscriber.onComplete();
+                    return;
+                }
+                demand.decrementAndGet();
+                subscriber.onNext(ByteBuffer.wrap(chunk, 0, read));
+            }
+        } catch (IOException | RuntimeException e) {
+            if (!cancelled) {
+                fail(e);
+            }
+        }
+    }
+
+    private void fail(Throwable e) {
+        done = true;
+        close();
+        subscriber.onError(e);
+    }
+
+    private void close() {
+        try {
+            content.close();
+        } catch (IOException e) {
+            // the body is being given up on anyway
+        }
+    }
+}
@@ -28,11 +28,9 @@ package kong.unirest;
 import java.util.Objects;
 
 public class JsonResponse extends BaseResponse<JsonNode> {
-    private JsonNode node;
-
     protected JsonResponse(RawResponse response) {
         super(response);
-        node = getNode(response);
+        parseBody(response, this::getNode);
     }
 
     private JsonNode getNode(RawResponse response) {
@@ -55,6 +53,6 @@ public class JsonResponse extends BaseResponse<JsonNode> {
 
     @Override
     public JsonNode getBody() {
-        return node;
+        return getParsedBody();
     }
 }
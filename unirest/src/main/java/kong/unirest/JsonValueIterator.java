@@ -0,0 +1,169 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Splits a JSON document into top level values without parsing them, so a mapper which can only read
+ * whole documents can still go through a large body one value at a time.
+ * A document starting with [ is read as an array of values, anything else as values one
+ * after the other separated by whitespace (like newline delimited JSON).
+ */
+class JsonValueIterator<T> implements Iterator<T> {
+    private final Reader reader;
+    private final Function<String, T> mapper;
+    private final char[] buffer = new char[8192];
+    private final StringBuilder value = new StringBuilder();
+    private int pos;
+    private int limit;
+    private boolean started;
+    private boolean array;
+    private boolean finished;
+    private String next;
+
+    JsonValueIterator(Reader reader, Function<String, T> mapper) {
+        this.reader = reader;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            try {
+                next = readNext();
+            } catch (IOException e) {
+                throw new UnirestException(e);
+            }
+            finished = next == null;
+        }
+        return next != null;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String json = next;
+        next = null;
+        return mapper.apply(json);
+    }
+
+    private String readNext() throws IOException {
+        int c = skipWhitespace();
+        if (!started) {
+            started = true;
+            if (c == '[') {
+                array = true;
+                c = skipWhitespace();
+                return c == ']' ? null : readValue(c);
+            }
+        } else if (array) {
+            if (c == ']') {
+                return null;
+            } else if (c != ',') {
+                throw new UnirestException("Expected , or ] between array values but found " + describe(c));
+            }
+            c = skipWhitespace();
+        }
+        if (c == -1) {
+            if (array) {
+                throw new UnirestException("Unexpected end of JSON array");
+            }
+            return null;
+        }
+        return readValue(c);
+    }
+
+    private String readValue(int first) throws IOException {
+        value.setLength(0);
+        int depth = 0;
+        boolean inString = false;
+        boolean escaped = false;
+        for (int c = first; c != -1; c = read()) {
+            if (!inString && depth == 0 && value.length() > 0 && isDelimiter(c)) {
+                pos--;
+                return value.toString();
+            }
+            value.append((char) c);
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+            } else if (c == '"') {
+                inString = true;
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+            }
+            if (depth == 0 && !inString && (c == '}' || c == ']' || c == '"')) {
+                return value.toString();
+            }
+        }
+        if (depth > 0 || inString) {
+            throw new UnirestException("Unexpected end of JSON value");
+        }
+        return value.toString();
+    }
+
+    private static boolean isDelimiter(int c) {
+        return c == ',' || c == ']' || c == '}' || Character.isWhitespace(c);
+    }
+
+    private static String describe(int c) {
+        return c == -1 ? "the end of the body" : "'" + (char) c + "'";
+    }
+
+    private int skipWhitespace() throws IOException {
+        int c = read();
+        while (c != -1 && Character.isWhitespace(c)) {
+            c = read();
+        }
+        return c;
+    }
+
+    private int read() throws IOException {
+        if (pos == limit) {
+            int read = reader.read(buffer, 0, buffer.length);
+            if (read <= 0) {
+                return -1;
+            }
+            pos = 0;
+            limit = read;
+        }
+        return buffer[pos++];
+    }
+}
@@ -0,0 +1,142 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Keeps count of the request and response bodies held in memory across every request of a config.
+ * Bytes are reserved before a body is buffered and handed back once it has been dealt with.
+ * When the budget is used up, callers wait for other bodies to be released, up to a timeout,
+ * or fail straight away if there is no wait.
+ * A single body larger than the whole budget only waits until nothing else is using it.
+ */
+public class MemoryBudget {
+    private final long maxBytes;
+    private final long waitMillis;
+    private final Supplier<UniMetric> metric;
+    private long usedBytes;
+
+    MemoryBudget(long maxBytes, long waitMillis, Supplier<UniMetric> metric) {
+        if (maxBytes < 1 || waitMillis < 0) {
+            throw new UnirestConfigException("The memory budget must be positive and the wait may not be negative");
+        }
+        this.maxBytes = maxBytes;
+        this.waitMillis = waitMillis;
+        this.metric = metric;
+    }
+
+    /**
+     * Reserve part of the budget, waiting for it to free up if need be.
+     * @param bytes the number of bytes
+     * @return the number of bytes reserved, to be given back with {@link #release(long)}
+     * @throws MemoryBudgetException if the bytes could not be reserved in time
+     */
+    public long acquire(long bytes) {
+        return acquire(bytes, waitMillis);
+    }
+
+    /**
+     * Reserve part of the budget without waiting, for callers which already hold some of it
+     * (and so must not wait on others doing the same) or which may not block.
+     * @param bytes the number of bytes
+     * @return the number of bytes reserved, to be given back with {@link #release(long)}
+     * @throws MemoryBudgetException if there is no room right now
+     */
+    public long acquireNow(long bytes) {
+        return acquire(bytes, 0);
+    }
+
+    private long acquire(long bytes, long wait) {
+        long wanted = Math.min(Math.max(bytes, 0), maxBytes);
+        if (wanted == 0) {
+            return 0;
+        }
+        long used;
+        synchronized (this) {
+            awaitRoom(wanted, wait);
+            usedBytes += wanted;
+            used = usedBytes;
+        }
+        metric.get().bodyMemoryInUse(used, maxBytes);
+        return wanted;
+    }
+
+    private void awaitRoom(long wanted, long wait) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(wait);
+        try {
+            while (usedBytes + wanted > maxBytes) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    throw new MemoryBudgetException("The body memory budget of " + maxBytes + " bytes is used up");
+                }
+                wait(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MemoryBudgetException(e);
+        }
+    }
+
+    /**
+     * Give back bytes from {@link #acquire(long)}
+     * @param bytes the number of bytes
+     */
+    public void release(long bytes) {
+        if (bytes <= 0) {
+            return;
+        }
+        long used;
+        synchronized (this) {
+            usedBytes = Math.max(0, usedBytes - bytes);
+            used = usedBytes;
+            notifyAll();
+        }
+        metric.get().bodyMemoryInUse(used, maxBytes);
+    }
+
+    /**
+     * @return the size of the budget in bytes
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * @return how long to wait for room in milliseconds, 0 fails straight away
+     */
+    public long getWaitMillis() {
+        return waitMillis;
+    }
+
+    /**
+     * @return the number of bytes currently reserved
+     */
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+}
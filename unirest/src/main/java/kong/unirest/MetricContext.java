@@ -39,4 +39,14 @@ public interface MetricContext {
       *           but more likely a socket or connection timeout.
       */
      void complete(HttpResponseSummary httpResponse, Exception ex);
+
+     /**
+      * Called once a compressed (gzip or deflate) response body has been decoded,
+      * or when the body is closed before it was read to the end.
+      * @param encoding the content encoding of the body.
+      * @param compressedBytes the number of bytes read from the connection.
+      * @param decodedBytes the number of bytes they decoded to.
+      */
+     default void contentDecoded(String encoding, long compressedBytes, long decodedBytes) {
+     }
 }
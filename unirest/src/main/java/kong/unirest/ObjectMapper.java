@@ -25,10 +25,130 @@
 
 package kong.unirest;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
 public interface ObjectMapper {
 	<T> T readValue(String value, Class<T> valueType);
 	default <T> T readValue(String value, GenericType<T> genericType){
 		throw new UnirestException("Please implement me");
 	}
 	String writeValue(Object value);
+
+	/**
+	 * Read a value from the raw bytes of a body. The bytes are expected to be UTF-8.
+	 * Mappers that can parse bytes natively should override this so that responses
+	 * do not need to be decoded into a String first.
+	 * @param value the raw bytes
+	 * @param valueType the class to map to
+	 * @param <T> the type to map to
+	 * @return the mapped value
+	 */
+	default <T> T readValue(byte[] value, Class<T> valueType){
+		return readValue(new String(value, StandardCharsets.UTF_8), valueType);
+	}
+
+	/**
+	 * Read a value from the raw bytes of a body. The bytes are expected to be UTF-8.
+	 * @param value the raw bytes
+	 * @param genericType the generic type to map to
+	 * @param <T> the type to map to
+	 * @return the mapped value
+	 */
+	default <T> T readValue(byte[] value, GenericType<T> genericType){
+		return readValue(new String(value, StandardCharsets.UTF_8), genericType);
+	}
+
+	/**
+	 * Read a value from a UTF-8 InputStream. The stream is not closed.
+	 * @param value the stream
+	 * @param valueType the class to map to
+	 * @param <T> the type to map to
+	 * @return the mapped value
+	 */
+	default <T> T readValue(InputStream value, Class<T> valueType){
+		return readValue(Util.readBytes(value), valueType);
+	}
+
+	/**
+	 * Read a value from a UTF-8 InputStream. The stream is not closed.
+	 * @param value the stream
+	 * @param genericType the generic type to map to
+	 * @param <T> the type to map to
+	 * @return the mapped value
+	 */
+	default <T> T readValue(InputStream value, GenericType<T> genericType){
+		return readValue(Util.readBytes(value), genericType);
+	}
+
+	/**
+	 * Read a value from a Reader, used when the body is not UTF-8. The reader is not closed.
+	 * @param value the reader
+	 * @param valueType the class to map to
+	 * @param <T> the type to map to
+	 * @return the mapped value
+	 */
+	default <T> T readValue(Reader value, Class<T> valueType){
+		return readValue(Util.readString(value), valueType);
+	}
+
+	/**
+	 * Read a value from a Reader, used when the body is not UTF-8. The reader is not closed.
+	 * @param value the reader
+	 * @param genericType the generic type to map to
+	 * @param <T> the type to map to
+	 * @return the mapped value
+	 */
+	default <T> T readValue(Reader value, GenericType<T> genericType){
+		return readValue(Util.readString(value), genericType);
+	}
+
+	/**
+	 * Read a series of values one at a time, either the elements of a top level JSON array
+	 * or values following each other (like newline delimited JSON). Values are only read as the iterator
+	 * is advanced, so just the current one is held in memory. The reader is not closed.
+	 * The default splits out the text of each value and maps it with {@link #readValue(String, Class)},
+	 * mappers with a streaming parser should override this.
+	 * @param value the reader
+	 * @param valueType the class of the values
+	 * @param <T> the type to map to
+	 * @return an iterator of the values
+	 */
+	default <T> Iterator<T> readValues(Reader value, Class<T> valueType){
+		return new JsonValueIterator<>(value, json -> readValue(json, valueType));
+	}
+
+	/**
+	 * Read a series of values one at a time from a UTF-8 InputStream. The stream is not closed.
+	 * @param value the stream
+	 * @param valueType the class of the values
+	 * @param <T> the type to map to
+	 * @return an iterator of the values
+	 * @see #readValues(Reader, Class)
+	 */
+	default <T> Iterator<T> readValues(InputStream value, Class<T> valueType){
+		return readValues(new InputStreamReader(value, StandardCharsets.UTF_8), valueType);
+	}
+
+	/**
+	 * Write a value directly into a OutputStream. The stream is flushed but not closed.
+	 * Mappers that can serialize to a stream natively should override this.
+	 * @param value the object to write
+	 * @param output the stream to write to
+	 * @param charset the charset to encode the value in
+	 */
+	default void writeValue(Object value, OutputStream output, Charset charset){
+		try {
+			output.write(writeValue(value).getBytes(charset));
+			output.flush();
+		} catch (IOException e) {
+			throw new UnirestException(e);
+		}
+	}
 }
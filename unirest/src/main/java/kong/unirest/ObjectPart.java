@@ -0,0 +1,83 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+
+/**
+ * An object body which is only serialized by the ObjectMapper as it is written to the connection,
+ * so the serialized form is never held in memory. It can be written as many times as needed (on a retry or redirect).
+ */
+public class ObjectPart extends BodyPart<Object> {
+    private final ObjectMapper mapper;
+    private final Charset charset;
+    private final boolean precomputeLength;
+
+    ObjectPart(Object value, ObjectMapper mapper, Charset charset) {
+        this(value, mapper, charset, false);
+    }
+
+    private ObjectPart(Object value, ObjectMapper mapper, Charset charset, boolean precomputeLength) {
+        super(value, null, ContentType.TEXT_PLAIN.withCharset(charset).toString());
+        this.mapper = mapper;
+        this.charset = charset;
+        this.precomputeLength = precomputeLength;
+    }
+
+    ObjectPart withPrecomputedLength(boolean value) {
+        return new ObjectPart(getValue(), mapper, charset, value);
+    }
+
+    /**
+     * @param value the charset to write the body in, which is only known for sure once the request is sent
+     * @return a copy of this part using the charset
+     */
+    public ObjectPart withCharset(Charset value) {
+        return new ObjectPart(getValue(), mapper, value, precomputeLength);
+    }
+
+    /**
+     * Serialize the value into a stream. The stream is flushed but not closed.
+     * @param output the stream
+     */
+    public void writeTo(OutputStream output) {
+        mapper.writeValue(getValue(), output, charset);
+    }
+
+    /**
+     * @return true if the body should be serialized once up front just to count its length,
+     * so it can be sent with a Content-Length rather than chunked
+     */
+    public boolean isLengthPrecomputed() {
+        return precomputeLength;
+    }
+
+    @Override
+    public boolean isFile() {
+        return false;
+    }
+}
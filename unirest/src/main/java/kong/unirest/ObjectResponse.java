@@ -25,48 +25,60 @@
 
 package kong.unirest;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 import java.util.function.Function;
 
 
 class ObjectResponse<T> extends BaseResponse<T> {
-    private final T body;
     private final ObjectMapper om;
+    private String charset;
 
     ObjectResponse(ObjectMapper om, RawResponse response, Class<? extends T> to) {
         super(response);
         this.om = om;
-        this.body = readBody(response)
-                .map(s -> getBody(s, e -> om.readValue(e, to)))
-                .orElse(null);
+        parseBody(response, r -> readBody(r)
+                .map(s -> getBody(s, e -> om.readValue(e, to), e -> om.readValue(e, to)))
+                .orElse(null));
     }
 
     ObjectResponse(ObjectMapper om, RawResponse response, GenericType<? extends T> to){
         super(response);
         this.om = om;
-        this.body = readBody(response)
-                .map(s -> getBody(s, e -> om.readValue(e, to)))
-                .orElse(null);
+        parseBody(response, r -> readBody(r)
+                .map(s -> getBody(s, e -> om.readValue(e, to), e -> om.readValue(e, to)))
+                .orElse(null));
     }
 
-    private Optional<String> readBody(RawResponse response) {
+    private Optional<byte[]> readBody(RawResponse response) {
         if(!response.hasContent()){
             return Optional.empty();
         }
-        return Optional.of(response.getContentAsString());
+        charset = response.getCharSet();
+        return Optional.of(response.getContentAsBytes());
     }
 
-    private T getBody(String b, Function<String, T> func){
+    // an unknown charset is a parsing error like any other, with the body kept as UTF-8
+    private T getBody(byte[] b, Function<byte[], T> fromBytes, Function<Reader, T> fromReader){
+        Charset decoder = StandardCharsets.UTF_8;
         try {
-            return func.apply(b);
+            decoder = Charset.forName(charset);
+            if(StandardCharsets.UTF_8.equals(decoder)){
+                return fromBytes.apply(b);
+            }
+            return fromReader.apply(new InputStreamReader(new ByteArrayInputStream(b), decoder));
         } catch (RuntimeException e) {
-            setParsingException(b, e);
+            setParsingException(new String(b, decoder), e);
             return null;
         }
     }
 
     @Override
     public T getBody() {
-        return body;
+        return getParsedBody();
     }
 }
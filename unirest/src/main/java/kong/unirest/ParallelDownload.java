@@ -0,0 +1,208 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Downloads a file as several byte ranges fetched concurrently through the async client.
+ * A one byte range probe finds the size of the file, then each range is written into its
+ * own region of a preallocated temp file. A range that fails part way through is resumed
+ * from the last byte written. If the server ignores the probe range, the probe response
+ * already holds the whole file, so it is saved as-is.
+ */
+class ParallelDownload {
+    private static final int ATTEMPTS = 3;
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final String BYTES = "bytes ";
+
+    private final HttpRequestNoBody request;
+    private final Path target;
+    private final int parts;
+
+    ParallelDownload(HttpRequestNoBody request, String path, int parts) {
+        if (parts < 1) {
+            throw new UnirestException("A parallel download needs at least one part");
+        }
+        this.request = request;
+        this.target = Paths.get(path);
+        this.parts = parts;
+    }
+
+    HttpResponse<File> download() {
+        AtomicLong total = new AtomicLong(-1);
+        HttpResponse<File> probe = join(fetch(0, 0, r -> probe(r, total)));
+        if (total.get() < 0) {
+            return probe;
+        }
+        try {
+            Path temp = FileResponse.tempFileFor(target);
+            try {
+                HttpResponse<?> first = downloadInto(temp, total.get());
+                FileResponse.move(temp, target);
+                return first.map(e -> target.toFile());
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UnirestException(e);
+        }
+    }
+
+    private HttpResponse<File> probe(RawResponse r, AtomicLong total) {
+        long size = rangeTotal(r);
+        if (size <= 0) {
+            return new FileResponse(r, target.toString());
+        }
+        total.set(size);
+        return new BasicResponse<>(r, null);
+    }
+
+    // Content-Range: bytes 0-0/1234
+    private long rangeTotal(RawResponse r) {
+        String range = r.getHeaders().getFirst(HeaderNames.CONTENT_RANGE);
+        int slash = range.lastIndexOf('/');
+        if (r.getStatus() != 206 || slash < 0) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(range.substring(slash + 1).trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private HttpResponse<?> downloadInto(Path temp, long total) throws IOException {
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            if (total > 0) {
+                out.write(ByteBuffer.allocate(1), total - 1);
+            }
+            long size = Math.max(1, (total + parts - 1) / parts);
+            List<CompletableFuture<HttpResponse<Empty>>> segments = new ArrayList<>();
+            for (long start = 0; start < total; start += size) {
+                segments.add(new Segment(out, start, Math.min(start + size, total) - 1).attempt(ATTEMPTS));
+            }
+            join(CompletableFuture.allOf(segments.toArray(new CompletableFuture[0])));
+            return join(segments.get(0));
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw new UnirestException(e.getCause());
+        }
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> fetch(long from, long to, Function<RawResponse, HttpResponse<T>> transformer) {
+        GetRequest range = new HttpRequestNoBody(request)
+                .headerReplace(HeaderNames.RANGE, "bytes=" + from + "-" + to)
+                // ranges have to be of the bytes as stored, not of a compressed copy
+                .headerReplace(HeaderNames.ACCEPT_ENCODING, "identity");
+        // streamed, so only a chunk of each range is in memory and a range cut short keeps what it got
+        return request.config.getAsyncClient().stream(range, transformer, new CompletableFuture<>());
+    }
+
+    private class Segment {
+        private final FileChannel out;
+        private final long start;
+        private final long end;
+        private long written;
+
+        Segment(FileChannel out, long start, long end) {
+            this.out = out;
+            this.start = start;
+            this.end = end;
+        }
+
+        CompletableFuture<HttpResponse<Empty>> attempt(int remaining) {
+            return fetch(start + written, end, this::write)
+                    .handle((response, ex) -> {
+                        if (start + written > end) {
+                            return CompletableFuture.completedFuture(response);
+                        } else if (remaining > 1) {
+                            return attempt(remaining - 1);
+                        }
+                        CompletableFuture<HttpResponse<Empty>> failed = new CompletableFuture<>();
+                        failed.completeExceptionally(new UnirestException("Could not download bytes " + start + "-" + end, ex));
+                        return failed;
+                    })
+                    .thenCompose(f -> f);
+        }
+
+        // a failed write leaves what was written so far, and the next attempt carries on from there.
+        // The body is closed before anything is thrown, which drops the connection,
+        // so a reply which is not the range (like the whole file) is not read to the end
+        private HttpResponse<Empty> write(RawResponse r) {
+            try (InputStream in = r.getContent()) {
+                checkRange(r);
+                copy(in);
+            } catch (IOException e) {
+                throw new UnirestException(e);
+            }
+            return new EmptyResponse(r);
+        }
+
+        // anything but the range asked for would end up in the wrong place in the file
+        private void checkRange(RawResponse r) {
+            if (r.getStatus() != 206) {
+                throw new UnirestException("Asked for bytes " + (start + written) + "-" + end + " but got a " + r.getStatus());
+            }
+            String range = r.getHeaders().getFirst(HeaderNames.CONTENT_RANGE).trim();
+            int dash = range.indexOf('-');
+            String expected = String.valueOf(start + written);
+            if (!range.startsWith(BYTES) || dash < 0 || !range.substring(BYTES.length(), dash).trim().equals(expected)) {
+                throw new UnirestException("Asked for the range starting at " + expected + " but got " + range);
+            }
+        }
+
+        private void copy(InputStream in) throws IOException {
+            byte[] buf = new byte[CHUNK_SIZE];
+            int read;
+            while (start + written <= end && (read = in.read(buf)) != -1) {
+                ByteBuffer chunk = ByteBuffer.wrap(buf, 0, (int) Math.min(read, end - start - written + 1));
+                while (chunk.hasRemaining()) {
+                    written += out.write(chunk, start + written);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A snapshot of the connections in a client's pool, in total and for each route.
+ * A steady number of pending requests means they are waiting on the pool rather than on the server,
+ * see {@link Config#concurrency(int, int)} and {@link Config#concurrency(String, int)}.
+ */
+public class PoolStats {
+    private final int leased;
+    private final int pending;
+    private final int available;
+    private final int max;
+    private final Map<String, PoolStats> routes;
+
+    public PoolStats(int leased, int pending, int available, int max, Map<String, PoolStats> routes) {
+        this.leased = leased;
+        this.pending = pending;
+        this.available = available;
+        this.max = max;
+        this.routes = Collections.unmodifiableMap(routes);
+    }
+
+    /**
+     * @return the number of connections in use by a request
+     */
+    public int getLeased() {
+        return leased;
+    }
+
+    /**
+     * @return the number of requests waiting for a connection
+     */
+    public int getPending() {
+        return pending;
+    }
+
+    /**
+     * @return the number of idle connections ready to be reused
+     */
+    public int getAvailable() {
+        return available;
+    }
+
+    /**
+     * @return the connection limit
+     */
+    public int getMax() {
+        return max;
+    }
+
+    /**
+     * @return the stats of each route the pool has seen, keyed by scheme://host:port.
+     * Routes to the same host through different proxies are added together. Empty for the stats of a route.
+     */
+    public Map<String, PoolStats> getRoutes() {
+        return routes;
+    }
+
+    @Override
+    public String toString() {
+        return "leased: " + leased + ", pending: " + pending + ", available: " + available + ", max: " + max;
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the bytes of one body as they go through and tells a {@link ProgressListener} about them,
+ * but only once every so many bytes or so much time as set by {@link Config#progressInterval(long, long)},
+ * so that a listener on a large body is not called on every single write.
+ * The last byte is always reported. Not thread safe, a body is only ever read or written by one thread at a time.
+ */
+public class Progress {
+    private final ProgressListener listener;
+    private final String name;
+    private final String fileName;
+    private final long total;
+    private final long everyBytes;
+    private final long everyNanos;
+    private long bytes;
+    private long reported;
+    private long reportedAt;
+
+    /**
+     * @param listener the listener to report to
+     * @param name the field name of an upload, or the url of a download
+     * @param fileName the name of the file if there is one
+     * @param total the total number of bytes expected, or -1 when it is not known
+     * @param config the config to take the reporting interval from
+     */
+    public Progress(ProgressListener listener, String name, String fileName, long total, Config config) {
+        this.listener = listener;
+        this.name = name;
+        this.fileName = fileName;
+        this.total = total;
+        this.everyBytes = config.getProgressBytes();
+        this.everyNanos = TimeUnit.MILLISECONDS.toNanos(config.getProgressMillis());
+        this.reportedAt = everyNanos > 0 ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Count some more bytes, reporting them if it is time to
+     * @param count the number of bytes which just went through
+     */
+    public void add(long count) {
+        if (count <= 0) {
+            return;
+        }
+        bytes += count;
+        if (bytes == total || isDue()) {
+            report();
+        }
+    }
+
+    /**
+     * Report whatever has not been reported yet, once the body is done
+     */
+    public void done() {
+        if (bytes != reported) {
+            report();
+        }
+    }
+
+    private boolean isDue() {
+        if (everyBytes > 0 && bytes - reported >= everyBytes) {
+            return true;
+        } else if (everyNanos > 0 && System.nanoTime() - reportedAt >= everyNanos) {
+            return true;
+        }
+        return everyBytes <= 0 && everyNanos <= 0;
+    }
+
+    private void report() {
+        reported = bytes;
+        if (everyNanos > 0) {
+            reportedAt = System.nanoTime();
+        }
+        listener.onProgress(name, fileName, bytes, total);
+    }
+
+    /**
+     * @return the number of bytes counted so far
+     */
+    public long getBytes() {
+        return bytes;
+    }
+}
@@ -0,0 +1,43 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+/**
+ * Receives the progress of a request body going out or a response body coming in.
+ * Unlike {@link ProgressMonitor} the counts are primitives, so nothing is boxed on the way.
+ * How often it is called is set with {@link Config#progressInterval(long, long)},
+ * and it is always called once the last byte has gone through.
+ */
+@FunctionalInterface
+public interface ProgressListener {
+    /**
+     * @param name the field name of an upload, or the url of a download
+     * @param fileName the name of the file in question if available
+     * @param bytes the number of bytes sent or received so far
+     * @param totalBytes the total number of bytes expected, or -1 when it is not known
+     */
+    void onProgress(String name, String fileName, long bytes, long totalBytes);
+}
@@ -33,15 +33,23 @@ package kong.unirest;
  * note that you will not receive a total for ALL files together at once.
  * If you wanted this you could keep track of the total bytes of files you planned to upload and then
  * have your ProgressMonitor aggregate the results.
+ *
+ * It is a {@link ProgressListener} which boxes the counts. How often it is called is set by
+ * {@link Config#progressInterval(long, long)}, by default on every write.
  */
 @FunctionalInterface
-public interface ProgressMonitor {
+public interface ProgressMonitor extends ProgressListener {
     /**
      * Accept stats about the current file upload chunk for a file.
      * @param field the field name
      * @param fileName the name of the file in question if available (InputStreams and byte arrays may not have file names)
      * @param bytesWritten the number of bytes that have been uploaded so far
-     * @param totalBytes the total bytes that will be uploaded. Note this this may be an estimate if an InputStream was used
+     * @param totalBytes the total bytes that will be uploaded, or -1 if an InputStream was used as its length is not known
      * */
     void accept(String field, String fileName, Long bytesWritten, Long totalBytes);
+
+    @Override
+    default void onProgress(String name, String fileName, long bytes, long totalBytes) {
+        accept(name, fileName, bytes, totalBytes);
+    }
 }
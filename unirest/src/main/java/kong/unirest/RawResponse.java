@@ -27,6 +27,7 @@ package kong.unirest;
 
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 
 public interface RawResponse {
     int getStatus();
@@ -40,6 +41,18 @@ public interface RawResponse {
     boolean hasContent();
     String getContentType();
     String getEncoding();
+
+    /**
+     * @return the charset from the content type, or the default response encoding of the config when there is none
+     */
+    default String getCharSet() {
+        String charset = RawResponseBase.getCharsetFromContentType(getContentType());
+        if (charset != null && !charset.trim().isEmpty()) {
+            return charset;
+        }
+        return getConfig() == null ? StandardCharsets.UTF_8.name() : getConfig().getDefaultResponseEncoding();
+    }
+
     Config getConfig();
     HttpResponseSummary toSummary();
 }
@@ -25,45 +25,95 @@
 
 package kong.unirest;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.nio.charset.Charset;
+import java.util.Objects;
 
 public abstract class RawResponseBase implements RawResponse {
 
-    private static final Pattern CHARSET_PATTERN = Pattern.compile("(?i)\\bcharset=\\s*\"?([^\\s;\"]*)");
     protected Config config;
+    private boolean parsed;
+    private String parsedFrom;
+    private String parsedCharset;
+    private Charset charset;
 
     protected RawResponseBase(Config config){
         this.config = config;
     }
 
-    protected String getCharSet() {
+    @Override
+    public String getCharSet() {
         String contentType = getContentType();
-        String responseCharset = getCharsetFromContentType(contentType);
-        if (responseCharset != null && !responseCharset.trim().equals("")) {
-            return responseCharset;
+        // the content type is normally the same string every time, so only parse it once
+        if (!parsed || !Objects.equals(contentType, parsedFrom)) {
+            parsedCharset = getCharsetFromContentType(contentType);
+            parsedFrom = contentType;
+            parsed = true;
+        }
+        if (parsedCharset != null && !parsedCharset.trim().equals("")) {
+            return parsedCharset;
         }
         return config.getDefaultResponseEncoding();
     }
 
+    /**
+     * Look up a charset. The charset of the response is only looked up again if its name changes.
+     *
+     * @param override a charset name to use instead of the one from the response, may be null
+     * @return the Charset
+     */
+    protected Charset toCharset(String override) {
+        String name = override != null && !override.trim().isEmpty() ? override.trim() : getCharSet();
+        if (charset == null || !charset.name().equalsIgnoreCase(name) && !charset.aliases().contains(name)) {
+            charset = lookup(name);
+        }
+        return charset;
+    }
+
+    private static Charset lookup(String name) {
+        try {
+            return Charset.forName(name);
+        } catch (IllegalArgumentException e) {
+            throw new UnirestException(e);
+        }
+    }
+
     /**
      * Parse out a charset from a content type header.
      *
      * @param contentType e.g. "text/html; charset=EUC-JP"
      * @return "EUC-JP", or null if not found. Charset is trimmed and uppercased.
      */
-    private String getCharsetFromContentType(String contentType) {
+    static String getCharsetFromContentType(String contentType) {
         if (contentType == null) {
             return null;
         }
-
-        Matcher m = CHARSET_PATTERN.matcher(contentType);
-        if (m.find()) {
-            return m.group(1).trim().toUpperCase();
+        int start = contentType.indexOf(';');
+        while (start >= 0) {
+            int end = contentType.indexOf(';', start + 1);
+            String param = contentType.substring(start + 1, end < 0 ? contentType.length() : end);
+            int equals = param.indexOf('=');
+            if (equals > 0 && param.substring(0, equals).trim().equalsIgnoreCase("charset")) {
+                return unquote(param.substring(equals + 1).trim()).toUpperCase();
+            }
+            start = end;
         }
         return null;
     }
 
+    private static String unquote(String value) {
+        if (value.length() > 1 && value.charAt(0) == '"' && value.charAt(value.length() - 1) == '"') {
+            return value.substring(1, value.length() - 1).trim();
+        }
+        return value;
+    }
+
+    /**
+     * @return the size above which a buffered copy of this body is written to disk, negative for never
+     */
+    protected long getSpillThreshold() {
+        return config.getResponseSpillThreshold();
+    }
+
     @Override
     public Config getConfig() {
         return config;
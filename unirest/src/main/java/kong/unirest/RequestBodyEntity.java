@@ -25,7 +25,11 @@
 
 package kong.unirest;
 
+import java.io.File;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
 
 public interface RequestBodyEntity extends HttpRequest<RequestBodyEntity>, Body {
     RequestBodyEntity body(byte[] bodyBytes);
@@ -34,5 +38,52 @@ public interface RequestBodyEntity extends HttpRequest<RequestBodyEntity>, Body
 
     RequestBodyEntity body(JsonNode jsonBody);
 
+    /**
+     * Stream a file as the body, without reading it into memory.
+     * On the async client over plain HTTP the file is sent straight from its channel (sendfile).
+     * @param file the file
+     * @return this request builder
+     */
+    RequestBodyEntity body(File file);
+
+    /**
+     * Stream a file as the body, without reading it into memory.
+     * On the async client over plain HTTP the file is sent straight from its channel (sendfile).
+     * @param file the file
+     * @return this request builder
+     */
+    RequestBodyEntity body(Path file);
+
+    /**
+     * Stream the rest of an InputStream as the body. The length is not known, so it is sent chunked.
+     * @param stream the stream
+     * @return this request builder
+     */
+    RequestBodyEntity body(InputStream stream);
+
+    /**
+     * Send the remaining bytes of a ByteBuffer as the body, the position of the buffer is left alone.
+     * @param buffer the buffer
+     * @return this request builder
+     */
+    RequestBodyEntity body(ByteBuffer buffer);
+
     RequestBodyEntity charset(Charset charset);
+
+    /**
+     * Object bodies are serialized straight into the connection as they are sent, so their length
+     * is not known and they go chunked. Set this to serialize the object once up front just to count
+     * the bytes (without keeping them) so the request carries a Content-Length instead.
+     * Has no effect on other kinds of body.
+     * @param value true to send a Content-Length. default is false
+     * @return this request builder
+     */
+    RequestBodyEntity precomputeLength(boolean value);
+
+    /**
+     * Listen to the progress of the body as it is sent
+     * @param monitor a progress listener
+     * @return this request builder
+     */
+    RequestBodyEntity uploadMonitor(ProgressListener monitor);
 }
@@ -0,0 +1,97 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+/**
+ * How the response to a single request is read, see {@link HttpRequest#responseOptions(ResponseOptions)}.
+ * Sizes which are not set here are taken from the config.
+ */
+public class ResponseOptions {
+    private Long maxSize;
+    private Long spillThreshold;
+    private ProgressListener downloadMonitor;
+
+    /**
+     * Set the largest response body that will be read, overriding {@link Config#maxResponseSize(long)}.
+     * Going over it drops the connection and fails with a {@link ResponseTooLargeException}
+     * @param bytes the maximum size in bytes, or a negative number for no limit
+     * @return this options object
+     */
+    public ResponseOptions maxSize(long bytes) {
+        this.maxSize = bytes;
+        return this;
+    }
+
+    /**
+     * Set the size above which the raw body of a string, json or object response is written to a temp file
+     * rather than held on the heap, overriding {@link Config#responseSpillThreshold(long)}.
+     * @param bytes the threshold in bytes, or a negative number to never spill
+     * @return this options object
+     */
+    public ResponseOptions spillThreshold(long bytes) {
+        this.spillThreshold = bytes;
+        return this;
+    }
+
+    /**
+     * Listen to the progress of the response body as it is read, whichever way it is read
+     * (asBytes, asFile, a consumer...). The total is -1 when the server does not send a length.
+     * @param monitor a progress listener
+     * @return this options object
+     */
+    public ResponseOptions downloadMonitor(ProgressListener monitor) {
+        this.downloadMonitor = monitor;
+        return this;
+    }
+
+    /**
+     * @return the largest response body that will be read, negative for no limit
+     */
+    public long getMaxSize() {
+        return maxSize == null ? -1 : maxSize;
+    }
+
+    /**
+     * @return the size above which a buffered response body is spilled to disk, negative for never
+     */
+    public long getSpillThreshold() {
+        return spillThreshold == null ? -1 : spillThreshold;
+    }
+
+    /**
+     * @return the listener for the progress of the response body, or null
+     */
+    public ProgressListener getDownloadMonitor() {
+        return downloadMonitor;
+    }
+
+    ResponseOptions withDefaults(Config config) {
+        ResponseOptions options = new ResponseOptions().downloadMonitor(downloadMonitor);
+        options.maxSize = maxSize != null ? maxSize : config.getMaxResponseSize();
+        options.spillThreshold = spillThreshold != null ? spillThreshold : config.getResponseSpillThreshold();
+        return options;
+    }
+}
@@ -0,0 +1,152 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Ways of reading a response body besides the basic "as**" methods of {@link HttpRequest}:
+ * as raw bytes and buffers, or streamed as it arrives.
+ */
+public interface ResponseReaders {
+    /**
+     * Executes the request and returns the response with the body as a CharSequence which is only decoded when it is read.
+     * Latin-1 and plain ASCII bodies are read straight from the bytes without being decoded at all.
+     * @return response
+     */
+    HttpResponse<CharSequence> asCharSequence();
+
+    /**
+     * Executes the request asynchronously and returns the response with the body as a CharSequence
+     * which is only decoded when it is read.
+     * @return a CompletableFuture of a response
+     */
+    CompletableFuture<HttpResponse<CharSequence>> asCharSequenceAsync();
+
+    /**
+     * Executes the request and returns the response with the raw body as a byte array
+     * @return response
+     */
+    HttpResponse<byte[]> asBytes();
+
+    /**
+     * Executes the request asynchronously and returns the response with the raw body as a byte array
+     * @return a CompletableFuture of a response
+     */
+    CompletableFuture<HttpResponse<byte[]>> asBytesAsync();
+
+    /**
+     * Executes the request asynchronously and returns the response with the raw body as a byte array
+     * @param callback a callback handler
+     * @return a CompletableFuture of a response
+     */
+    CompletableFuture<HttpResponse<byte[]>> asBytesAsync(Callback<byte[]> callback);
+
+    /**
+     * Executes the request and returns the response with the body wrapped in a heap ByteBuffer
+     * @return response
+     */
+    HttpResponse<ByteBuffer> asByteBuffer();
+
+    /**
+     * Executes the request asynchronously and returns the response with the body wrapped in a heap ByteBuffer
+     * @return a CompletableFuture of a response
+     */
+    CompletableFuture<HttpResponse<ByteBuffer>> asByteBufferAsync();
+
+    /**
+     * Executes the request and returns the response with the body read into a pooled direct ByteBuffer.
+     * The buffer should be given back with config.getBufferPool().release(buffer) once it has been used.
+     * @return response
+     */
+    HttpResponse<ByteBuffer> asDirectByteBuffer();
+
+    /**
+     * Executes the request asynchronously and returns the response with the body read into a pooled direct ByteBuffer.
+     * The buffer should be given back with config.getBufferPool().release(buffer) once it has been used.
+     * @return a CompletableFuture of a response
+     */
+    CompletableFuture<HttpResponse<ByteBuffer>> asDirectByteBufferAsync();
+
+    /**
+     * Executes the request and returns the body as a stream of objects, mapped one at a time as the stream is consumed.
+     * The body can be a top level JSON array or newline delimited JSON, either way only one element is held in memory.
+     * The stream must be closed if it is not read to the end, so the connection is released.
+     * @param responseClass the class of each element
+     * @param <T> the type of the elements
+     * @return response
+     */
+    <T> HttpResponse<Stream<T>> asObjectStream(Class<T> responseClass);
+
+    /**
+     * Executes the request and returns the body as a stream of lines which is read from the connection as it is consumed,
+     * so it suits long or endless bodies like NDJSON change feeds.
+     * The stream must be closed if it is not read to the end, so the connection is released.
+     * @return response
+     */
+    HttpResponse<Stream<String>> asLines();
+
+    /**
+     * Subscribes to a Server-Sent Events stream and passes each event to the listener as it arrives.
+     * When the server closes the stream or the connection is lost the request is sent again
+     * (with a Last-Event-ID header if the server gave event ids) after the retry time the server asked for.
+     * Blocks until the server answers with anything but a 200 text/event-stream (a 204 being the polite way to say stop),
+     * or the listener throws, in which case the exception is rethrown here.
+     * @param listener a listener for the events
+     * @return the last response
+     */
+    HttpResponse<Empty> asEventStream(EventStreamListener listener);
+
+    /**
+     * Subscribes to a Server-Sent Events stream asynchronously. The events are read from the connection as they arrive
+     * without holding more than the current event in memory. Reconnection works the same as {@link #asEventStream(EventStreamListener)}.
+     * Cancelling the future closes the connection and stops the subscription.
+     * @param listener a listener for the events
+     * @return a CompletableFuture of the last response
+     */
+    CompletableFuture<HttpResponse<Empty>> asEventStreamAsync(EventStreamListener listener);
+
+    /**
+     * Executes the request asynchronously and completes as soon as the response head has arrived, with the body
+     * as a publisher of ByteBuffer chunks. Chunks are only read from the connection when the subscriber asks for them,
+     * so a slow subscriber holds back the server rather than filling up memory.
+     * The body must either be read to the end or the subscription cancelled, or the connection is never released.
+     * @return a CompletableFuture of a response
+     */
+    CompletableFuture<HttpResponse<ByteBufferPublisher>> asPublisherAsync();
+
+    /**
+     * Execute the request asynchronously and pass the raw body to a consumer chunk by chunk as it arrives.
+     * Only a small buffer is held in memory, reading from the connection pauses while the consumer catches up.
+     * The ByteBuffer passed to the consumer is reused and only valid for the duration of the call.
+     * @param consumer a consumer of each chunk of the body
+     * @return a CompletableFuture of a HttpResponse which completes once the whole body has been consumed
+     */
+    CompletableFuture<HttpResponse<Empty>> thenConsumeChunksAsync(Consumer<ByteBuffer> consumer);
+}
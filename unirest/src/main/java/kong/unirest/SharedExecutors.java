@@ -0,0 +1,74 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The threads shared by every client and request of the library. All of them are daemons.
+ */
+public final class SharedExecutors {
+    // at most this many published bodies are read at once, the rest wait their turn
+    static final int MAX_READERS = Math.max(16, Runtime.getRuntime().availableProcessors() * 4);
+
+    /**
+     * A single thread for the periodic chores of every client, and any other delayed work of the library
+     */
+    public static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(named("unirest-scheduler"));
+
+    // threads for reading bodies handed to the caller, kept apart from the client's own so a slow reader never holds up a request
+    static final ExecutorService READERS = readers();
+
+    // a thread for each open event stream, which reads for as long as the connection lasts.
+    // They are not bounded here, the connection limits of the client already bound them
+    static final ExecutorService EVENT_STREAMS = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS,
+            new SynchronousQueue<>(), named("unirest-event-stream"));
+
+    private SharedExecutors() {
+    }
+
+    private static ExecutorService readers() {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(MAX_READERS, MAX_READERS, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), named("unirest-body-reader"));
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private static ThreadFactory named(String name) {
+        return r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
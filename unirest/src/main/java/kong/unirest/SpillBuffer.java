@@ -0,0 +1,101 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a body into memory until it passes a threshold, after which it is written to a temp file instead.
+ * The file is memory mapped for reading and deleted straight away, the mapping keeps the data
+ * around until the buffer is garbage collected without holding it on the heap.
+ */
+final class SpillBuffer {
+    private static final int MAX_MAPPED = Integer.MAX_VALUE;
+
+    private SpillBuffer() {
+    }
+
+    /**
+     * @param input the body
+     * @param threshold the most bytes kept in memory
+     * @param pool buffers to read with
+     * @return the body, on the heap or mapped read only from disk
+     * @throws IOException if the body cannot be read or the file cannot be written
+     */
+    static ByteBuffer read(InputStream input, long threshold, BufferPool pool) throws IOException {
+        ByteArrayOutputStream memory = new ByteArrayOutputStream();
+        byte[] chunk = pool.acquire();
+        try {
+            int read;
+            while ((read = input.read(chunk)) != -1) {
+                if (memory.size() + read > threshold) {
+                    return spill(memory, chunk, read, input);
+                }
+                memory.write(chunk, 0, read);
+            }
+            return ByteBuffer.wrap(memory.toByteArray());
+        } finally {
+            pool.release(chunk);
+        }
+    }
+
+    private static ByteBuffer spill(ByteArrayOutputStream memory, byte[] chunk, int first, InputStream input) throws IOException {
+        Path file = Files.createTempFile("unirest-", ".body");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            OutputStream out = Channels.newOutputStream(channel);
+            memory.writeTo(out);
+            out.write(chunk, 0, first);
+            int read;
+            while ((read = input.read(chunk)) != -1) {
+                out.write(chunk, 0, read);
+            }
+            if (channel.size() > MAX_MAPPED) {
+                throw new UnirestException("Body is too large to map into memory: " + channel.size());
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } finally {
+            delete(file);
+        }
+    }
+
+    // some platforms will not delete a mapped file, leave those for the exit
+    private static void delete(Path file) {
+        try {
+            Files.delete(file);
+        } catch (IOException e) {
+            file.toFile().deleteOnExit();
+        }
+    }
+}
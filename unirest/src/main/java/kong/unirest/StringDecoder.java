@@ -0,0 +1,144 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Decodes a stream straight into a String through a pooled read buffer and a per thread CharsetDecoder,
+ * without first collecting the body into a byte array.
+ * Latin-1 text, and runs of ASCII in ASCII compatible charsets, are widened into chars directly.
+ */
+public final class StringDecoder {
+    private static final ThreadLocal<Map<Charset, CharsetDecoder>> DECODERS = ThreadLocal.withInitial(HashMap::new);
+
+    private StringDecoder() {}
+
+    /**
+     * Read a stream to the end as text.
+     * @param input the stream
+     * @param charset the charset of the text
+     * @param expectedLength the length of the stream in bytes if known, otherwise -1
+     * @param pool the pool to borrow a read buffer from
+     * @return the text
+     * @throws IOException if the stream cannot be read
+     */
+    public static String decode(InputStream input, Charset charset, long expectedLength, BufferPool pool) throws IOException {
+        byte[] chunk = pool.acquire();
+        try {
+            return decode(input, charset, chunk, initialCapacity(expectedLength, chunk.length));
+        } finally {
+            pool.release(chunk);
+        }
+    }
+
+    private static String decode(InputStream input, Charset charset, byte[] chunk, int capacity) throws IOException {
+        boolean latin1 = StandardCharsets.ISO_8859_1.equals(charset);
+        boolean ascii = latin1 || StandardCharsets.UTF_8.equals(charset) || StandardCharsets.US_ASCII.equals(charset);
+        CharsetDecoder decoder = decoderFor(charset);
+        CharBuffer out = CharBuffer.allocate(capacity);
+        ByteBuffer in = ByteBuffer.wrap(chunk, 0, 0);
+        while (true) {
+            in.compact();
+            int read = input.read(chunk, in.position(), in.remaining());
+            in.flip();
+            if (read == -1) {
+                break;
+            }
+            in.limit(in.limit() + read);
+            if (ascii && (latin1 || isAscii(in))) {
+                out = widen(in, out);
+            } else {
+                out = decode(decoder, in, out, false);
+            }
+        }
+        out = decode(decoder, in, out, true);
+        while (decoder.flush(out).isOverflow()) {
+            out = grow(out, 1);
+        }
+        out.flip();
+        return out.toString();
+    }
+
+    private static CharsetDecoder decoderFor(Charset charset) {
+        return DECODERS.get()
+                .computeIfAbsent(charset, c -> c.newDecoder()
+                        .onMalformedInput(CodingErrorAction.REPLACE)
+                        .onUnmappableCharacter(CodingErrorAction.REPLACE))
+                .reset();
+    }
+
+    private static CharBuffer decode(CharsetDecoder decoder, ByteBuffer in, CharBuffer out, boolean endOfInput) {
+        CharBuffer target = out;
+        while (decoder.decode(in, target, endOfInput).isOverflow()) {
+            target = grow(target, in.remaining());
+        }
+        return target;
+    }
+
+    private static boolean isAscii(ByteBuffer in) {
+        byte[] bytes = in.array();
+        for (int i = in.position(); i < in.limit(); i++) {
+            if (bytes[i] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static CharBuffer widen(ByteBuffer in, CharBuffer out) {
+        CharBuffer target = out.remaining() < in.remaining() ? grow(out, in.remaining()) : out;
+        byte[] bytes = in.array();
+        for (int i = in.position(); i < in.limit(); i++) {
+            target.put((char) (bytes[i] & 0xFF));
+        }
+        in.position(in.limit());
+        return target;
+    }
+
+    private static CharBuffer grow(CharBuffer out, int needed) {
+        int capacity = Math.max(out.capacity() * 2, out.position() + needed);
+        CharBuffer bigger = CharBuffer.allocate(capacity);
+        out.flip();
+        return bigger.put(out);
+    }
+
+    private static int initialCapacity(long expectedLength, int chunkSize) {
+        if (expectedLength < 0 || expectedLength > Integer.MAX_VALUE - 8) {
+            return chunkSize;
+        }
+        return Math.max(1, (int) expectedLength);
+    }
+}
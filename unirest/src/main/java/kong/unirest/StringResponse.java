@@ -26,15 +26,13 @@
 package kong.unirest;
 
 public class StringResponse extends BaseResponse<String> {
-    private String body;
-
     public StringResponse(RawResponse response, String encoding) {
         super(response);
-        body = response.getContentAsString(encoding);
+        parseBody(response, r -> r.getContentAsString(encoding));
     }
 
     @Override
     public String getBody() {
-        return body;
+        return getParsedBody();
     }
 }
@@ -34,4 +34,9 @@ class UniByteArrayBody extends BodyPart {
     public boolean isFile() {
         return false;
     }
+
+    @Override
+    public String getContentType() {
+        return null;
+    }
 }
@@ -36,4 +36,22 @@ public interface UniMetric {
      * @return a MetricContext for this request
      */
     MetricContext begin(HttpRequestSummary request);
+
+    /**
+     * Called whenever the bytes reserved from the body memory budget go up or down.
+     * See {@link Config#bodyMemoryBudget(long, long)}
+     * @param usedBytes the bytes now in use
+     * @param maxBytes the size of the budget
+     */
+    default void bodyMemoryInUse(long usedBytes, long maxBytes) {
+    }
+
+    /**
+     * Called every so often with the state of a client's connection pool.
+     * See {@link ConnectionOptions#statsInterval(long)}
+     * @param stats the pool stats
+     * @param async true for the async client, false for the blocking one
+     */
+    default void poolStats(PoolStats stats, boolean async) {
+    }
 }
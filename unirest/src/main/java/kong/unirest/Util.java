@@ -25,12 +25,18 @@
 
 package kong.unirest;
 
+import java.io.ByteArrayOutputStream;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.nio.ByteBuffer;
 import java.util.Base64;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 class Util {
@@ -70,4 +76,52 @@ class Util {
             throw new UnirestConfigException(e);
         }
     }
+
+    static byte[] readBytes(InputStream input) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buf = new byte[8192];
+            int len;
+            while ((len = input.read(buf)) != -1) {
+                out.write(buf, 0, len);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UnirestException(e);
+        }
+    }
+
+    static long contentLength(RawResponse response) {
+        try {
+            return Long.parseLong(response.getHeaders().getFirst(HeaderNames.CONTENT_LENGTH).trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    static void readChunks(InputStream input, Consumer<ByteBuffer> consumer) {
+        try {
+            byte[] buf = new byte[8192];
+            int len;
+            while ((len = input.read(buf)) != -1) {
+                consumer.accept(ByteBuffer.wrap(buf, 0, len));
+            }
+        } catch (IOException e) {
+            throw new UnirestException(e);
+        }
+    }
+
+    static String readString(Reader input) {
+        try {
+            StringBuilder sb = new StringBuilder();
+            char[] buf = new char[8192];
+            int len;
+            while ((len = input.read(buf)) != -1) {
+                sb.append(buf, 0, len);
+            }
+            return sb.toString();
+        } catch (IOException e) {
+            throw new UnirestException(e);
+        }
+    }
 }
@@ -28,31 +28,35 @@ package kong.unirest.apache;
 import kong.unirest.*;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.concurrent.FutureCallback;
-import org.apache.http.config.Registry;
-import org.apache.http.config.RegistryBuilder;
-import org.apache.http.conn.ssl.NoopHostnameVerifier;
-import org.apache.http.conn.ssl.TrustStrategy;
 import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
 import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
 import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
 import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
 import org.apache.http.nio.client.HttpAsyncClient;
-import org.apache.http.nio.conn.NoopIOSessionStrategy;
-import org.apache.http.nio.conn.SchemeIOSessionStrategy;
-import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
-import org.apache.http.ssl.SSLContextBuilder;
+import org.apache.http.nio.client.methods.HttpAsyncMethods;
+import org.apache.http.util.EntityUtils;
 
+import java.io.IOException;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 
 public class ApacheAsyncClient extends BaseApacheClient implements AsyncClient {
 
     private final HttpAsyncClient client;
-    private final AsyncIdleConnectionMonitorThread syncMonitor;
+    private final IdleConnectionReaper reaper;
+    private AsyncIdleConnectionMonitorThread syncMonitor;
     private final PoolingNHttpClientConnectionManager manager;
+    private final ScheduledFuture<?> statsReporter;
     private Config config;
     private boolean hookset;
 
@@ -60,8 +64,7 @@ public class ApacheAsyncClient extends BaseApacheClient implements AsyncClient {
         this.config = config;
         try {
             manager = createConnectionManager();
-            manager.setMaxTotal(config.getMaxConnections());
-            manager.setDefaultMaxPerRoute(config.getMaxPerRoutes());
+            applyConnectionLimits(config, manager);
 
             HttpAsyncClientBuilder ab = HttpAsyncClientBuilder.create()
                     .setDefaultRequestConfig(RequestOptions.toRequestConfig(config))
@@ -73,8 +76,9 @@ public class ApacheAsyncClient extends BaseApacheClient implements AsyncClient {
 
             CloseableHttpAsyncClient build = ab.build();
             build.start();
-            syncMonitor = new AsyncIdleConnectionMonitorThread(manager);
-            syncMonitor.tryStart();
+            reaper = IdleConnectionReaper.start(config, manager::closeExpiredConnections,
+                    idle -> manager.closeIdleConnections(idle, TimeUnit.MILLISECONDS));
+            statsReporter = reportPoolStats(config, () -> toPoolStats(manager, manager.getRoutes()), true);
             client = build;
             if(config.shouldAddShutdownHook()){
                 registerShutdownHook();
@@ -93,9 +97,6 @@ public class ApacheAsyncClient extends BaseApacheClient implements AsyncClient {
     }
 
     private void setOptions(HttpAsyncClientBuilder ab) {
-        if(!config.isVerifySsl()){
-            disableSsl(ab);
-        }
         if(config.useSystemProperties()){
             ab.useSystemProperties();
         }
@@ -109,37 +110,34 @@ public class ApacheAsyncClient extends BaseApacheClient implements AsyncClient {
     }
 
     private PoolingNHttpClientConnectionManager createConnectionManager() throws Exception {
-        if(config.isVerifySsl()) {
-            return new PoolingNHttpClientConnectionManager(new DefaultConnectingIOReactor());
-        }
-        Registry<SchemeIOSessionStrategy> registry = RegistryBuilder.<SchemeIOSessionStrategy>create()
-                .register("http", NoopIOSessionStrategy.INSTANCE)
-                .register("https", new SSLIOSessionStrategy(new SSLContextBuilder()
-                        .loadTrustMaterial(null, (x509Certificates, s) -> true)
-                        .build(), NoopHostnameVerifier.INSTANCE))
-                .build();
-
-        return new PoolingNHttpClientConnectionManager(new DefaultConnectingIOReactor(), registry);
-    }
-
-    private void disableSsl(HttpAsyncClientBuilder ab) {
-        try {
-            ab.setSSLHostnameVerifier(NoopHostnameVerifier.INSTANCE);
-            ab.setSSLContext(new SSLContextBuilder().loadTrustMaterial(null, (TrustStrategy) (arg0, arg1) -> true).build());
-        }catch (Exception e){
-            throw new UnirestConfigException(e);
-        }
+        return new PoolingNHttpClientConnectionManager(new DefaultConnectingIOReactor(), null,
+                new SecurityConfig(config).createAsyncRegistry(),
+                null, null, config.getConnectionOptions().getTimeToLive(), TimeUnit.MILLISECONDS);
     }
 
     public ApacheAsyncClient(HttpAsyncClient client,
                       Config config,
                       PoolingNHttpClientConnectionManager manager,
-                      AsyncIdleConnectionMonitorThread monitor) {
+                      IdleConnectionReaper connReaper) {
         Objects.requireNonNull(client, "Client may not be null");
         this.config = config;
         this.client = client;
-        this.syncMonitor = monitor;
+        this.reaper = connReaper;
         this.manager = manager;
+        this.statsReporter = null;
+    }
+
+    /**
+     * @deprecated idle connections are swept by an {@link IdleConnectionReaper}, see {@link IdleConnectionReaper#start}.
+     * The monitor is not started, it is only interrupted when the client is closed.
+     */
+    @Deprecated
+    public ApacheAsyncClient(HttpAsyncClient client,
+                      Config config,
+                      PoolingNHttpClientConnectionManager manager,
+                      AsyncIdleConnectionMonitorThread monitor) {
+        this(client, config, manager, (IdleConnectionReaper) null);
+        this.syncMonitor = monitor;
     }
 
     @Override
@@ -147,35 +145,264 @@ public class ApacheAsyncClient extends BaseApacheClient implements AsyncClient {
             HttpRequest request,
             Function<RawResponse, HttpResponse<T>> transformer,
             CompletableFuture<HttpResponse<T>> callback) {
-
         Objects.requireNonNull(callback);
 
-        HttpUriRequest requestObj = new RequestPrep(request, config, true).prepare();
-        MetricContext metric = config.getMetric().begin(request.toSummary());
-        client.execute(requestObj, new FutureCallback<org.apache.http.HttpResponse>() {
-                    @Override
-                    public void completed(org.apache.http.HttpResponse httpResponse) {
-                        ApacheResponse t = new ApacheResponse(httpResponse, config);
-                        metric.complete(t.toSummary(), null);
-                        callback.complete(transformBody(transformer, t));
-                    }
-
-                    @Override
-                    public void failed(Exception e) {
-                        metric.complete(null, e);
-                        callback.completeExceptionally(e);
-                    }
-
-                    @Override
-                    public void cancelled() {
-                        UnirestException canceled = new UnirestException("canceled");
-                        metric.complete(null, canceled);
-                        callback.completeExceptionally(canceled);
-                    }
-                });
+        RequestPrep prep = new RequestPrep(request, config, true);
+        HttpUriRequest requestObj = prep.prepare();
+        BufferingResponseConsumer consumer = new BufferingResponseConsumer(
+                request.getResponseOptions().getMaxSize(), config.getBodyMemoryBudget());
+        return execute(prep, callback, () -> {
+            MetricContext metric = config.getMetric().begin(request.toSummary());
+            Runnable release = () -> {
+                consumer.release();
+                prep.release();
+            };
+            return client.execute(HttpAsyncMethods.create(requestObj), consumer,
+                    new BufferedHandler<>(request, transformer, metric, callback, release));
+        });
+    }
+
+    /**
+     * Maps a response which is all in memory by now, so there is nothing to drop and the transformer can run on the reactor.
+     * The memory budget of both bodies is handed back before the callback completes, so that it is free
+     * by the time anyone waiting on the callback looks at it.
+     */
+    private class BufferedHandler<T> implements FutureCallback<org.apache.http.HttpResponse> {
+        private final HttpRequest request;
+        private final Function<RawResponse, HttpResponse<T>> transformer;
+        private final MetricContext metric;
+        private final CompletableFuture<HttpResponse<T>> callback;
+        private final Runnable release;
+
+        BufferedHandler(HttpRequest request,
+                        Function<RawResponse, HttpResponse<T>> transformer,
+                        MetricContext metric,
+                        CompletableFuture<HttpResponse<T>> callback,
+                        Runnable release) {
+            this.request = request;
+            this.transformer = transformer;
+            this.metric = metric;
+            this.callback = callback;
+            this.release = release;
+        }
+
+        @Override
+        public void completed(org.apache.http.HttpResponse httpResponse) {
+            HttpResponse<T> result;
+            try {
+                result = transform(httpResponse);
+            } catch (RuntimeException | Error e) {
+                release.run();
+                callback.completeExceptionally(e);
+                return;
+            }
+            release.run();
+            callback.complete(result);
+        }
+
+        private HttpResponse<T> transform(org.apache.http.HttpResponse httpResponse) {
+            ApacheResponse t = new ApacheResponse(httpResponse, config, metric, request, () -> { }).counted();
+            metric.complete(t.toSummary(), null);
+            try {
+                return transformBody(transformer, t);
+            } finally {
+                t.release();
+            }
+        }
+
+        @Override
+        public void failed(Exception e) {
+            release.run();
+            metric.complete(null, e);
+            callback.completeExceptionally(e);
+        }
+
+        @Override
+        public void cancelled() {
+            release.run();
+            UnirestException canceled = new UnirestException("canceled");
+            metric.complete(null, canceled);
+            callback.completeExceptionally(canceled);
+        }
+    }
+
+    // the body's memory budget is handed back however the future completes, even if the exchange never starts,
+    // and anything going wrong on the way fails the future rather than the caller.
+    // Cancelling the future drops the connection, even if the body is still being read
+    private <T> CompletableFuture<T> execute(RequestPrep prep, CompletableFuture<T> callback, Supplier<Future<?>> exchange) {
+        callback.whenComplete((r, e) -> prep.release());
+        try {
+            prep.reserve();
+            Future<?> started = exchange.get();
+            callback.whenComplete((r, e) -> {
+                if (callback.isCancelled()) {
+                    started.cancel(true);
+                }
+            });
+        } catch (RuntimeException e) {
+            callback.completeExceptionally(e);
+        }
         return callback;
     }
 
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> stream(
+            HttpRequest request,
+            Function<RawResponse, HttpResponse<T>> transformer,
+            CompletableFuture<HttpResponse<T>> callback) {
+        return stream(request, transformer, callback, Util.WORKERS);
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> stream(
+            HttpRequest request,
+            Function<RawResponse, HttpResponse<T>> transformer,
+            CompletableFuture<HttpResponse<T>> callback,
+            Executor executor) {
+        Objects.requireNonNull(callback);
+
+        RequestPrep prep = new RequestPrep(request, config, true);
+        HttpUriRequest requestObj = prep.prepare();
+        return execute(prep, callback, () -> {
+            MetricContext metric = config.getMetric().begin(request.toSummary());
+            ResponseHandler<T> handler = new ResponseHandler<>(transformer, metric, callback, request, executor);
+            Future<org.apache.http.HttpResponse> exchange = client.execute(HttpAsyncMethods.create(requestObj),
+                    new StreamingResponseConsumer(handler, handler::abort),
+                    handler);
+            handler.setExchange(exchange);
+            return exchange;
+        });
+    }
+
+    /**
+     * Runs the transformer on the executor as soon as the response head arrives, while the
+     * body is still streaming in. The callback completes as soon as the transformer returns, the rest of the
+     * body is read (or aborted) by whoever holds it. The metric completes once the whole body has arrived.
+     */
+    private class ResponseHandler<T> implements Consumer<org.apache.http.HttpResponse>,
+            FutureCallback<org.apache.http.HttpResponse> {
+        private final Function<RawResponse, HttpResponse<T>> transformer;
+        private final MetricContext metric;
+        private final CompletableFuture<HttpResponse<T>> callback;
+        private final HttpRequest request;
+        private final Executor executor;
+        private volatile boolean aborted;
+        private volatile Future<?> exchange;
+        private ApacheResponse response;
+        private boolean finished;
+        private boolean measured;
+
+        ResponseHandler(Function<RawResponse, HttpResponse<T>> transformer,
+                        MetricContext metric,
+                        CompletableFuture<HttpResponse<T>> callback,
+                        HttpRequest request,
+                        Executor executor) {
+            this.transformer = transformer;
+            this.metric = metric;
+            this.callback = callback;
+            this.request = request;
+            this.executor = executor;
+        }
+
+        void setExchange(Future<?> exchange) {
+            this.exchange = exchange;
+            if (aborted) {
+                exchange.cancel(true);
+            }
+        }
+
+        void abort() {
+            aborted = true;
+            Future<?> current = exchange;
+            if (current != null) {
+                current.cancel(true);
+            }
+        }
+
+        @Override
+        public void accept(org.apache.http.HttpResponse httpResponse) {
+            executor.execute(() -> {
+                try {
+                    transform(httpResponse);
+                } catch (RuntimeException e) {
+                    fail(e);
+                    abort();
+                } catch (Error e) {
+                    // the callback must complete whatever goes wrong, or the caller waits forever
+                    fail(new UnirestException(e));
+                    abort();
+                    throw e;
+                }
+            });
+        }
+
+        private void transform(org.apache.http.HttpResponse httpResponse) {
+            ApacheResponse t = new ApacheResponse(httpResponse, config, metric, request, this::abort);
+            measure(t, false);
+            HttpResponse<T> result;
+            try {
+                result = transformBody(transformer, t);
+            } finally {
+                t.release();
+            }
+            if (result.getBody() == null) {
+                try {
+                    EntityUtils.consume(httpResponse.getEntity());
+                } catch (IOException e) {
+                    throw new UnirestException(e);
+                }
+            }
+            callback.complete(result);
+        }
+
+        // once there is a response to report on and the body has arrived, whichever comes last
+        private void measure(ApacheResponse t, boolean done) {
+            synchronized (this) {
+                response = t != null ? t : response;
+                finished |= done;
+                if (measured || response == null || !finished) {
+                    return;
+                }
+                measured = true;
+            }
+            try {
+                metric.complete(response.toSummary(), null);
+            } catch (RuntimeException e) {
+                // the body may have been handed over long ago, there is nobody left to tell
+            }
+        }
+
+        @Override
+        public void completed(org.apache.http.HttpResponse httpResponse) {
+            measure(null, true);
+        }
+
+        @Override
+        public void failed(Exception e) {
+            fail(e);
+        }
+
+        @Override
+        public void cancelled() {
+            // an abort is ours, whoever asked for it completes the callback
+            fail(new UnirestException("canceled"));
+        }
+
+        private void fail(Exception e) {
+            boolean report;
+            synchronized (this) {
+                report = !measured;
+                measured = true;
+            }
+            if (report) {
+                metric.complete(null, e);
+            }
+            if (!aborted) {
+                callback.completeExceptionally(e);
+            }
+        }
+    }
+
     @Override
     public boolean isRunning() {
         return Util.tryCast(client, CloseableHttpAsyncClient.class)
@@ -188,6 +415,30 @@ public class ApacheAsyncClient extends BaseApacheClient implements AsyncClient {
         return client;
     }
 
+    public PoolingNHttpClientConnectionManager getManager() {
+        return manager;
+    }
+
+    @Override
+    public Optional<PoolStats> getPoolStats() {
+        return Optional.ofNullable(manager).map(m -> toPoolStats(m, m.getRoutes()));
+    }
+
+    @Override
+    public void applyConnectionLimits() {
+        if (manager != null && config != null) {
+            applyConnectionLimits(config, manager);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> prewarm(String route, int connections) {
+        if (manager == null || config == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return PoolWarmer.warm(manager, toRoute(route, config), connections, config);
+    }
+
     @Override
     public Stream<Exception> close() {
         return Util.collectExceptions(Util.tryCast(client, CloseableHttpAsyncClient.class)
@@ -196,7 +447,9 @@ public class ApacheAsyncClient extends BaseApacheClient implements AsyncClient {
                         .filter(c -> c.isPresent())
                         .map(c -> c.get()),
                 Util.tryDo(manager, m -> m.shutdown()),
-                Util.tryDo(syncMonitor, m -> m.interrupt()));
+                Util.tryDo(reaper, r -> r.stop()),
+                Util.tryDo(syncMonitor, m -> m.interrupt()),
+                Util.tryDo(statsReporter, r -> r.cancel(false)));
     }
 
 
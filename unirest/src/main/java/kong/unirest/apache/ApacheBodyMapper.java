@@ -31,15 +31,14 @@ import org.apache.http.NameValuePair;
 import org.apache.http.client.entity.UrlEncodedFormEntity;
 import org.apache.http.entity.BasicHttpEntity;
 import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.InputStreamEntity;
 import org.apache.http.entity.StringEntity;
-import org.apache.http.entity.mime.HttpMultipartMode;
-import org.apache.http.entity.mime.MultipartEntityBuilder;
-import org.apache.http.entity.mime.content.*;
 import org.apache.http.message.BasicNameValuePair;
 
-import java.io.File;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -48,9 +47,11 @@ import java.util.Optional;
 class ApacheBodyMapper {
 
     private final HttpRequest request;
+    private final Config config;
 
-    ApacheBodyMapper(HttpRequest request){
+    ApacheBodyMapper(HttpRequest request, Config config){
         this.request = request;
+        this.config = config;
     }
 
     HttpEntity apply() {
@@ -61,7 +62,7 @@ class ApacheBodyMapper {
 
     private HttpEntity applyBody(Body o) {
         if(o.isEntityBody()){
-            return mapToUniBody(o);
+            return monitor(mapToUniBody(o), o);
         }else {
             return mapToMultipart(o);
         }
@@ -71,66 +72,40 @@ class ApacheBodyMapper {
         BodyPart bodyPart = b.uniPart();
         if(bodyPart == null){
             return new StringEntity("", StandardCharsets.UTF_8);
+        } else if(is(bodyPart, Path.class)){
+            return new FileChannelEntity((Path) bodyPart.getValue());
+        } else if(is(bodyPart, InputStream.class)){
+            return new InputStreamEntity((InputStream) bodyPart.getValue());
+        } else if(is(bodyPart, ByteBuffer.class)){
+            return new ByteBufferEntity((ByteBuffer) bodyPart.getValue());
+        } else if(bodyPart instanceof ObjectPart){
+            return new ObjectEntity(((ObjectPart) bodyPart).withCharset(b.getCharset()));
         } else if(String.class.isAssignableFrom(bodyPart.getPartType())){
             return new StringEntity((String) bodyPart.getValue(), b.getCharset());
+        } else if(bodyPart.getContentType() != null){
+            return new ByteArrayEntity((byte[])bodyPart.getValue(), toApacheType(bodyPart.getContentType()));
         } else {
             return new ByteArrayEntity((byte[])bodyPart.getValue());
         }
     }
 
-    private HttpEntity mapToMultipart(Body body) {
-        if (body.isMultiPart()) {
-            MultipartEntityBuilder builder = MultipartEntityBuilder.create();
-            builder.setCharset(body.getCharset());
-            builder.setMode(HttpMultipartMode.valueOf(body.getMode().name()));
-            for (BodyPart key : body.multiParts()) {
-                builder.addPart(key.getName(), apply(key, body));
-            }
-            return builder.build();
-        } else {
-            return new UrlEncodedFormEntity(getList(body.multiParts()), body.getCharset());
+    private HttpEntity monitor(HttpEntity entity, Body body) {
+        if (body.getProgressListener() == null) {
+            return entity;
         }
+        BodyPart part = body.uniPart();
+        String fileName = part != null && is(part, Path.class) ? String.valueOf(((Path) part.getValue()).getFileName()) : null;
+        return new MonitoringEntity(entity, body.getProgressListener(), fileName, config);
     }
 
-    private ContentBody apply(BodyPart value, Body body) {
-        if (is(value, File.class)) {
-            return toFileBody(value, body);
-        } else if (is(value, InputStream.class)) {
-            return toInputStreamBody(value, body);
-        } else if (is(value, byte[].class)) {
-            return toByteArrayBody(value);
+    private HttpEntity mapToMultipart(Body body) {
+        if (body.isMultiPart()) {
+            return new MultipartEntity(body, config);
         } else {
-            return toStringBody(value);
+            return new UrlEncodedFormEntity(getList(body.multiParts()), body.getCharset());
         }
     }
 
-    private ContentBody toFileBody(BodyPart value, Body body) {
-        File file = (File)value.getValue();
-        return new MonitoringFileBody(value.getName(), file, toApacheType(value.getContentType()), body.getMonitor());
-    }
-
-    private ContentBody toInputStreamBody(BodyPart value, Body body) {
-        InputStream part = (InputStream)value.getValue();
-        return new MonitoringStreamBody(part,
-                toApacheType(value.getContentType()),
-                value.getFileName(),
-                value.getName(),
-                body.getMonitor());
-    }
-
-
-
-    private ContentBody toByteArrayBody(BodyPart value) {
-        byte[] part = (byte[])value.getValue();
-        return new ByteArrayBody(part,
-                toApacheType(value.getContentType()),
-                value.getFileName());
-    }
-
-    private ContentBody toStringBody(BodyPart value) {
-        return new StringBody(String.valueOf(value.getValue()), toApacheType(value.getContentType()));
-    }
-
     private boolean is(BodyPart value, Class<?> cls) {
         return cls.isAssignableFrom(value.getPartType());
     }
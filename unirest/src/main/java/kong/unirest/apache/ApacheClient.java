@@ -35,23 +35,31 @@ import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 
 import java.io.Closeable;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.stream.BaseStream;
 import java.util.stream.Stream;
 
 public class ApacheClient extends BaseApacheClient implements Client {
     private final HttpClient client;
     private final Config config;
     private final PoolingHttpClientConnectionManager manager;
-    private final SyncIdleConnectionMonitorThread syncMonitor;
+    private final IdleConnectionReaper reaper;
+    private SyncIdleConnectionMonitorThread syncMonitor;
     private final SecurityConfig security;
+    private final ScheduledFuture<?> statsReporter;
     private boolean hookset;
 
     public ApacheClient(Config config) {
         this.config = config;
         security = new SecurityConfig(config);
         manager = security.createManager();
-        syncMonitor = new SyncIdleConnectionMonitorThread(manager);
-        syncMonitor.start();
+        applyConnectionLimits(config, manager);
+        reaper = IdleConnectionReaper.start(config, manager::closeExpiredConnections,
+                idle -> manager.closeIdleConnections(idle, TimeUnit.MILLISECONDS));
+        statsReporter = reportPoolStats(config, () -> toPoolStats(manager, manager.getRoutes()), false);
 
         HttpClientBuilder cb = HttpClients.custom()
                 .setDefaultRequestConfig(RequestOptions.toRequestConfig(config))
@@ -69,9 +77,8 @@ public class ApacheClient extends BaseApacheClient implements Client {
         if (!config.isAutomaticRetries()) {
             cb.disableAutomaticRetries();
         }
-        if (!config.isRequestCompressionOn()) {
-            cb.disableContentCompression();
-        }
+        // responses are decoded by ApacheResponse, the same as for the async client
+        cb.disableContentCompression();
         if (config.useSystemProperties()) {
             cb.useSystemProperties();
         }
@@ -95,35 +102,95 @@ public class ApacheClient extends BaseApacheClient implements Client {
         }
     }
 
-    public ApacheClient(HttpClient httpClient, Config config, PoolingHttpClientConnectionManager clientManager, SyncIdleConnectionMonitorThread connMonitor) {
+    public ApacheClient(HttpClient httpClient, Config config, PoolingHttpClientConnectionManager clientManager, IdleConnectionReaper connReaper) {
         this.client = httpClient;
         this.security = new SecurityConfig(config);
         this.config = config;
         this.manager = clientManager;
+        this.reaper = connReaper;
+        this.statsReporter = null;
+    }
+
+    /**
+     * @deprecated idle connections are swept by an {@link IdleConnectionReaper}, see {@link IdleConnectionReaper#start}.
+     * The monitor is not started, it is only interrupted when the client is closed.
+     */
+    @Deprecated
+    public ApacheClient(HttpClient httpClient, Config config, PoolingHttpClientConnectionManager clientManager, SyncIdleConnectionMonitorThread connMonitor) {
+        this(httpClient, config, clientManager, (IdleConnectionReaper) null);
         this.syncMonitor = connMonitor;
     }
 
 
     @Override
     public <T> HttpResponse<T> request(HttpRequest request, Function<RawResponse, HttpResponse<T>> transformer) {
+        HttpRequestBase requestObj = new RequestPrep(request, config, false).prepare();
+        try {
+            return execute(request, requestObj, transformer);
+        } finally {
+            requestObj.releaseConnection();
+        }
+    }
 
+    @Override
+    public <T extends BaseStream<?, T>> HttpResponse<T> stream(HttpRequest request, Function<RawResponse, HttpResponse<T>> transformer) {
         HttpRequestBase requestObj = new RequestPrep(request, config, false).prepare();
+        HttpResponse<T> response;
+        try {
+            response = execute(request, requestObj, transformer);
+        } catch (RuntimeException e) {
+            requestObj.releaseConnection();
+            throw e;
+        }
+        if (response.getBody() == null) {
+            requestObj.releaseConnection();
+            return response;
+        }
+        // reading to the end hands the connection back, closing early drops it rather than draining what is left
+        return response.map(body -> body.onClose(requestObj::releaseConnection));
+    }
+
+    private <T> HttpResponse<T> execute(HttpRequest request, HttpRequestBase requestObj, Function<RawResponse, HttpResponse<T>> transformer) {
         MetricContext metric = config.getMetric().begin(request.toSummary());
+        ApacheResponse t;
         try {
             org.apache.http.HttpResponse execute = client.execute(requestObj);
-            ApacheResponse t = new ApacheResponse(execute, config);
-            metric.complete(t.toSummary(), null);
-            HttpResponse<T> httpResponse = transformBody(transformer, t);
-            requestObj.releaseConnection();
-            return httpResponse;
+            t = new ApacheResponse(execute, config, metric, request, requestObj::abort);
+        } catch (ResponseTooLargeException e) {
+            metric.complete(null, e);
+            throw e;
         } catch (Exception e) {
             metric.complete(null, e);
             throw new UnirestException(e);
+        }
+        metric.complete(t.toSummary(), null);
+        try {
+            return transformBody(transformer, t);
         } finally {
-            requestObj.releaseConnection();
+            t.release();
+        }
+    }
+
+    @Override
+    public Optional<PoolStats> getPoolStats() {
+        return Optional.ofNullable(manager).map(m -> toPoolStats(m, m.getRoutes()));
+    }
+
+    @Override
+    public void applyConnectionLimits() {
+        if (manager != null && config != null) {
+            applyConnectionLimits(config, manager);
         }
     }
 
+    @Override
+    public CompletableFuture<Void> prewarm(String route, int connections) {
+        if (manager == null || config == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return PoolWarmer.warm(manager, toRoute(route, config), connections, config);
+    }
+
     @Override
     public HttpClient getClient() {
         return client;
@@ -133,10 +200,19 @@ public class ApacheClient extends BaseApacheClient implements Client {
         return manager;
     }
 
+    /**
+     * @deprecated see {@link #getReaper()}
+     * @return the monitor given to the deprecated constructor, if any
+     */
+    @Deprecated
     public SyncIdleConnectionMonitorThread getSyncMonitor() {
         return syncMonitor;
     }
 
+    public IdleConnectionReaper getReaper() {
+        return reaper;
+    }
+
     @Override
     public Stream<Exception> close() {
         return Util.collectExceptions(Util.tryCast(client, CloseableHttpClient.class)
@@ -144,7 +220,9 @@ public class ApacheClient extends BaseApacheClient implements Client {
                         .filter(Optional::isPresent)
                         .map(Optional::get),
                 Util.tryDo(manager, m -> m.close()),
-                Util.tryDo(syncMonitor, i -> i.interrupt())
+                Util.tryDo(reaper, r -> r.stop()),
+                Util.tryDo(syncMonitor, m -> m.interrupt()),
+                Util.tryDo(statsReporter, r -> r.cancel(false))
         );
     }
 
@@ -33,14 +33,53 @@ import org.apache.http.util.EntityUtils;
 
 import java.io.*;
 import java.util.stream.Stream;
-import java.util.zip.GZIPInputStream;
 
 class ApacheResponse extends RawResponseBase {
     private final HttpResponse r;
+    private final long maxSize;
+    private final long spillThreshold;
+    private final Runnable abort;
+    private final ProgressListener downloadMonitor;
+    private final String url;
+    private LimitedInputStream limited;
+    private InputStream content;
+    private long reserved;
+    private boolean counted;
 
-    public ApacheResponse(HttpResponse r, Config config) {
+    /**
+     * @param abort drops the connection, used when the body goes over the size limit of the request
+     */
+    public ApacheResponse(HttpResponse r, Config config, MetricContext metric, HttpRequest request, Runnable abort) {
         super(config);
         this.r = r;
+        this.abort = abort;
+        ResponseOptions options = request.getResponseOptions();
+        this.maxSize = options.getMaxSize();
+        this.spillThreshold = options.getSpillThreshold();
+        this.downloadMonitor = options.getDownloadMonitor();
+        this.url = request.getUrl();
+        checkDeclaredSize();
+        decodeContent(metric);
+    }
+
+    // no point in reading any of a body which says up front that it is too big
+    private void checkDeclaredSize() {
+        HttpEntity entity = r.getEntity();
+        if (maxSize >= 0 && entity != null && entity.getContentLength() > maxSize) {
+            throw new ResponseTooLargeException(maxSize);
+        }
+    }
+
+    // both clients leave the content encoding to us so that gzip and deflate are decoded the same way
+    private void decodeContent(MetricContext metric) {
+        HttpEntity entity = r.getEntity();
+        Header encoding = entity == null ? null : entity.getContentEncoding();
+        if (encoding != null && DecodingInputStream.isSupported(encoding.getValue())) {
+            r.setEntity(new DecodingEntity(entity, encoding.getValue(), metric));
+            r.removeHeaders(HeaderNames.CONTENT_ENCODING);
+            r.removeHeaders(HeaderNames.CONTENT_LENGTH);
+            r.removeHeaders(HeaderNames.CONTENT_MD5);
+        }
     }
 
     @Override
@@ -65,10 +104,24 @@ class ApacheResponse extends RawResponseBase {
     public InputStream getContent() {
         try {
             HttpEntity entity = r.getEntity();
-            if (entity != null) {
+            if (entity == null) {
+                return new ByteArrayInputStream(new byte[0]);
+            } else if (maxSize < 0 && downloadMonitor == null) {
                 return entity.getContent();
             }
-            return new ByteArrayInputStream(new byte[0]);
+            // keep the same counters for every caller, or reading in steps would get around the limit
+            if (content == null) {
+                content = entity.getContent();
+                if (downloadMonitor != null) {
+                    Progress progress = new Progress(downloadMonitor, url, null, entity.getContentLength(), config);
+                    content = new MonitoringInputStream(content, progress);
+                }
+                if (maxSize >= 0) {
+                    limited = new LimitedInputStream(content, maxSize, abort);
+                    content = limited;
+                }
+            }
+            return content;
         } catch (IOException e) {
             throw new UnirestException(e);
         }
@@ -79,16 +132,12 @@ class ApacheResponse extends RawResponseBase {
         if (!hasContent()) {
             return new byte[0];
         }
-        try {
-            InputStream is = getContent();
-            if (isGzipped(getEncoding())) {
-                is = new GZIPInputStream(getContent());
-            }
-            return getBytes(is);
+        try (InputStream is = reserve(getContent())) {
+            return config.getBufferPool().readAll(is, r.getEntity().getContentLength());
         } catch (IOException e2) {
             throw new UnirestException(e2);
         } finally {
-            EntityUtils.consumeQuietly(r.getEntity());
+            consume();
         }
     }
 
@@ -102,19 +151,85 @@ class ApacheResponse extends RawResponseBase {
         if (!hasContent()) {
             return "";
         }
-        try {
-            String charSet = getCharset(charset);
-            return new String(getContentAsBytes(), charSet);
+        try (InputStream is = reserve(getContent())) {
+            return StringDecoder.decode(is, toCharset(charset), r.getEntity().getContentLength(), config.getBufferPool());
         } catch (IOException e) {
             throw new UnirestException(e);
+        } finally {
+            consume();
         }
     }
 
-    private String getCharset(String charset) {
-        if (charset == null || charset.trim().isEmpty()) {
-            return getCharSet();
+    /**
+     * For a body the async client has already buffered, and counted against the memory budget, as it arrived.
+     * That reservation stands for the body until it has been mapped, so reading it counts nothing more
+     * (and never waits for the budget on the IO reactor)
+     * @return this response
+     */
+    ApacheResponse counted() {
+        this.counted = true;
+        return this;
+    }
+
+    // count the body against the memory budget before it is read into memory. A body of unknown length only waits
+    // for its first part, after that it grows without waiting so that bodies never hold part of the budget while waiting for more
+    private InputStream reserve(InputStream in) {
+        MemoryBudget budget = config.getBodyMemoryBudget();
+        if (budget == null || counted) {
+            return in;
+        }
+        long length = r.getEntity().getContentLength();
+        if (length >= 0) {
+            reserved += budget.acquire(length);
+            return in;
+        }
+        reserved += budget.acquire(BufferPool.DEFAULT_BUFFER_SIZE);
+        return growing(in, budget);
+    }
+
+    private InputStream growing(InputStream in, MemoryBudget budget) {
+        return new FilterInputStream(in) {
+            private long read;
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return grow(super.read(b, off, len));
+            }
+
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                grow(b == -1 ? -1 : 1);
+                return b;
+            }
+
+            private int grow(int count) {
+                read += Math.max(count, 0);
+                if (read > reserved) {
+                    // a single body never takes more than the whole budget
+                    long wanted = Math.min(Math.max(read, reserved * 2), budget.getMaxBytes()) - reserved;
+                    reserved += budget.acquireNow(wanted);
+                }
+                return count;
+            }
+        };
+    }
+
+    /**
+     * Give back the memory budget taken while reading the body, once the response has been mapped
+     */
+    void release() {
+        if (reserved > 0) {
+            config.getBodyMemoryBudget().release(reserved);
+            reserved = 0;
+        }
+    }
+
+    // a body over the limit is dropped along with the connection rather than read to the end
+    private void consume() {
+        if (limited == null || !limited.isOverLimit()) {
+            EntityUtils.consumeQuietly(r.getEntity());
         }
-        return charset;
     }
 
     @Override
@@ -138,6 +253,11 @@ class ApacheResponse extends RawResponseBase {
         return "";
     }
 
+    @Override
+    protected long getSpillThreshold() {
+        return spillThreshold;
+    }
+
     @Override
     public String getEncoding() {
         if (hasContent()) {
@@ -148,32 +268,4 @@ class ApacheResponse extends RawResponseBase {
         }
         return "";
     }
-
-    private static byte[] getBytes(InputStream is) throws IOException {
-        try {
-            int len;
-            int size = 1024;
-            byte[] buf;
-
-            if (is instanceof ByteArrayInputStream) {
-                size = is.available();
-                buf = new byte[size];
-                len = is.read(buf, 0, size);
-            } else {
-                ByteArrayOutputStream bos = new ByteArrayOutputStream();
-                buf = new byte[size];
-                while ((len = is.read(buf, 0, size)) != -1) {
-                    bos.write(buf, 0, len);
-                }
-                buf = bos.toByteArray();
-            }
-            return buf;
-        } finally {
-            is.close();
-        }
-    }
-
-    private static boolean isGzipped(String value) {
-        return "gzip".equalsIgnoreCase(value.toLowerCase().trim());
-    }
 }
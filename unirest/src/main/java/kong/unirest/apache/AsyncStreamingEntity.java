@@ -0,0 +1,105 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest.apache;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.nio.ContentEncoder;
+import org.apache.http.nio.IOControl;
+import org.apache.http.nio.entity.ContentOutputStream;
+import org.apache.http.nio.entity.HttpAsyncContentProducer;
+import org.apache.http.nio.util.SharedOutputBuffer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Streams a blocking HttpEntity (like a multipart body) to the async client without buffering
+ * the whole thing in memory. The entity is written by a writer thread into a small shared buffer
+ * which the IO reactor drains as the socket becomes writable. When the buffer is full the writer
+ * blocks, so upload progress follows the bytes actually leaving the client.
+ * Writers come from a bounded pool of their own: uploads past its size wait for a free writer rather than
+ * each starting a thread of its own, and closing the entity shuts the buffer so a blocked writer is let go.
+ */
+class AsyncStreamingEntity extends HttpEntityWrapper implements HttpAsyncContentProducer {
+    static final int BUFFER_SIZE = 32 * 1024;
+
+    private SharedOutputBuffer buffer;
+    private IOControl ioControl;
+    private IOException failure;
+
+    AsyncStreamingEntity(HttpEntity entity) {
+        super(entity);
+    }
+
+    @Override
+    public synchronized void produceContent(ContentEncoder encoder, IOControl ioctrl) throws IOException {
+        this.ioControl = ioctrl;
+        if (buffer == null) {
+            startWriting();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        buffer.produceContent(encoder, ioctrl);
+    }
+
+    private void startWriting() {
+        SharedOutputBuffer current = new SharedOutputBuffer(BUFFER_SIZE);
+        buffer = current;
+        failure = null;
+        Util.WRITERS.execute(() -> {
+            try {
+                // only close on success, closing marks the body as complete
+                OutputStream out = new ContentOutputStream(current);
+                wrappedEntity.writeTo(out);
+                out.close();
+            } catch (IOException e) {
+                fail(current, e);
+            } catch (RuntimeException e) {
+                // like a failing object mapper, which would otherwise leave the exchange waiting forever
+                fail(current, new IOException(e));
+            }
+        });
+    }
+
+    private synchronized void fail(SharedOutputBuffer source, IOException e) {
+        if (buffer == source) {
+            failure = e;
+            if (ioControl != null) {
+                ioControl.requestOutput();
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (buffer != null) {
+            buffer.shutdown();
+            buffer = null;
+        }
+    }
+}
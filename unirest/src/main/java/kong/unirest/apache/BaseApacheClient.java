@@ -26,15 +26,30 @@
 package kong.unirest.apache;
 
 import kong.unirest.BasicResponse;
+import kong.unirest.Config;
 import kong.unirest.HttpResponse;
+import kong.unirest.MemoryBudgetException;
+import kong.unirest.PoolStats;
 import kong.unirest.Proxy;
 import kong.unirest.RawResponse;
+import kong.unirest.ResponseTooLargeException;
+import kong.unirest.SharedExecutors;
+import org.apache.http.HttpHost;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.CredentialsProvider;
+import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.http.pool.ConnPoolControl;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 abstract class BaseApacheClient {
 
@@ -48,9 +63,63 @@ abstract class BaseApacheClient {
         return null;
     }
 
+    protected void applyConnectionLimits(Config config, ConnPoolControl<HttpRoute> pool) {
+        pool.setMaxTotal(config.getMaxConnections());
+        pool.setDefaultMaxPerRoute(config.getMaxPerRoutes());
+        config.getRouteConcurrency().forEach((route, max) -> pool.setMaxPerRoute(toRoute(route, config), max));
+    }
+
+    // the pool only knows the route planned for a request, so build it the same way, through the config proxy
+    protected HttpRoute toRoute(String route, Config config) {
+        HttpHost target = HttpHost.create(route);
+        boolean secure = "https".equalsIgnoreCase(target.getSchemeName());
+        HttpHost proxy = RequestOptions.toApacheProxy(config.getProxy());
+        if (proxy == null) {
+            return new HttpRoute(target, null, secure);
+        }
+        return new HttpRoute(target, null, proxy, secure);
+    }
+
+    protected PoolStats toPoolStats(ConnPoolControl<HttpRoute> pool, Set<HttpRoute> routes) {
+        Map<String, PoolStats> byRoute = new LinkedHashMap<>();
+        for (HttpRoute route : routes) {
+            // routes to the same host through different proxies are counted together
+            byRoute.merge(route.getTargetHost().toURI(), toPoolStats(pool.getStats(route), Collections.emptyMap()), BaseApacheClient::add);
+        }
+        return toPoolStats(pool.getTotalStats(), byRoute);
+    }
+
+    private static PoolStats add(PoolStats a, PoolStats b) {
+        return new PoolStats(a.getLeased() + b.getLeased(),
+                a.getPending() + b.getPending(),
+                a.getAvailable() + b.getAvailable(),
+                a.getMax() + b.getMax(),
+                Collections.emptyMap());
+    }
+
+    private PoolStats toPoolStats(org.apache.http.pool.PoolStats stats, Map<String, PoolStats> routes) {
+        return new PoolStats(stats.getLeased(), stats.getPending(), stats.getAvailable(), stats.getMax(), routes);
+    }
+
+    protected ScheduledFuture<?> reportPoolStats(Config config, Supplier<PoolStats> stats, boolean async) {
+        long interval = config.getConnectionOptions().getStatsInterval();
+        if (interval <= 0) {
+            return null;
+        }
+        return SharedExecutors.SCHEDULER.scheduleAtFixedRate(() -> {
+            try {
+                config.getMetric().poolStats(stats.get(), async);
+            } catch (RuntimeException e) {
+                // a failing metric would otherwise cancel every report after this one
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
     protected <T> HttpResponse<T> transformBody(Function<RawResponse, HttpResponse<T>> transformer, RawResponse rr) {
         try {
             return transformer.apply(rr);
+        }catch (ResponseTooLargeException | MemoryBudgetException e){
+            throw e;
         }catch (RuntimeException e){
             String originalBody = recoverBody(rr);
             return new BasicResponse(rr, originalBody, e);
@@ -0,0 +1,139 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest.apache;
+
+import kong.unirest.MemoryBudget;
+import kong.unirest.ResponseTooLargeException;
+import org.apache.http.ContentTooLongException;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.entity.ContentType;
+import org.apache.http.nio.ContentDecoder;
+import org.apache.http.nio.IOControl;
+import org.apache.http.nio.entity.ContentBufferEntity;
+import org.apache.http.nio.protocol.AbstractAsyncResponseConsumer;
+import org.apache.http.nio.util.HeapByteBufferAllocator;
+import org.apache.http.nio.util.SimpleInputBuffer;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+
+/**
+ * Holds the whole response in memory before it is handed over, like the default consumer of the async client,
+ * but fails as soon as the body goes over the size limit of the request rather than once all of it has arrived.
+ * The buffer starts small and grows with the body, so a large Content-Length alone allocates nothing.
+ * The body is counted against the memory budget as it arrives. That never waits, as this runs on the IO reactor,
+ * so a body which does not fit fails the exchange straight away. The budget is held until {@link #release()}.
+ */
+class BufferingResponseConsumer extends AbstractAsyncResponseConsumer<HttpResponse> {
+    private static final int INITIAL_SIZE = 64 * 1024;
+
+    private final long maxSize;
+    private final MemoryBudget budget;
+    private volatile HttpResponse response;
+    private volatile SimpleInputBuffer buffer;
+    private long received;
+    private long reserved;
+    private boolean released;
+
+    /**
+     * @param budget the memory budget to count the body against, null for none
+     */
+    BufferingResponseConsumer(long maxSize, MemoryBudget budget) {
+        this.maxSize = maxSize;
+        this.budget = budget;
+    }
+
+    @Override
+    protected void onResponseReceived(HttpResponse httpResponse) {
+        this.response = httpResponse;
+    }
+
+    @Override
+    protected void onEntityEnclosed(HttpEntity entity, ContentType contentType) throws IOException {
+        long length = entity.getContentLength();
+        checkSize(length);
+        int initial = length < 0 ? 4096 : (int) Math.min(length, INITIAL_SIZE);
+        reserve(length < 0 ? initial : length);
+        buffer = new SimpleInputBuffer(initial, HeapByteBufferAllocator.INSTANCE);
+        response.setEntity(new ContentBufferEntity(entity, buffer));
+    }
+
+    @Override
+    protected void onContentReceived(ContentDecoder decoder, IOControl ioctrl) throws IOException {
+        int read = buffer.consumeContent(decoder);
+        if (read > 0) {
+            received += read;
+            checkSize(received);
+            grow();
+        }
+    }
+
+    // a body of unknown length doubles its reservation as it comes in, but never takes more than the whole budget
+    private synchronized void grow() {
+        if (budget != null && received > reserved) {
+            reserve(Math.min(Math.max(received, reserved * 2), budget.getMaxBytes()) - reserved);
+        }
+    }
+
+    private synchronized void reserve(long bytes) {
+        if (budget != null && !released) {
+            reserved += budget.acquireNow(bytes);
+        }
+    }
+
+    /**
+     * Give back the memory budget taken by the body, once it has been mapped or the exchange is over without it.
+     * Anything which arrives after this is not counted
+     */
+    synchronized void release() {
+        released = true;
+        if (reserved > 0) {
+            budget.release(reserved);
+            reserved = 0;
+        }
+    }
+
+    private void checkSize(long size) throws ContentTooLongException {
+        if (maxSize >= 0 && size > maxSize) {
+            throw new ResponseTooLargeException(maxSize);
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new ContentTooLongException("Entity content is too long: %,d", size);
+        }
+    }
+
+    @Override
+    protected HttpResponse buildResult(HttpContext context) {
+        return response;
+    }
+
+    @Override
+    protected void releaseResources() {
+        response = null;
+        buffer = null;
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest.apache;
+
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.nio.ContentEncoder;
+import org.apache.http.nio.FileContentEncoder;
+import org.apache.http.nio.IOControl;
+import org.apache.http.nio.entity.HttpAsyncContentProducer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Sends a file as the request body straight from its FileChannel.
+ * On the async client a plain HTTP connection is handed the channel itself, so the
+ * kernel can copy the file to the socket (sendfile) without it ever passing through the heap.
+ * Over TLS, or on the blocking client which only gives us a stream, the file is transferred in chunks.
+ */
+class FileChannelEntity extends AbstractHttpEntity implements HttpAsyncContentProducer {
+    private static final int BUFFER_SIZE = 32 * 1024;
+
+    private final Path file;
+    private FileChannel channel;
+    private ByteBuffer buffer;
+    private long position;
+    private long length;
+
+    FileChannelEntity(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        return Files.newInputStream(file);
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long size = source.size();
+            long sent = 0;
+            while (sent < size) {
+                long moved = source.transferTo(sent, size - sent, target);
+                if (moved <= 0) {
+                    throw new IOException("The file got shorter while it was being sent: " + file);
+                }
+                sent += moved;
+            }
+        }
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+
+    @Override
+    public void produceContent(ContentEncoder encoder, IOControl ioctrl) throws IOException {
+        if (channel == null) {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            position = 0;
+            length = channel.size();
+        }
+        if (encoder instanceof FileContentEncoder) {
+            long moved = ((FileContentEncoder) encoder).transfer(channel, position, Long.MAX_VALUE);
+            // nothing moving is fine while the connection is busy, but not once the file has run out
+            if (moved <= 0 && position < length && position >= channel.size()) {
+                throw new IOException("The file got shorter while it was being sent: " + file);
+            }
+            position += moved;
+        } else {
+            copy(encoder);
+        }
+        if (position >= length) {
+            encoder.complete();
+            close();
+        }
+    }
+
+    // for encoders which cannot take a channel, like TLS, read through a buffer which is only ever part written
+    private void copy(ContentEncoder encoder) throws IOException {
+        if (buffer == null) {
+            buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            buffer.flip();
+        }
+        if (!buffer.hasRemaining()) {
+            buffer.clear();
+            if (channel.read(buffer, position) == -1) {
+                throw new IOException("The file got shorter while it was being sent: " + file);
+            }
+            buffer.flip();
+        }
+        position += encoder.write(buffer);
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer = null;
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest.apache;
+
+import kong.unirest.Config;
+import kong.unirest.ConnectionOptions;
+import kong.unirest.SharedExecutors;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+/**
+ * Closes the expired and idle connections of a pool every so often.
+ * Every pool is swept from the same scheduler thread rather than each client keeping a thread of its own asleep,
+ * see {@link ConnectionOptions#sweepInterval(long)} and {@link ConnectionOptions#idleTimeout(long)}.
+ */
+public class IdleConnectionReaper {
+    private final ScheduledFuture<?> sweep;
+
+    IdleConnectionReaper(ScheduledFuture<?> sweep) {
+        this.sweep = sweep;
+    }
+
+    /**
+     * Start sweeping a pool, for clients built outside of Unirest and handed to
+     * {@link ApacheClient#ApacheClient(org.apache.http.client.HttpClient, Config,
+     * org.apache.http.impl.conn.PoolingHttpClientConnectionManager, IdleConnectionReaper)} and the like.
+     * @param config the config to take the sweep interval and idle timeout from
+     * @param closeExpired closes the connections which have outlived their time to live
+     * @param closeIdle closes the connections which have been idle for at least the given milliseconds
+     * @return the reaper, or null when sweeping is turned off
+     */
+    public static IdleConnectionReaper start(Config config, Runnable closeExpired, LongConsumer closeIdle) {
+        long interval = config.getConnectionOptions().getSweepInterval();
+        if (interval <= 0) {
+            return null;
+        }
+        long idle = config.getConnectionOptions().getIdleTimeout();
+        return new IdleConnectionReaper(SharedExecutors.SCHEDULER.scheduleWithFixedDelay(() -> {
+            try {
+                closeExpired.run();
+                if (idle > 0) {
+                    closeIdle.accept(idle);
+                }
+            } catch (RuntimeException e) {
+                // a pool which is shutting down can complain, which would otherwise cancel every sweep after this one
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Stop sweeping, once the pool is closed
+     */
+    public void stop() {
+        sweep.cancel(false);
+    }
+}
@@ -25,35 +25,35 @@
 
 package kong.unirest.apache;
 
-import kong.unirest.ProgressMonitor;
-import org.apache.http.entity.ContentType;
-import org.apache.http.entity.mime.content.FileBody;
+import kong.unirest.Config;
+import kong.unirest.Progress;
+import kong.unirest.ProgressListener;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.HttpEntityWrapper;
 
-import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.util.Objects;
 
-public class MonitoringFileBody extends FileBody {
-    private final String field;
-    private final ProgressMonitor monitor;
-    private long length;
-    private String name;
+/**
+ * Counts a request body as it is written, for an upload progress listener.
+ * Wrapping a body which could be handed to the async client as a channel makes it go through a stream instead.
+ */
+class MonitoringEntity extends HttpEntityWrapper {
+    private final ProgressListener listener;
+    private final String fileName;
+    private final Config config;
 
-    public MonitoringFileBody(String field, File file, ContentType contentType, ProgressMonitor monitor) {
-        super(file, contentType);
-        this.field = field;
-        this.monitor = monitor;
-        this.length = file.length();
-        this.name = file.getName();
+    MonitoringEntity(HttpEntity entity, ProgressListener listener, String fileName, Config config) {
+        super(entity);
+        this.listener = listener;
+        this.fileName = fileName;
+        this.config = config;
     }
 
     @Override
     public void writeTo(OutputStream out) throws IOException {
-        if(Objects.nonNull(monitor)){
-            super.writeTo(new MonitoringStream(out, length, field, name, monitor));
-        } else {
-            super.writeTo(out);
-        }
+        Progress progress = new Progress(listener, null, fileName, getContentLength(), config);
+        super.writeTo(new MonitoringStream(out, progress));
+        progress.done();
     }
 }
@@ -25,44 +25,48 @@
 
 package kong.unirest.apache;
 
-import kong.unirest.ProgressMonitor;
-import kong.unirest.UnirestException;
-import org.apache.http.entity.ContentType;
-import org.apache.http.entity.mime.content.InputStreamBody;
+import kong.unirest.Progress;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
-import java.util.Objects;
 
-class MonitoringStreamBody extends InputStreamBody {
-    private final ProgressMonitor monitor;
-    private final long length;
-    private final String name;
-    private final String fileName;
+/**
+ * Counts a response body as it is read, for a download progress listener
+ */
+class MonitoringInputStream extends FilterInputStream {
+    private final Progress progress;
 
-    public MonitoringStreamBody(InputStream in,
-                                ContentType contentType,
-                                String fileName,
-                                String fieldName,
-                                ProgressMonitor monitor) {
-        super(in, contentType, fileName);
-        this.fileName = fileName;
-        try {
-            this.monitor = monitor;
-            this.name = fieldName;
-            this.length = in.available();
-        }catch (IOException e){
-            throw new UnirestException(e);
-        }
+    MonitoringInputStream(InputStream in, Progress progress) {
+        super(in);
+        this.progress = progress;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        count(b == -1 ? -1 : 1);
+        return b;
     }
 
     @Override
-    public void writeTo(OutputStream out) throws IOException {
-        if(Objects.nonNull(monitor)){
-            super.writeTo(new MonitoringStream(out, length, name, fileName, monitor));
+    public int read(byte[] b, int off, int len) throws IOException {
+        return count(super.read(b, off, len));
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        progress.add(skipped);
+        return skipped;
+    }
+
+    private int count(int read) {
+        if (read == -1) {
+            progress.done();
         } else {
-            super.writeTo(out);
+            progress.add(read);
         }
+        return read;
     }
 }
@@ -25,7 +25,7 @@
 
 package kong.unirest.apache;
 
-import kong.unirest.ProgressMonitor;
+import kong.unirest.Progress;
 
 import java.io.IOException;
 import java.io.OutputStream;
@@ -33,39 +33,29 @@ import java.io.OutputStream;
 class MonitoringStream extends OutputStream {
 
     private final OutputStream out;
-    private volatile long written = 0;
-    private long length;
-    private String fieldName;
-    private String fileName;
-    private ProgressMonitor monitor;
+    private final Progress progress;
 
-    public MonitoringStream(OutputStream out, long length, String fieldName, String fileName, ProgressMonitor monitor) {
+    MonitoringStream(OutputStream out, Progress progress) {
         this.out = out;
-        this.length = length;
-        this.fieldName = fieldName;
-        this.fileName = fileName;
-        this.monitor = monitor;
+        this.progress = progress;
     }
 
     @Override
     public void write(int b) throws IOException {
         out.write(b);
-        written++;
-        monitor.accept(fieldName, fileName, written, length);
+        progress.add(1);
     }
 
     @Override
     public void write(byte[] b) throws IOException {
         out.write(b);
-        written += b.length;
-        monitor.accept(fieldName, fileName, written, length);
+        progress.add(b.length);
     }
 
     @Override
     public void write(byte[] b, int off, int len) throws IOException {
         out.write(b, off, len);
-        written += len;
-        monitor.accept(fieldName, fileName, written, length);
+        progress.add(len);
     }
 
     @Override
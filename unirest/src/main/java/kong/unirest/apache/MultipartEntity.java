@@ -0,0 +1,304 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest.apache;
+
+import kong.unirest.Body;
+import kong.unirest.BodyPart;
+import kong.unirest.Config;
+import kong.unirest.MultipartMode;
+import kong.unirest.Progress;
+import kong.unirest.ProgressListener;
+import org.apache.http.ContentTooLongException;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ContentType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Writes a multipart/form-data body in the same wire format as httpmime, but formats each part's
+ * headers only once, up front. That gives the Content-Length for free when every part has a known size
+ * (files, byte arrays and strings) so the body is not sent chunked, and only input streams fall back to chunking.
+ * File parts are copied through a 64kb buffer, and progress is counted per buffer rather than on every write.
+ */
+class MultipartEntity extends AbstractHttpEntity {
+    private static final int COPY_BUFFER = 64 * 1024;
+    private static final int STREAM_BUFFER = 4096;
+    private static final int MAX_BUFFERED = 25 * 1024;
+    private static final byte[] CR_LF = {'\r', '\n'};
+    private static final char[] BOUNDARY_CHARS =
+            "-_1234567890abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+
+    private final String boundary = generateBoundary();
+    private final List<Part> parts = new ArrayList<>();
+    private final MultipartMode mode;
+    private final Charset headerCharset;
+    private final ProgressListener monitor;
+    private final Config config;
+    private final long length;
+
+    MultipartEntity(Body body, Config config) {
+        this.config = config;
+        this.mode = body.getMode();
+        this.headerCharset = headerCharset(body);
+        this.monitor = body.getProgressListener();
+        for (BodyPart part : body.multiParts()) {
+            parts.add(toPart(part));
+        }
+        this.length = totalLength();
+        setContentType("multipart/form-data; boundary=" + boundary
+                + (body.getCharset() == null ? "" : "; charset=" + body.getCharset().name()));
+        setChunked(length < 0);
+    }
+
+    private Charset headerCharset(Body body) {
+        if (mode == MultipartMode.STRICT) {
+            return StandardCharsets.US_ASCII;
+        } else if (mode == MultipartMode.RFC6532) {
+            return StandardCharsets.UTF_8;
+        }
+        return body.getCharset() == null ? StandardCharsets.US_ASCII : body.getCharset();
+    }
+
+    private Part toPart(BodyPart part) {
+        ContentType type = ContentType.parse(part.getContentType());
+        Object value = part.getValue();
+        if (value instanceof File) {
+            File file = (File) value;
+            return new FileContent(head(part, file.getName(), type, "binary"), part.getName(), file);
+        } else if (value instanceof InputStream) {
+            return new StreamContent(head(part, part.getFileName(), type, "binary"), part, (InputStream) value);
+        } else if (value instanceof byte[]) {
+            return new BytesContent(head(part, part.getFileName(), type, "binary"), (byte[]) value);
+        } else {
+            Charset charset = type.getCharset() == null ? StandardCharsets.US_ASCII : type.getCharset();
+            return new BytesContent(head(part, null, type, "8bit"), String.valueOf(value).getBytes(charset));
+        }
+    }
+
+    // browser compatible mode only names the part, and types it when it is a file
+    private byte[] head(BodyPart part, String fileName, ContentType type, String transferEncoding) {
+        StringBuilder head = new StringBuilder("--").append(boundary).append("\r\n")
+                .append("Content-Disposition: form-data; name=\"").append(escape(part.getName())).append('"');
+        if (fileName != null) {
+            head.append("; filename=\"").append(escape(fileName)).append('"');
+        }
+        head.append("\r\n");
+        if (mode != MultipartMode.BROWSER_COMPATIBLE || fileName != null) {
+            head.append("Content-Type: ").append(type).append("\r\n");
+        }
+        if (mode != MultipartMode.BROWSER_COMPATIBLE) {
+            head.append("Content-Transfer-Encoding: ").append(transferEncoding).append("\r\n");
+        }
+        return head.append("\r\n").toString().getBytes(headerCharset);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private long totalLength() {
+        long total = closing().length;
+        for (Part part : parts) {
+            long size = part.length();
+            if (size < 0) {
+                return -1;
+            }
+            total += part.head.length + size + CR_LF.length;
+        }
+        return total;
+    }
+
+    private byte[] closing() {
+        return ("--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static String generateBoundary() {
+        Random random = new Random();
+        char[] chars = new char[random.nextInt(11) + 30];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = BOUNDARY_CHARS[random.nextInt(BOUNDARY_CHARS.length)];
+        }
+        return new String(chars);
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return parts.stream().allMatch(Part::isRepeatable);
+    }
+
+    @Override
+    public long getContentLength() {
+        return length;
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        if (length < 0 || length > MAX_BUFFERED) {
+            throw new ContentTooLongException("Content length is unknown or too long to buffer: " + length);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream((int) length);
+        writeTo(out);
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        for (Part part : parts) {
+            out.write(part.head);
+            part.writeTo(out);
+            out.write(CR_LF);
+        }
+        out.write(closing());
+        out.flush();
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return !isRepeatable();
+    }
+
+    private abstract static class Part {
+        final byte[] head;
+
+        Part(byte[] head) {
+            this.head = head;
+        }
+
+        abstract long length();
+
+        abstract void writeTo(OutputStream out) throws IOException;
+
+        boolean isRepeatable() {
+            return true;
+        }
+    }
+
+    private static class BytesContent extends Part {
+        private final byte[] content;
+
+        BytesContent(byte[] head, byte[] content) {
+            super(head);
+            this.content = content;
+        }
+
+        @Override
+        long length() {
+            return content.length;
+        }
+
+        @Override
+        void writeTo(OutputStream out) throws IOException {
+            out.write(content);
+        }
+    }
+
+    private class FileContent extends Part {
+        private final String field;
+        private final File file;
+        private final long size;
+
+        FileContent(byte[] head, String field, File file) {
+            super(head);
+            this.field = field;
+            this.file = file;
+            this.size = file.length();
+        }
+
+        @Override
+        long length() {
+            return size;
+        }
+
+        @Override
+        void writeTo(OutputStream out) throws IOException {
+            Progress progress = monitor == null ? null : new Progress(monitor, field, file.getName(), size, config);
+            try (InputStream source = Files.newInputStream(file.toPath())) {
+                byte[] buffer = new byte[COPY_BUFFER];
+                long sent = 0;
+                while (sent < size) {
+                    int read = source.read(buffer, 0, (int) Math.min(buffer.length, size - sent));
+                    if (read < 0) {
+                        throw new IOException("The file got shorter while it was being sent: " + file);
+                    }
+                    out.write(buffer, 0, read);
+                    sent += read;
+                    if (progress != null) {
+                        progress.add(read);
+                    }
+                }
+            }
+        }
+    }
+
+    private class StreamContent extends Part {
+        private final BodyPart part;
+        private final InputStream in;
+
+        StreamContent(byte[] head, BodyPart part, InputStream in) {
+            super(head);
+            this.part = part;
+            this.in = in;
+        }
+
+        @Override
+        long length() {
+            return -1;
+        }
+
+        @Override
+        boolean isRepeatable() {
+            return false;
+        }
+
+        @Override
+        void writeTo(OutputStream out) throws IOException {
+            // a stream does not know its length, available() is only what can be read without blocking
+            Progress progress = monitor == null ? null : new Progress(monitor, part.getName(), part.getFileName(), -1, config);
+            OutputStream target = progress == null ? out : new MonitoringStream(out, progress);
+            try (InputStream source = in) {
+                byte[] buffer = new byte[STREAM_BUFFER];
+                int read;
+                while ((read = source.read(buffer)) != -1) {
+                    target.write(buffer, 0, read);
+                }
+            }
+            if (progress != null) {
+                progress.done();
+            }
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest.apache;
+
+import kong.unirest.Config;
+import kong.unirest.SharedExecutors;
+import kong.unirest.UnirestException;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.nio.NHttpClientConnection;
+import org.apache.http.nio.conn.ManagedNHttpClientConnection;
+
+import javax.net.ssl.SSLSession;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens connections to a route ahead of the first requests.
+ * All of them are leased before any is given back, otherwise the pool would hand the same one out again,
+ * and they are released as reusable so requests pick them up like any other idle connection.
+ * Tunnelled routes (https through a proxy) are left alone as they need a CONNECT exchange first.
+ */
+class PoolWarmer {
+    // how often to look in on TLS handshakes, which the IO reactor runs on its own
+    private static final long HANDSHAKE_POLL_MILLIS = 10;
+    private static final String NO_CIPHER = "SSL_NULL_WITH_NULL_NULL";
+
+    private PoolWarmer() {
+    }
+
+    static CompletableFuture<Void> warm(PoolingHttpClientConnectionManager manager, HttpRoute route, int connections, Config config) {
+        if (route.isTunnelled()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        int count = Math.min(connections, manager.getMaxPerRoute(route));
+        // each connection is opened by a task of its own, nothing waits on the worker pool from inside it
+        return CompletableFuture.supplyAsync(() -> lease(manager, route, count, config), Util.WORKERS)
+                .thenCompose(leased -> CompletableFuture.allOf(leased.stream()
+                        .map(c -> CompletableFuture.runAsync(() -> open(manager, c, route, config), Util.WORKERS))
+                        .toArray(CompletableFuture[]::new))
+                        .whenComplete((v, e) -> leased.forEach(c -> manager.releaseConnection(c, null, 0, TimeUnit.MILLISECONDS))))
+                .handle(PoolWarmer::unwrap);
+    }
+
+    private static List<HttpClientConnection> lease(PoolingHttpClientConnectionManager manager, HttpRoute route,
+                                                    int count, Config config) {
+        List<HttpClientConnection> leased = new ArrayList<>();
+        try {
+            for (int i = 0; i < count; i++) {
+                leased.add(manager.requestConnection(route, null).get(config.getConnectionTimeout(), TimeUnit.MILLISECONDS));
+            }
+            return leased;
+        } catch (Exception e) {
+            leased.forEach(c -> manager.releaseConnection(c, null, 0, TimeUnit.MILLISECONDS));
+            throw new UnirestException(e);
+        }
+    }
+
+    private static Void unwrap(Void v, Throwable e) {
+        if (e == null) {
+            return null;
+        }
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        throw cause instanceof UnirestException ? (UnirestException) cause : new UnirestException(cause);
+    }
+
+    private static void open(PoolingHttpClientConnectionManager manager, HttpClientConnection conn, HttpRoute route, Config config) {
+        if (conn.isOpen()) {
+            return;
+        }
+        try {
+            HttpClientContext context = HttpClientContext.create();
+            manager.connect(conn, route, config.getConnectionTimeout(), context);
+            manager.routeComplete(conn, route, context);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static CompletableFuture<Void> warm(PoolingNHttpClientConnectionManager manager, HttpRoute route, int connections, Config config) {
+        if (route.isTunnelled()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        int count = Math.min(connections, manager.getMaxPerRoute(route));
+        List<NHttpClientConnection> leased = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture[] leases = new CompletableFuture[count];
+        for (int i = 0; i < count; i++) {
+            leases[i] = lease(manager, route, config, leased);
+        }
+        // the leases complete on the IO reactor, which should not be kept busy with starting the routes
+        return CompletableFuture.allOf(leases)
+                .thenApplyAsync(v -> leased.stream()
+                        .map(c -> open(manager, c, route, config))
+                        .toArray(CompletableFuture[]::new), Util.WORKERS)
+                .thenCompose(CompletableFuture::allOf)
+                .whenComplete((v, e) -> leased.forEach(c -> manager.releaseConnection(c, null, 0, TimeUnit.MILLISECONDS)))
+                .handle(PoolWarmer::unwrap);
+    }
+
+    private static CompletableFuture<Void> lease(PoolingNHttpClientConnectionManager manager, HttpRoute route,
+                                                 Config config, List<NHttpClientConnection> leased) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        manager.requestConnection(route, null, config.getConnectionTimeout(), config.getConnectionTimeout(),
+                TimeUnit.MILLISECONDS, new FutureCallback<NHttpClientConnection>() {
+                    @Override
+                    public void completed(NHttpClientConnection result) {
+                        leased.add(result);
+                        future.complete(null);
+                    }
+
+                    @Override
+                    public void failed(Exception ex) {
+                        future.completeExceptionally(ex);
+                    }
+
+                    @Override
+                    public void cancelled() {
+                        future.completeExceptionally(new UnirestException("The connection request was cancelled"));
+                    }
+                });
+        return future;
+    }
+
+    // starting the route only begins the TLS handshake, so the connection is not ready until the reactor has finished it
+    private static CompletableFuture<Void> open(PoolingNHttpClientConnectionManager manager, NHttpClientConnection conn,
+                                                HttpRoute route, Config config) {
+        if (!manager.isRouteComplete(conn)) {
+            try {
+                HttpClientContext context = HttpClientContext.create();
+                manager.startRoute(conn, route, context);
+                manager.routeComplete(conn, route, context);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            // the upgrade queues the first handshake message without asking the reactor to write it,
+            // a request would do that by asking for IO, so ask for input here to get it going
+            conn.requestInput();
+        }
+        CompletableFuture<Void> handshake = new CompletableFuture<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getConnectionTimeout());
+        awaitHandshake(conn, handshake, deadline);
+        return handshake;
+    }
+
+    private static void awaitHandshake(NHttpClientConnection conn, CompletableFuture<Void> handshake, long deadline) {
+        try {
+            checkHandshake(conn, handshake, deadline);
+        } catch (RuntimeException e) {
+            handshake.completeExceptionally(e);
+        }
+    }
+
+    private static void checkHandshake(NHttpClientConnection conn, CompletableFuture<Void> handshake, long deadline) {
+        SSLSession session = conn instanceof ManagedNHttpClientConnection ? ((ManagedNHttpClientConnection) conn).getSSLSession() : null;
+        if (session == null || !NO_CIPHER.equals(session.getCipherSuite())) {
+            handshake.complete(null);
+        } else if (!conn.isOpen()) {
+            handshake.completeExceptionally(new UnirestException("The connection was closed during the TLS handshake"));
+        } else if (System.nanoTime() > deadline) {
+            handshake.completeExceptionally(new UnirestException("The TLS handshake did not finish in time"));
+        } else {
+            SharedExecutors.SCHEDULER.schedule(() -> awaitHandshake(conn, handshake, deadline), HANDSHAKE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+}
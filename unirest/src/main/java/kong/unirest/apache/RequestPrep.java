@@ -30,13 +30,14 @@ import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.*;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.StringEntity;
 import org.apache.http.message.BasicHeader;
-import org.apache.http.nio.entity.NByteArrayEntity;
+import org.apache.http.nio.entity.HttpAsyncContentProducer;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
 class RequestPrep {
@@ -48,6 +49,8 @@ class RequestPrep {
     private final HttpRequest request;
     private Config config;
     private final boolean async;
+    private long bodySize;
+    private long reserved;
 
     static {
         FACTORIES = new HashMap<>();
@@ -79,7 +82,7 @@ class RequestPrep {
             request.header(USER_AGENT_HEADER, USER_AGENT);
         }
         if (!request.getHeaders().containsKey(ACCEPT_ENCODING_HEADER) && config.isRequestCompressionOn()) {
-            request.header(ACCEPT_ENCODING_HEADER, "gzip");
+            request.header(ACCEPT_ENCODING_HEADER, "gzip, deflate");
         }
 
         try {
@@ -114,23 +117,68 @@ class RequestPrep {
 
     private void setBody(HttpRequestBase reqObj) {
         if (request.getBody().isPresent()) {
-            ApacheBodyMapper mapper = new ApacheBodyMapper(request);
-            HttpEntity entity = mapper.apply();
+            ApacheBodyMapper mapper = new ApacheBodyMapper(request, config);
+            HttpEntity entity = compress(mapper.apply());
             if (async) {
                 if (reqObj.getHeaders(CONTENT_TYPE) == null || reqObj.getHeaders(CONTENT_TYPE).length == 0) {
                     reqObj.setHeader(entity.getContentType());
                 }
-                try {
-                    ByteArrayOutputStream output = new ByteArrayOutputStream();
-                    entity.writeTo(output);
-                    NByteArrayEntity en = new NByteArrayEntity(output.toByteArray());
-                    ((HttpEntityEnclosingRequestBase) reqObj).setEntity(en);
-                } catch (IOException e) {
-                    throw new UnirestException(e);
-                }
+                HttpEntity asyncEntity = toAsyncEntity(entity);
+                bodySize = bufferedSize(asyncEntity);
+                ((HttpEntityEnclosingRequestBase) reqObj).setEntity(asyncEntity);
             } else {
                 ((HttpEntityEnclosingRequestBase) reqObj).setEntity(entity);
             }
         }
     }
+
+    // bodies of unknown length are usually the big ones, so they are always compressed
+    private HttpEntity compress(HttpEntity entity) {
+        BodyCompression compression = request.getBodyCompression();
+        Optional<String> encoding = compression.getEncoding();
+        if (!encoding.isPresent()
+                || request.getHeaders().containsKey(HeaderNames.CONTENT_ENCODING)
+                || entity.getContentLength() >= 0 && entity.getContentLength() < compression.getMinBytes()) {
+            return entity;
+        }
+        return new CompressingEntity(entity, encoding.get());
+    }
+
+    // async bodies are held in memory until the exchange is over, streamed ones only as much as their buffer
+    private long bufferedSize(HttpEntity entity) {
+        if (entity instanceof AsyncStreamingEntity) {
+            return AsyncStreamingEntity.BUFFER_SIZE;
+        } else if (entity instanceof StringEntity || entity instanceof ByteArrayEntity) {
+            return Math.max(entity.getContentLength(), 0);
+        }
+        return 0;
+    }
+
+    /**
+     * Take the memory budget for a prepared async body. This never waits, so the caller is not held up
+     * @throws MemoryBudgetException if the budget is used up
+     */
+    synchronized void reserve() {
+        MemoryBudget budget = config.getBodyMemoryBudget();
+        if (budget != null) {
+            reserved = budget.acquireNow(bodySize);
+        }
+    }
+
+    /**
+     * Give back the memory budget taken by an async body once the exchange is over
+     */
+    synchronized void release() {
+        if (reserved > 0) {
+            config.getBodyMemoryBudget().release(reserved);
+            reserved = 0;
+        }
+    }
+
+    private HttpEntity toAsyncEntity(HttpEntity entity) {
+        if (entity instanceof StringEntity || entity instanceof ByteArrayEntity || entity instanceof HttpAsyncContentProducer) {
+            return entity;
+        }
+        return new AsyncStreamingEntity(entity);
+    }
 }
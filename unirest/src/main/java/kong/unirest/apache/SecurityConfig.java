@@ -26,28 +26,28 @@
 package kong.unirest.apache;
 
 import kong.unirest.Config;
-import kong.unirest.UnirestConfigException;
 import org.apache.http.config.Registry;
 import org.apache.http.config.RegistryBuilder;
 import org.apache.http.conn.socket.ConnectionSocketFactory;
 import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.NoopHostnameVerifier;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
-import org.apache.http.conn.ssl.TrustStrategy;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
-import org.apache.http.ssl.SSLContextBuilder;
-import org.apache.http.ssl.SSLContexts;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
 
+import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLContext;
-import java.security.KeyManagementException;
-import java.security.KeyStoreException;
-import java.security.NoSuchAlgorithmException;
-import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * The TLS setup shared by the sync and async clients.
+ * Both take their SSL context from {@link SharedSslContexts} so they resume each other's sessions.
+ */
 class SecurityConfig {
     private final Config config;
-    private SSLContext sslContext;
     private SSLConnectionSocketFactory sslSocketFactory;
 
 
@@ -56,81 +56,45 @@ class SecurityConfig {
     }
 
     public PoolingHttpClientConnectionManager createManager() {
-        return buildSocketFactory()
-                .map(PoolingHttpClientConnectionManager::new)
-                .orElseGet(PoolingHttpClientConnectionManager::new);
+        PoolingHttpClientConnectionManager manager = new PoolingHttpClientConnectionManager(createRegistry(),
+                null, null, null, config.getConnectionOptions().getTimeToLive(), TimeUnit.MILLISECONDS);
+        manager.setValidateAfterInactivity(config.getConnectionOptions().getValidateAfterInactivity());
+        return manager;
     }
 
-    private Optional<Registry<ConnectionSocketFactory>> buildSocketFactory() {
-        try {
-            if (!config.isVerifySsl()) {
-                return Optional.of(createDisabledSSLContext());
-            } else if (config.getKeystore() != null) {
-                return Optional.of(createCustomSslContext());
-            }
-        } catch (Exception e) {
-            throw new UnirestConfigException(e);
-        }
-
-        return Optional.empty();
-
-    }
-    private Registry<ConnectionSocketFactory> createCustomSslContext() {
-        SSLConnectionSocketFactory socketFactory = getSocketFactory();
+    private Registry<ConnectionSocketFactory> createRegistry() {
         return RegistryBuilder.<ConnectionSocketFactory>create()
-                .register("https", socketFactory)
                 .register("http", PlainConnectionSocketFactory.INSTANCE)
+                .register("https", getSocketFactory())
                 .build();
     }
 
-    private SSLConnectionSocketFactory getSocketFactory() {
-        if(sslSocketFactory == null) {
-            sslSocketFactory = new SSLConnectionSocketFactory(createSslContext(), new NoopHostnameVerifier());
-        }
-        return sslSocketFactory;
-    }
-
-    private Registry<ConnectionSocketFactory> createDisabledSSLContext() throws NoSuchAlgorithmException, KeyManagementException, KeyStoreException {
-        return RegistryBuilder.<ConnectionSocketFactory>create()
-                .register("http", PlainConnectionSocketFactory.INSTANCE)
-                .register("https", new SSLConnectionSocketFactory(new SSLContextBuilder()
-                        .loadTrustMaterial(null, (x509CertChain, authType) -> true)
-                        .build(),
-                        NoopHostnameVerifier.INSTANCE))
+    public Registry<SchemeIOSessionStrategy> createAsyncRegistry() {
+        return RegistryBuilder.<SchemeIOSessionStrategy>create()
+                .register("http", NoopIOSessionStrategy.INSTANCE)
+                .register("https", new SSLIOSessionStrategy(SharedSslContexts.get(config), getHostnameVerifier()))
                 .build();
     }
-    private SSLContext createSslContext() {
-        if(sslContext == null) {
-            try {
-                char[] pass = Optional.ofNullable(config.getKeyStorePassword())
-                        .map(String::toCharArray)
-                        .orElse(null);
-                sslContext = SSLContexts.custom()
-                        .loadKeyMaterial(config.getKeystore(), pass)
-                        .build();
-            } catch (Exception e) {
-                throw new UnirestConfigException(e);
-            }
+
+    private SSLConnectionSocketFactory getSocketFactory() {
+        if (sslSocketFactory == null) {
+            sslSocketFactory = new SSLConnectionSocketFactory(SharedSslContexts.get(config), getHostnameVerifier());
         }
-        return sslContext;
+        return sslSocketFactory;
     }
 
-    public void configureSecurity(HttpClientBuilder cb) {
-        if(config.getKeystore() != null){
-            cb.setSSLContext(createSslContext());
-            cb.setSSLSocketFactory(getSocketFactory());
-        }
+    // host names are checked whenever ssl is verified, client certificate or not, the same for both clients
+    HostnameVerifier getHostnameVerifier() {
         if (!config.isVerifySsl()) {
-            disableSsl(cb);
+            return NoopHostnameVerifier.INSTANCE;
         }
+        return SSLConnectionSocketFactory.getDefaultHostnameVerifier();
     }
 
-    private void disableSsl(HttpClientBuilder cb) {
-        try {
-            cb.setSSLHostnameVerifier(NoopHostnameVerifier.INSTANCE);
-            cb.setSSLContext(new SSLContextBuilder().loadTrustMaterial(null, (TrustStrategy) (arg0, arg1) -> true).build());
-        } catch (Exception e) {
-            throw new UnirestConfigException(e);
-        }
+    public void configureSecurity(HttpClientBuilder cb) {
+        SSLContext context = SharedSslContexts.get(config);
+        cb.setSSLContext(context);
+        cb.setSSLSocketFactory(getSocketFactory());
+        cb.setSSLHostnameVerifier(getHostnameVerifier());
     }
 }
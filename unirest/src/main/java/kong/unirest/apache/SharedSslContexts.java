@@ -0,0 +1,165 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest.apache;
+
+import kong.unirest.Config;
+import kong.unirest.UnirestConfigException;
+import org.apache.http.ssl.SSLContextBuilder;
+import org.apache.http.ssl.SSLContexts;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyStore;
+import java.security.KeyStoreException;
+import java.security.MessageDigest;
+import java.security.cert.Certificate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.WeakHashMap;
+
+/**
+ * A process wide cache of SSL contexts. Every client with the same keystore, ssl verification and session cache
+ * gets the same context, and with it the same TLS session cache, so a connection opened by one client can resume
+ * the session of another instead of going through a full handshake.
+ * Keystores are told apart by their entries (the kind of entry, its certificates and its key) and password
+ * rather than by instance, so loading the same file twice still shares the context.
+ * Only the most recently used contexts are kept, so rotated keystores do not hold on to their key material.
+ */
+class SharedSslContexts {
+    static final int MAX_CONTEXTS = 16;
+    private static final Map<String, SSLContext> CONTEXTS = Collections.synchronizedMap(
+            new LinkedHashMap<String, SSLContext>(MAX_CONTEXTS, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, SSLContext> eldest) {
+                    return size() > MAX_CONTEXTS;
+                }
+            });
+
+    private static final Map<KeyStore, String> IDENTITIES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private SharedSslContexts() {
+    }
+
+    static SSLContext get(Config config) {
+        return CONTEXTS.computeIfAbsent(keyOf(config), k -> create(config));
+    }
+
+    static int size() {
+        return CONTEXTS.size();
+    }
+
+    private static SSLContext create(Config config) {
+        try {
+            SSLContextBuilder builder = SSLContexts.custom();
+            if (config.getKeystore() != null) {
+                builder.loadKeyMaterial(config.getKeystore(), password(config));
+            }
+            if (!config.isVerifySsl()) {
+                builder.loadTrustMaterial(null, (chain, authType) -> true);
+            }
+            SSLContext context = builder.build();
+            SSLSessionContext sessions = context.getClientSessionContext();
+            sessions.setSessionCacheSize(config.getConnectionOptions().getSslSessionCacheSize());
+            sessions.setSessionTimeout(config.getConnectionOptions().getSslSessionTimeout());
+            return context;
+        } catch (GeneralSecurityException e) {
+            throw new UnirestConfigException(e);
+        }
+    }
+
+    private static char[] password(Config config) {
+        return Optional.ofNullable(config.getKeyStorePassword())
+                .map(String::toCharArray)
+                .orElse(null);
+    }
+
+    private static String keyOf(Config config) {
+        return config.isVerifySsl()
+                + ":" + config.getConnectionOptions().getSslSessionCacheSize()
+                + ":" + config.getConnectionOptions().getSslSessionTimeout()
+                + ":" + fingerprint(config);
+    }
+
+    private static String fingerprint(Config config) {
+        KeyStore store = config.getKeystore();
+        if (store == null) {
+            return "";
+        }
+        char[] password = password(config);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(store.getType().getBytes(StandardCharsets.UTF_8));
+            List<String> aliases = new ArrayList<>(Collections.list(store.aliases()));
+            Collections.sort(aliases);
+            for (String alias : aliases) {
+                digest.update(alias.getBytes(StandardCharsets.UTF_8));
+                digest.update(entryType(store, alias));
+                if (store.isKeyEntry(alias)) {
+                    Key key = store.getKey(alias, password);
+                    if (key == null || key.getEncoded() == null) {
+                        // key material which can't be read out (like a hardware token) is told apart by keystore instance
+                        return IDENTITIES.computeIfAbsent(store, k -> UUID.randomUUID().toString());
+                    }
+                    digest.update(key.getEncoded());
+                }
+                for (Certificate cert : chainOf(store, alias)) {
+                    digest.update(cert.getEncoded());
+                }
+            }
+            if (password != null) {
+                digest.update(new String(password).getBytes(StandardCharsets.UTF_8));
+            }
+            return Base64.getEncoder().encodeToString(digest.digest());
+        } catch (GeneralSecurityException e) {
+            throw new UnirestConfigException(e);
+        }
+    }
+
+    private static byte entryType(KeyStore store, String alias) throws KeyStoreException {
+        if (store.isKeyEntry(alias)) {
+            return 'k';
+        }
+        return store.isCertificateEntry(alias) ? (byte) 'c' : (byte) '?';
+    }
+
+    private static Certificate[] chainOf(KeyStore store, String alias) throws GeneralSecurityException {
+        Certificate[] chain = store.getCertificateChain(alias);
+        if (chain != null) {
+            return chain;
+        }
+        Certificate cert = store.getCertificate(alias);
+        return cert == null ? new Certificate[0] : new Certificate[]{cert};
+    }
+}
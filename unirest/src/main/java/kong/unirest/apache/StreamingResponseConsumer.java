@@ -0,0 +1,153 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest.apache;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.entity.BasicHttpEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.nio.ContentDecoder;
+import org.apache.http.nio.IOControl;
+import org.apache.http.nio.entity.ContentInputStream;
+import org.apache.http.nio.protocol.AbstractAsyncResponseConsumer;
+import org.apache.http.nio.util.SharedInputBuffer;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Hands the response to the caller as soon as the head arrives, with an entity that reads from
+ * a fixed size buffer filled by the IO reactor. When the buffer is full the reactor suspends
+ * reading from the connection until the reader catches up, so the body is never held in memory.
+ * The entity must be read (or closed) from another thread than the reactor.
+ * Closing the entity early reads what is left so the connection can be reused, unless an abort is given,
+ * in which case the connection is dropped instead (for bodies which may never end).
+ */
+class StreamingResponseConsumer extends AbstractAsyncResponseConsumer<HttpResponse> {
+    private static final int BUFFER_SIZE = 32 * 1024;
+
+    private final Consumer<HttpResponse> onHead;
+    private final Runnable abort;
+    private HttpResponse response;
+    private SharedInputBuffer buffer;
+    private volatile boolean aborted;
+    private boolean delivered;
+    private volatile boolean finished;
+
+    StreamingResponseConsumer(Consumer<HttpResponse> onHead) {
+        this(onHead, null);
+    }
+
+    StreamingResponseConsumer(Consumer<HttpResponse> onHead, Runnable abort) {
+        this.onHead = onHead;
+        this.abort = abort;
+    }
+
+    @Override
+    protected void onResponseReceived(HttpResponse httpResponse) {
+        this.response = httpResponse;
+    }
+
+    @Override
+    protected void onEntityEnclosed(HttpEntity entity, ContentType contentType) {
+        buffer = new SharedInputBuffer(BUFFER_SIZE);
+        BasicHttpEntity streamed = new BasicHttpEntity();
+        streamed.setContentType(entity.getContentType());
+        streamed.setContentEncoding(entity.getContentEncoding());
+        streamed.setContentLength(entity.getContentLength());
+        streamed.setChunked(entity.isChunked());
+        streamed.setContent(new Content(buffer));
+        response.setEntity(streamed);
+        deliver();
+    }
+
+    @Override
+    protected void onContentReceived(ContentDecoder decoder, IOControl ioctrl) throws IOException {
+        buffer.consumeContent(decoder, ioctrl);
+    }
+
+    @Override
+    protected HttpResponse buildResult(HttpContext context) {
+        finished = true;
+        deliver();
+        return response;
+    }
+
+    @Override
+    protected void releaseResources() {
+        if (!finished && buffer != null) {
+            aborted = true;
+            buffer.shutdown();
+        }
+    }
+
+    private void deliver() {
+        if (!delivered) {
+            delivered = true;
+            onHead.accept(response);
+        }
+    }
+
+    private class Content extends FilterInputStream {
+        Content(SharedInputBuffer source) {
+            super(new ContentInputStream(source));
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return checkAborted(super.read(b, off, len));
+        }
+
+        @Override
+        public int read() throws IOException {
+            return checkAborted(super.read());
+        }
+
+        // drain whatever is left so the connection can be reused, or drop it if that is what was asked for
+        @Override
+        public void close() throws IOException {
+            if (abort != null && !finished) {
+                abort.run();
+            } else {
+                byte[] skip = new byte[BUFFER_SIZE];
+                while (read(skip) != -1) {
+                    // discard
+                }
+            }
+            super.close();
+        }
+
+        // a shutdown buffer just reports the end of the stream, so tell a dropped connection apart from the real end
+        private int checkAborted(int read) throws IOException {
+            if (read == -1 && aborted) {
+                throw new IOException("The connection was closed before the response body was complete");
+            }
+            return read;
+        }
+    }
+}
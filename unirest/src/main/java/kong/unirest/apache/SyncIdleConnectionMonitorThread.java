@@ -29,6 +29,10 @@ import java.util.concurrent.TimeUnit;
 
 import org.apache.http.conn.HttpClientConnectionManager;
 
+/**
+ * @deprecated Unirest no longer starts a thread per pool, idle connections are swept by an {@link IdleConnectionReaper}
+ */
+@Deprecated
 public class SyncIdleConnectionMonitorThread extends Thread {
 
 	private final HttpClientConnectionManager connMgr;
@@ -27,9 +27,34 @@ package kong.unirest.apache;
 
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 class Util {
+    // at most this many tasks run in each pool at once, the rest wait their turn
+    static final int MAX_WORKERS = Math.max(16, Runtime.getRuntime().availableProcessors() * 4);
+
+    // worker threads for the blocking side of async requests, like streamed responses, so the IO reactor never waits on them
+    static final ExecutorService WORKERS = newPool("unirest-async-worker");
+
+    // threads for writing streamed async request bodies. A writer waits on the IO reactor to drain its buffer,
+    // so writers have a pool of their own rather than queueing behind workers which wait on the same reactor
+    static final ExecutorService WRITERS = newPool("unirest-body-writer");
+
+    private static ExecutorService newPool(String name) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(MAX_WORKERS, MAX_WORKERS, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, name);
+                    t.setDaemon(true);
+                    return t;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
     static <T, M extends T> Optional<M> tryCast(T original, Class<M> too) {
         if (original != null && too.isAssignableFrom(original.getClass())) {
             return Optional.of((M) original);
@@ -0,0 +1,111 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package BehaviorTests;
+
+import kong.unirest.HttpResponse;
+import kong.unirest.TestUtil;
+import kong.unirest.Unirest;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AsBytesTest extends BddTest {
+
+    private final byte[] image = TestUtil.getFileBytes("/image.jpg");
+
+    @Test
+    public void canGetTheBodyAsBytes() {
+        HttpResponse<byte[]> response = Unirest.get(MockServer.BINARYFILE).asBytes();
+
+        assertEquals(200, response.getStatus());
+        assertArrayEquals(image, response.getBody());
+    }
+
+    @Test
+    public void canGetTheBodyAsBytesAsync() throws Exception {
+        byte[] body = Unirest.get(MockServer.BINARYFILE)
+                .asBytesAsync()
+                .get()
+                .getBody();
+
+        assertArrayEquals(image, body);
+    }
+
+    @Test
+    public void canGetTheBodyAsBytesAsyncWithCallback() {
+        Unirest.get(MockServer.BINARYFILE)
+                .asBytesAsync(r -> {
+                    assertArrayEquals(image, r.getBody());
+                    asyncSuccess();
+                });
+
+        assertAsync();
+    }
+
+    @Test
+    public void canGetTheBodyAsAByteBuffer() throws Exception {
+        ByteBuffer body = Unirest.get(MockServer.BINARYFILE).asByteBuffer().getBody();
+        ByteBuffer async = Unirest.get(MockServer.BINARYFILE).asByteBufferAsync().get().getBody();
+
+        assertFalse(body.isDirect());
+        assertArrayEquals(image, toArray(body));
+        assertArrayEquals(image, toArray(async));
+    }
+
+    @Test
+    public void canReadTheBodyIntoAPooledDirectBuffer() throws Exception {
+        ByteBuffer body = Unirest.get(MockServer.BINARYFILE).asDirectByteBuffer().getBody();
+
+        assertTrue(body.isDirect());
+        assertArrayEquals(image, toArray(body));
+        Unirest.config().getBufferPool().release(body);
+
+        ByteBuffer again = Unirest.get(MockServer.BINARYFILE).asDirectByteBufferAsync().get().getBody();
+        assertArrayEquals(image, toArray(again));
+    }
+
+    @Test
+    public void directBuffersAreUnzipped() {
+        ByteBuffer body = Unirest.get(MockServer.GZIP)
+                .queryString("zipme", "up")
+                .asDirectByteBuffer()
+                .getBody();
+
+        assertTrue(new String(toArray(body)).contains("zipme"));
+        Unirest.config().getBufferPool().release(body);
+    }
+
+    private byte[] toArray(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+}
@@ -25,18 +25,26 @@
 
 package BehaviorTests;
 
+import org.junit.Assume;
 import org.junit.Test;
+import kong.unirest.HttpResponse;
 import kong.unirest.JacksonObjectMapper;
 import kong.unirest.TestUtil;
 import kong.unirest.Unirest;
+import kong.unirest.UnirestException;
 
 import java.io.File;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class AsFileTest extends BddTest {
 
@@ -110,4 +118,110 @@ public class AsFileTest extends BddTest {
 
         assertTrue(com.google.common.io.Files.equal(f1, f2));
     }
+
+    @Test
+    public void canDownloadABinaryFileAsync() throws Exception {
+        File f1 = TestUtil.rezFile("/image.jpg");
+
+        File f2 = Unirest.get(MockServer.BINARYFILE)
+                .asFileAsync(test.toString())
+                .get()
+                .getBody();
+
+        assertTrue(com.google.common.io.Files.equal(f1, f2));
+    }
+
+    @Test
+    public void downloadsReplaceAnExistingFileWithoutLeavingPartsBehind() throws Exception {
+        Files.write(test, "old".getBytes());
+
+        File f2 = Unirest.get(MockServer.BINARYFILE)
+                .asFileAsync(test.toString())
+                .get()
+                .getBody();
+
+        assertTrue(com.google.common.io.Files.equal(TestUtil.rezFile("/image.jpg"), f2));
+        try (Stream<Path> files = Files.list(test.toAbsolutePath().getParent())) {
+            assertFalse(files.anyMatch(p -> p.getFileName().toString().endsWith(".part")));
+        }
+    }
+
+    @Test
+    public void canDownloadAFileInParallelRanges() throws Exception {
+        File result = Unirest.get(MockServer.BINARYFILE)
+                .asFileParallel(test.toString(), 4)
+                .getBody();
+
+        assertTrue(com.google.common.io.Files.equal(TestUtil.rezFile("/image.jpg"), result));
+        assertEquals(5, MockServer.rangesRequested().size());
+    }
+
+    @Test
+    public void parallelDownloadsResumeARangeThatWasCutShort() throws Exception {
+        MockServer.truncateRanges(1);
+
+        File result = Unirest.get(MockServer.BINARYFILE)
+                .asFileParallel(test.toString(), 4)
+                .getBody();
+
+        assertTrue(com.google.common.io.Files.equal(TestUtil.rezFile("/image.jpg"), result));
+        assertEquals(6, MockServer.rangesRequested().size());
+    }
+
+    @Test
+    public void retriesARangeWhenTheServerSendsADifferentOne() throws Exception {
+        MockServer.shiftRanges(1);
+
+        File result = Unirest.get(MockServer.BINARYFILE)
+                .asFileParallel(test.toString(), 4)
+                .getBody();
+
+        assertTrue(com.google.common.io.Files.equal(TestUtil.rezFile("/image.jpg"), result));
+    }
+
+    @Test
+    public void aRangeAnsweredWithAFullReplyIsDroppedRatherThanRead() throws Exception {
+        MockServer.replyToRangesInFull(1);
+
+        File result = Unirest.get(MockServer.BINARYFILE)
+                .asFileParallel(test.toString(), 4)
+                .getBody();
+
+        assertTrue(com.google.common.io.Files.equal(TestUtil.rezFile("/image.jpg"), result));
+        assertTrue(MockServer.fullReplyBytes() < MockServer.FULL_REPLY_SIZE);
+    }
+
+    @Test
+    public void aFailedProbeIsAUnirestException() {
+        try {
+            Unirest.get("http://localhost:1/binary").asFileParallel(test.toString(), 4);
+            fail("Expected the download to fail");
+        } catch (UnirestException e) {
+            assertNotNull(e.getCause());
+        }
+    }
+
+    @Test
+    public void parallelDownloadsFallBackToASingleRequestWhenRangesAreNotSupported() throws Exception {
+        MockServer.ignoreRanges();
+
+        HttpResponse<File> response = Unirest.get(MockServer.BINARYFILE)
+                .asFileParallel(test.toString(), 4);
+
+        assertEquals(200, response.getStatus());
+        assertTrue(com.google.common.io.Files.equal(TestUtil.rezFile("/image.jpg"), response.getBody()));
+    }
+
+    @Test
+    public void downloadsGetTheSamePermissionsAsAnyNewFile() throws Exception {
+        Assume.assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+        Path reference = Files.createFile(Paths.get("reference.json"));
+        try {
+            Unirest.get(MockServer.GET).asFile(test.toString());
+
+            assertEquals(Files.getPosixFilePermissions(reference), Files.getPosixFilePermissions(test));
+        } finally {
+            Files.delete(reference);
+        }
+    }
 }
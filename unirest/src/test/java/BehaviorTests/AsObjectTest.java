@@ -30,12 +30,40 @@ import kong.unirest.*;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
 import static junit.framework.TestCase.assertNull;
+import static junit.framework.TestCase.assertSame;
 import static junit.framework.TestCase.assertTrue;
 
 public class AsObjectTest extends BddTest {
 
+    @Test
+    public void canStreamTheElementsOfAnArray() {
+        try (Stream<Foo> foos = Unirest.post(MockServer.ECHO_RAW)
+                .body("[{\"bar\":\"a\"}, {\"bar\":\"b]\"}, {\"bar\":\"c\\\"\"}]")
+                .asObjectStream(Foo.class)
+                .getBody()) {
+            List<String> bars = foos.map(f -> f.bar).collect(Collectors.toList());
+            Assert.assertEquals(asList("a", "b]", "c\""), bars);
+        }
+    }
+
+    @Test
+    public void canStreamNewlineDelimitedJson() {
+        try (Stream<Foo> foos = Unirest.post(MockServer.ECHO_RAW)
+                .body("{\"bar\":\"a\"}\n{\"bar\":\"b\"}\n")
+                .asObjectStream(Foo.class)
+                .getBody()) {
+            Assert.assertEquals(asList("a", "b"), foos.map(f -> f.bar).collect(Collectors.toList()));
+        }
+    }
+
     @Test
     public void whenNoBodyIsReturned() {
         HttpResponse<RequestCapture> i = Unirest.get(MockServer.NOBODY).asObject(RequestCapture.class);
@@ -89,6 +117,50 @@ public class AsObjectTest extends BddTest {
         assertTrue(mapper.wasCalled);
     }
 
+    @Test
+    public void objectMappersCanReadTheRawBytesOfTheBody(){
+        TestingMapper mapper = new TestingMapper();
+        Unirest.get(MockServer.GET)
+                .queryString("foo", "bar")
+                .withObjectMapper(mapper)
+                .asObject(RequestCapture.class)
+                .getBody()
+                .assertParam("foo", "bar");
+
+        assertTrue(mapper.readBytes);
+    }
+
+    @Test
+    public void lazyBodiesAreOnlyParsedWhenAskedFor() {
+        Unirest.config().lazyResponseBodies(true);
+        TestingMapper mapper = new TestingMapper();
+
+        HttpResponse<RequestCapture> response = Unirest.get(MockServer.GET)
+                .queryString("foo", "bar")
+                .withObjectMapper(mapper)
+                .asObject(RequestCapture.class);
+
+        assertEquals(200, response.getStatus());
+        assertTrue(response.isSuccess());
+        assertFalse(mapper.readBytes);
+
+        response.getBody().assertParam("foo", "bar");
+        assertTrue(mapper.readBytes);
+        assertSame(response.getBody(), response.getBody());
+    }
+
+    @Test
+    public void lazyBodiesReportParsingErrorsWhenAskedFor() {
+        Unirest.config().lazyResponseBodies(true);
+
+        HttpResponse<RequestCapture> request = Unirest.get(MockServer.INVALID_REQUEST)
+                .asObject(RequestCapture.class);
+
+        assertTrue(request.getParsingError().isPresent());
+        assertEquals("You did something bad", request.getParsingError().get().getOriginalBody());
+        assertNull(request.getBody());
+    }
+
     @Test
     public void ifTheObjectMapperFailsReturnEmptyAndAddToParsingError() {
         HttpResponse<RequestCapture> request = Unirest.get(MockServer.INVALID_REQUEST)
@@ -128,6 +200,7 @@ public class AsObjectTest extends BddTest {
 
     public static class TestingMapper implements ObjectMapper {
         public boolean wasCalled;
+        public boolean readBytes;
 
         @Override
         public <T> T readValue(String value, Class<T> valueType) {
@@ -135,6 +208,12 @@ public class AsObjectTest extends BddTest {
             return new JacksonObjectMapper().readValue(value, valueType);
         }
 
+        @Override
+        public <T> T readValue(byte[] value, Class<T> valueType) {
+            this.readBytes = true;
+            return ObjectMapper.super.readValue(value, valueType);
+        }
+
         @Override
         public String writeValue(Object value) {
             return new Gson().toJson(value);
@@ -133,4 +133,35 @@ public class AsStringTest extends BddTest {
         assertEquals("šžýáíé", Unirest.get(MockServer.WINDOWS_LATIN_1_FILE)
                 .asString().getBody());
     }
+
+    @Test
+    public void canGetTheBodyAsACharSequence() throws Exception {
+        MockServer.setStringResponse("ěščřžýáíé");
+
+        CharSequence body = Unirest.get(MockServer.GET).asCharSequence().getBody();
+        CharSequence async = Unirest.get(MockServer.GET).asCharSequenceAsync().get().getBody();
+
+        assertEquals("ěščřžýáíé", body.toString());
+        assertEquals("ěščřžýáíé", async.toString());
+        assertEquals('š', body.charAt(1));
+        assertEquals("čř", body.subSequence(2, 4).toString());
+    }
+
+    @Test
+    public void charSequencesUseTheResponseEncoding() {
+        assertEquals("šžýáíé", Unirest.get(MockServer.WINDOWS_LATIN_1_FILE)
+                .responseEncoding("windows-1250")
+                .asCharSequence().getBody().toString());
+    }
+
+    @Test
+    public void lazyStringBodiesAreDecodedWhenAskedFor() {
+        Unirest.config().lazyResponseBodies(true);
+        MockServer.setStringResponse("ěščřžýáíé");
+
+        HttpResponse<String> response = Unirest.get(MockServer.GET).asString();
+
+        assertEquals(200, response.getStatus());
+        assertEquals("ěščřžýáíé", response.getBody());
+    }
 }
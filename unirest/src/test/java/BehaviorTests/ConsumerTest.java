@@ -27,8 +27,14 @@ package BehaviorTests;
 
 import org.junit.After;
 import org.junit.Test;
+import kong.unirest.Empty;
+import kong.unirest.HttpResponse;
+import kong.unirest.TestUtil;
 import kong.unirest.Unirest;
 
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 public class ConsumerTest extends BddTest {
@@ -63,4 +69,16 @@ public class ConsumerTest extends BddTest {
         }
         assertEquals(200, status);
     }
+
+    @Test
+    public void canConsumeTheBodyInChunksAsync() throws Exception {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        HttpResponse<Empty> response = Unirest.get(MockServer.BINARYFILE)
+                .thenConsumeChunksAsync(c -> body.write(c.array(), c.arrayOffset() + c.position(), c.remaining()))
+                .get();
+
+        assertEquals(200, response.getStatus());
+        assertArrayEquals(TestUtil.getFileBytes("/image.jpg"), body.toByteArray());
+    }
 }
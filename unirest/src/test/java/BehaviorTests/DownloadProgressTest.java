@@ -0,0 +1,121 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package BehaviorTests;
+
+import kong.unirest.ProgressListener;
+import kong.unirest.ResponseOptions;
+import kong.unirest.TestUtil;
+import kong.unirest.Unirest;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DownloadProgressTest extends BddTest {
+    private static final long IMAGE_SIZE = TestUtil.getFileBytes("/image.jpg").length;
+
+    private final List<Long> progress = new CopyOnWriteArrayList<>();
+    private final ProgressListener listener = (name, fileName, bytes, total) -> {
+        assertEquals(MockServer.BINARYFILE, name);
+        progress.add(bytes);
+    };
+
+    @Override
+    public void setUp() {
+        super.setUp();
+        Unirest.config().progressInterval(1024, 0);
+    }
+
+    @Test
+    public void canMonitorBytes() {
+        Unirest.get(MockServer.BINARYFILE)
+                .responseOptions(new ResponseOptions().downloadMonitor(listener))
+                .asBytes();
+
+        assertProgress();
+    }
+
+    @Test
+    public void canMonitorBytesAsync() throws Exception {
+        Unirest.get(MockServer.BINARYFILE)
+                .responseOptions(new ResponseOptions().downloadMonitor(listener))
+                .asBytesAsync()
+                .get();
+
+        assertProgress();
+    }
+
+    @Test
+    public void canMonitorFiles() throws Exception {
+        File file = File.createTempFile("download", ".jpg");
+        file.deleteOnExit();
+
+        Unirest.get(MockServer.BINARYFILE)
+                .responseOptions(new ResponseOptions().downloadMonitor(listener))
+                .asFile(file.getPath());
+
+        assertProgress();
+        assertEquals(IMAGE_SIZE, file.length());
+    }
+
+    @Test
+    public void canMonitorConsumers() throws Exception {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        Unirest.get(MockServer.BINARYFILE)
+                .responseOptions(new ResponseOptions().downloadMonitor(listener))
+                .thenConsumeChunksAsync(c -> body.write(c.array(), c.arrayOffset() + c.position(), c.remaining()))
+                .get();
+
+        assertProgress();
+        assertEquals(IMAGE_SIZE, body.size());
+    }
+
+    @Test
+    public void reportsOnlyTheEndWhenTheIntervalIsLargerThanTheBody() {
+        Unirest.config().progressInterval(1024 * 1024, 0);
+
+        Unirest.get(MockServer.BINARYFILE)
+                .responseOptions(new ResponseOptions().downloadMonitor(listener))
+                .asBytes();
+
+        assertEquals(1, progress.size());
+        assertEquals(IMAGE_SIZE, (long) progress.get(0));
+    }
+
+    private void assertProgress() {
+        assertTrue("Expected reports but got none", progress.size() > 0);
+        for (int i = 1; i < progress.size(); i++) {
+            assertTrue(progress.get(i) - progress.get(i - 1) >= 1024 || i == progress.size() - 1);
+        }
+        assertEquals(IMAGE_SIZE, (long) progress.get(progress.size() - 1));
+    }
+}
@@ -0,0 +1,145 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package BehaviorTests;
+
+import kong.unirest.Empty;
+import kong.unirest.HttpResponse;
+import kong.unirest.ServerSentEvent;
+import kong.unirest.Unirest;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class EventStreamTest extends BddTest {
+
+    @Test
+    public void canReadTheBodyAsAStreamOfLines() {
+        try (Stream<String> lines = Unirest.get(MockServer.LINES).asLines().getBody()) {
+            assertEquals(asList("one", "two", "three"), lines.collect(Collectors.toList()));
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void closingALineStreamEarlyReleasesTheConnection() {
+        Unirest.config().reset().concurrency(1, 1);
+        for (int i = 0; i < 3; i++) {
+            try (Stream<String> lines = Unirest.get(MockServer.LINES).asLines().getBody()) {
+                assertEquals("one", lines.findFirst().get());
+            }
+        }
+    }
+
+    @Test
+    public void readsEventsAndReconnectsWithTheLastEventId() {
+        List<ServerSentEvent> events = new CopyOnWriteArrayList<>();
+
+        HttpResponse response = Unirest.get(MockServer.EVENTS).asEventStream(events::add);
+
+        assertEvents(events);
+        assertEquals(204, response.getStatus());
+        assertEquals(asList("null", "2", "3"), MockServer.lastEventIds());
+    }
+
+    @Test
+    public void readsEventsAsync() throws Exception {
+        List<ServerSentEvent> events = new CopyOnWriteArrayList<>();
+
+        HttpResponse response = Unirest.get(MockServer.EVENTS)
+                .asEventStreamAsync(events::add)
+                .get(5, TimeUnit.SECONDS);
+
+        assertEvents(events);
+        assertEquals(204, response.getStatus());
+        assertEquals(asList("null", "2", "3"), MockServer.lastEventIds());
+    }
+
+    @Test
+    public void throwingFromTheListenerStopsTheStream() {
+        try {
+            Unirest.get(MockServer.EVENTS).asEventStream(e -> {
+                throw new IllegalStateException("enough");
+            });
+            fail("should have thrown");
+        } catch (IllegalStateException e) {
+            assertEquals("enough", e.getMessage());
+        }
+        assertEquals(asList("null"), MockServer.lastEventIds());
+    }
+
+    @Test
+    public void aResponseWhichIsNotAnEventStreamIsNotRetried() {
+        HttpResponse response = Unirest.get(MockServer.LINES).asEventStream(e -> fail("no events expected"));
+
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test(timeout = 20000)
+    public void openEventStreamsDoNotHoldUpStreamedUploads() throws Exception {
+        int streams = Math.max(16, Runtime.getRuntime().availableProcessors() * 4) + 1;
+        Unirest.config().reset().concurrency(streams * 2, streams * 2);
+        CountDownLatch open = new CountDownLatch(streams);
+        List<CompletableFuture<HttpResponse<Empty>>> subscriptions = new ArrayList<>();
+        for (int i = 0; i < streams; i++) {
+            subscriptions.add(Unirest.get(MockServer.OPEN_EVENTS).asEventStreamAsync(e -> open.countDown()));
+        }
+        assertTrue(open.await(10, TimeUnit.SECONDS));
+
+        HttpResponse<String> upload = Unirest.post(MockServer.ECHO_RAW)
+                .body(new ByteArrayInputStream("still going".getBytes(StandardCharsets.UTF_8)))
+                .asStringAsync()
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals("still going", upload.getBody());
+        subscriptions.forEach(s -> s.cancel(true));
+    }
+
+    private void assertEvents(List<ServerSentEvent> events) {
+        assertEquals(3, events.size());
+        assertEvent(events.get(0), "1", "message", "one");
+        assertEvent(events.get(1), "2", "update", "two\nlines");
+        assertEvent(events.get(2), "3", "message", "three");
+    }
+
+    private void assertEvent(ServerSentEvent event, String id, String type, String data) {
+        assertEquals(id, event.getId());
+        assertEquals(type, event.getEvent());
+        assertEquals(data, event.getData());
+    }
+}
@@ -25,9 +25,18 @@
 
 package BehaviorTests;
 
+import kong.unirest.HttpRequestSummary;
+import kong.unirest.HttpResponseSummary;
+import kong.unirest.MetricContext;
 import kong.unirest.Unirest;
+import kong.unirest.UniMetric;
 import org.junit.Test;
 
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 public class GZipTest extends BddTest {
     @Test
     public void testGzip() {
@@ -36,7 +45,7 @@ public class GZipTest extends BddTest {
                 .asObject(RequestCapture.class)
                 .getBody()
                 .assertParam("zipme", "up")
-                .assertHeader("Accept-Encoding","gzip");
+                .assertHeader("Accept-Encoding","gzip, deflate");
     }
 
     @Test
@@ -47,7 +56,7 @@ public class GZipTest extends BddTest {
                 .get()
                 .getBody()
                 .assertParam("zipme", "up")
-                .assertHeader("Accept-Encoding","gzip");
+                .assertHeader("Accept-Encoding","gzip, deflate");
     }
 
     @Test
@@ -60,4 +69,62 @@ public class GZipTest extends BddTest {
                 .getBody()
                 .assertNoHeader("Accept-Encoding");
     }
+
+    @Test
+    public void testDeflate() {
+        Unirest.get(MockServer.DEFLATE)
+                .queryString("zipme", "up")
+                .asObject(RequestCapture.class)
+                .getBody()
+                .assertParam("zipme", "up")
+                .assertHeader("Accept-Encoding","gzip, deflate");
+    }
+
+    @Test
+    public void testDeflateAsync() throws Exception {
+        Unirest.get(MockServer.DEFLATE)
+                .queryString("zipme", "up")
+                .asObjectAsync(RequestCapture.class)
+                .get()
+                .getBody()
+                .assertParam("zipme", "up");
+    }
+
+    @Test
+    public void decodedContentIsNoLongerReportedAsEncoded() {
+        String encoding = Unirest.get(MockServer.GZIP)
+                .asString()
+                .getHeaders()
+                .getFirst("Content-Encoding");
+
+        assertEquals("", encoding);
+    }
+
+    @Test
+    public void compressedAndDecodedSizesAreReportedToTheMetric() throws Exception {
+        AtomicLong compressed = new AtomicLong();
+        AtomicLong decoded = new AtomicLong();
+        Unirest.config().instrumentWith(new UniMetric() {
+            @Override
+            public MetricContext begin(HttpRequestSummary request) {
+                return new MetricContext() {
+                    @Override
+                    public void complete(HttpResponseSummary httpResponse, Exception ex) {
+                    }
+
+                    @Override
+                    public void contentDecoded(String encoding, long compressedBytes, long decodedBytes) {
+                        compressed.addAndGet(compressedBytes);
+                        decoded.addAndGet(decodedBytes);
+                    }
+                };
+            }
+        });
+
+        String body = Unirest.get(MockServer.GZIP).asString().getBody();
+
+        assertEquals(body.length(), decoded.get());
+        assertTrue(compressed.get() > 0);
+        assertTrue(compressed.get() < decoded.get());
+    }
 }
@@ -0,0 +1,99 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package BehaviorTests;
+
+import kong.unirest.ConnectionOptions;
+import kong.unirest.PoolStats;
+import kong.unirest.Unirest;
+import kong.unirest.apache.ApacheClient;
+import org.junit.Test;
+
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class IdleConnectionTest extends BddTest {
+
+    @Test
+    public void idleConnectionsAreClosed() throws Exception {
+        Unirest.config().connectionOptions(new ConnectionOptions().idleTimeout(50).sweepInterval(20));
+
+        Unirest.get(MockServer.GET).asString();
+        assertEquals(1, available(() -> Unirest.config().getPoolStats().get()));
+
+        assertEventuallyEmpty(() -> Unirest.config().getPoolStats().get());
+    }
+
+    @Test
+    public void idleAsyncConnectionsAreClosed() throws Exception {
+        Unirest.config().connectionOptions(new ConnectionOptions().idleTimeout(50).sweepInterval(20));
+
+        Unirest.get(MockServer.GET).asStringAsync().get();
+
+        assertEventuallyEmpty(() -> Unirest.config().getAsyncPoolStats().get());
+    }
+
+    @Test
+    public void connectionsAreClosedOnceTheyOutliveTheirTimeToLive() throws Exception {
+        Unirest.config().connectionOptions(new ConnectionOptions().timeToLive(50).idleTimeout(0).sweepInterval(20));
+
+        Unirest.get(MockServer.GET).asString();
+
+        assertEventuallyEmpty(() -> Unirest.config().getPoolStats().get());
+    }
+
+    @Test
+    public void connectionsAreKeptWhenSweepingIsOff() throws Exception {
+        Unirest.config().connectionOptions(new ConnectionOptions().idleTimeout(1).sweepInterval(0));
+
+        Unirest.get(MockServer.GET).asString();
+        Thread.sleep(100);
+
+        assertNull(((ApacheClient) Unirest.config().getClient()).getReaper());
+        assertEquals(1, available(() -> Unirest.config().getPoolStats().get()));
+    }
+
+    @Test
+    public void validatesAfterInactivity() {
+        Unirest.config().connectionOptions(new ConnectionOptions().validateAfterInactivity(500));
+
+        ApacheClient client = (ApacheClient) Unirest.config().getClient();
+
+        assertEquals(500, client.getManager().getValidateAfterInactivity());
+    }
+
+    private void assertEventuallyEmpty(Supplier<PoolStats> stats) throws InterruptedException {
+        for (int i = 0; i < 100 && available(stats) > 0; i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(0, available(stats));
+    }
+
+    private int available(Supplier<PoolStats> stats) {
+        return stats.get().getAvailable();
+    }
+}
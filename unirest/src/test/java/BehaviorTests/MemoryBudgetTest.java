@@ -0,0 +1,143 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package BehaviorTests;
+
+import kong.unirest.HttpRequestSummary;
+import kong.unirest.HttpResponse;
+import kong.unirest.MemoryBudget;
+import kong.unirest.MemoryBudgetException;
+import kong.unirest.MetricContext;
+import kong.unirest.UniMetric;
+import kong.unirest.Unirest;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static kong.unirest.TestUtil.assertException;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MemoryBudgetTest extends BddTest {
+    private static final String LARGE = String.join("", Collections.nCopies(20000, "0123456789"));
+
+    @Test
+    public void theBudgetIsHandedBackOnceTheResponseIsRead() throws Exception {
+        Unirest.config().bodyMemoryBudget(LARGE.length() * 4, 1000);
+        MemoryBudget budget = Unirest.config().getBodyMemoryBudget();
+
+        assertEquals(LARGE, Unirest.post(MockServer.ECHO_RAW).body(LARGE).asString().getBody());
+        assertEquals(0, budget.getUsedBytes());
+
+        HttpResponse<String> response = Unirest.post(MockServer.ECHO_RAW).body(LARGE).asStringAsync().get(5, TimeUnit.SECONDS);
+        assertEquals(LARGE, response.getBody());
+        assertEquals(0, budget.getUsedBytes());
+    }
+
+    @Test
+    public void thereIsNoBudgetByDefault() {
+        assertNull(Unirest.config().getBodyMemoryBudget());
+    }
+
+    @Test
+    public void requestsFailWhenTheBudgetIsUsedUp() {
+        Unirest.config().bodyMemoryBudget(1000, 0);
+        MemoryBudget budget = Unirest.config().getBodyMemoryBudget();
+        budget.acquire(1000);
+
+        assertException(() -> Unirest.post(MockServer.ECHO_RAW).body(LARGE).asString(),
+                MemoryBudgetException.class,
+                "The body memory budget of 1000 bytes is used up");
+        CompletableFuture<HttpResponse<String>> async = Unirest.post(MockServer.ECHO_RAW).body(LARGE).asStringAsync();
+        try {
+            async.join();
+            fail("Expected the budget to be used up");
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof MemoryBudgetException);
+        }
+
+        budget.release(1000);
+        assertEquals("hi", Unirest.post(MockServer.ECHO_RAW).body("hi").asString().getBody());
+        assertEquals(0, budget.getUsedBytes());
+    }
+
+    @Test
+    public void asyncResponsesFailStraightAwayRatherThanWaitOnTheReactor() throws Exception {
+        Unirest.config().bodyMemoryBudget(6000, 5000);
+        MemoryBudget budget = Unirest.config().getBodyMemoryBudget();
+        budget.acquire(5000);
+
+        long start = System.nanoTime();
+        try {
+            Unirest.get(MockServer.BINARYFILE).asBytesAsync().get(5, TimeUnit.SECONDS);
+            fail("Expected the budget to be used up");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof MemoryBudgetException);
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 4000);
+        assertEquals(5000, budget.getUsedBytes());
+
+        budget.release(5000);
+        assertEquals(5093, Unirest.get(MockServer.BINARYFILE).asBytesAsync().get(5, TimeUnit.SECONDS).getBody().length);
+        assertEquals(0, budget.getUsedBytes());
+    }
+
+    @Test
+    public void usageIsReportedToTheMetric() {
+        long[] peak = {0};
+        Unirest.config()
+                .bodyMemoryBudget(LARGE.length() * 4, 1000)
+                .instrumentWith(new UsageMetric(peak));
+
+        Unirest.post(MockServer.ECHO_RAW).body(LARGE).asString();
+
+        // the echo is chunked, so the reservation doubles as the body comes in
+        assertTrue(peak[0] >= LARGE.length() && peak[0] < LARGE.length() * 2);
+    }
+
+    private static class UsageMetric implements UniMetric {
+        private final long[] peak;
+
+        UsageMetric(long[] peak) {
+            this.peak = peak;
+        }
+
+        @Override
+        public MetricContext begin(HttpRequestSummary request) {
+            return (r, e) -> { };
+        }
+
+        @Override
+        public synchronized void bodyMemoryInUse(long usedBytes, long maxBytes) {
+            peak[0] = Math.max(peak[0], usedBytes);
+        }
+    }
+}
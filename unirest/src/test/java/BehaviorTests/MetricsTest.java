@@ -33,12 +33,16 @@ import org.junit.Ignore;
 import org.junit.Test;
 
 import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import static BehaviorTests.MockServer.*;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -172,6 +176,25 @@ public class MetricsTest extends BddTest {
         assertThat(exTime, greaterThan(0L));
     }
 
+    @Test
+    public void aFailingMetricNeverLeavesTheAsyncFutureHanging() throws Exception {
+        Unirest.config().instrumentWith((s) -> (r, e) -> {
+            throw new IllegalStateException("boom");
+        });
+
+        assertFailsWithin(Unirest.get(GET).asStringAsync());
+        assertEquals(200, Unirest.get(GET).thenConsumeChunksAsync(c -> { }).get(5, TimeUnit.SECONDS).getStatus());
+    }
+
+    private void assertFailsWithin(CompletableFuture<?> future) throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Expected the metric to fail the future");
+        } catch (ExecutionException e) {
+            assertEquals("boom", e.getCause().getMessage());
+        }
+    }
+
     @Test
     public void showWhatSparkDoes() {
         HashMap map = Unirest.get(SPARKLE)
@@ -30,19 +30,26 @@ import kong.unirest.Headers;
 import spark.Request;
 import spark.Response;
 import spark.Spark;
-import spark.utils.IOUtils;
 import kong.unirest.JacksonObjectMapper;
 import kong.unirest.TestUtil;
 
 import javax.servlet.ServletOutputStream;
-import java.io.File;
-import java.io.FileInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
 
 import static spark.Spark.*;
 
@@ -54,6 +61,15 @@ public class MockServer {
 
 	private static final JacksonObjectMapper om = new JacksonObjectMapper();
 	private static Object responseBody;
+	private static final List<String> rangesRequested = new CopyOnWriteArrayList<>();
+	private static final List<String> lastEventIds = new CopyOnWriteArrayList<>();
+	private static final AtomicInteger truncatedRanges = new AtomicInteger();
+	private static final AtomicInteger shiftedRanges = new AtomicInteger();
+	private static final AtomicInteger fullReplies = new AtomicInteger();
+	private static final AtomicLong fullReplyBytes = new AtomicLong();
+	public static final long FULL_REPLY_SIZE = 64L * 1024 * 1024;
+	private static boolean ignoreRanges;
+	private static CountDownLatch openEvents = new CountDownLatch(1);
 	public static final int PORT = 4567;
 	public static final String HOST = "http://localhost:" + PORT;
 	public static final String WINDOWS_LATIN_1_FILE = HOST + "data/cp1250.txt";
@@ -68,6 +84,10 @@ public class MockServer {
 	public static final String ERROR_RESPONSE = HOST + "/error";
 	public static final String DELETE = HOST + "/delete";
 	public static final String GZIP = HOST + "/gzip";
+	public static final String DEFLATE = HOST + "/deflate";
+	public static final String LINES = HOST + "/lines";
+	public static final String EVENTS = HOST + "/events";
+	public static final String OPEN_EVENTS = HOST + "/events/open";
 	public static final String PATCH = HOST + "/patch";
 	public static final String INVALID_REQUEST = HOST + "/invalid";
 	public static final String PASSED_PATH_PARAM = GET + "/{params}/passed";
@@ -75,6 +95,7 @@ public class MockServer {
 	public static final String CHEESE = HOST + "/cheese";
 	public static final String ALTGET = "http://127.0.0.1:" + PORT + "/get";
 	public static final String ECHO_RAW = HOST + "/raw";
+	public static final String INFLATE = HOST + "/inflate";
 
 
 	public static void setJsonAsResponse(Object o){
@@ -87,6 +108,15 @@ public class MockServer {
 		cookies.clear();
 		pages = 1;
 		onPage = 1;
+		rangesRequested.clear();
+		lastEventIds.clear();
+		truncatedRanges.set(0);
+		shiftedRanges.set(0);
+		fullReplies.set(0);
+		fullReplyBytes.set(0);
+		ignoreRanges = false;
+		openEvents.countDown();
+		openEvents = new CountDownLatch(1);
 	}
 
 	static {
@@ -98,6 +128,10 @@ public class MockServer {
 		post("/post", MockServer::jsonResponse);
 		get("/get", MockServer::jsonResponse);
 		get("/gzip", MockServer::gzipResponse);
+		get("/deflate", MockServer::deflateResponse);
+		get("/lines", MockServer::lines);
+		get("/events", MockServer::events);
+		get("/events/open", MockServer::openEvents);
 		get("/redirect", MockServer::redirect);
 		patch("/patch", MockServer::jsonResponse);
 		get("/invalid", MockServer::inValid);
@@ -111,6 +145,7 @@ public class MockServer {
 		get("/binary", MockServer::file);
 		get("/paged", MockServer::paged);
 		post("/raw", MockServer::echo);
+		post("/inflate", MockServer::inflate);
 		get("/error", MockServer::error);
         Runtime.getRuntime().addShutdownHook(new Thread(Spark::stop));
 		try {
@@ -150,6 +185,26 @@ public class MockServer {
 		return request.body();
 	}
 
+	// echo a compressed body back decoded, along with how it was sent
+	private static Object inflate(Request request, Response response) throws IOException {
+		String encoding = request.headers("Content-Encoding");
+		response.header("X-Content-Encoding", String.valueOf(encoding));
+		response.header("X-Transfer-Encoding", String.valueOf(request.headers("Transfer-Encoding")));
+		InputStream body = new ByteArrayInputStream(request.bodyAsBytes());
+		if ("gzip".equals(encoding)) {
+			body = new GZIPInputStream(body);
+		} else if ("deflate".equals(encoding)) {
+			body = new InflaterInputStream(body);
+		}
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		int read;
+		while ((read = body.read(buffer)) != -1) {
+			out.write(buffer, 0, read);
+		}
+		return new String(out.toByteArray(), StandardCharsets.UTF_8);
+	}
+
 	private static Object paged(Request request, Response response) {
 		if(pages > onPage){
 			onPage++;
@@ -165,18 +220,60 @@ public class MockServer {
 	}
 
 	private static Object file(Request request, Response response) throws Exception {
-		 File f = TestUtil.rezFile("/image.jpg");
+		 byte[] bytes = TestUtil.getFileBytes("/image.jpg");
 		 response.raw().setContentType("application/octet-stream");
 		 response.raw().setHeader("Content-Disposition", "attachment;filename=image.jpg");
-		 response.status(200);
+		 String range = request.headers("Range");
 		 final ServletOutputStream out = response.raw().getOutputStream();
-		 final FileInputStream in = new FileInputStream(f);
-		 IOUtils.copy(in, out);
+		 if (range == null || ignoreRanges) {
+			 response.status(200);
+			 out.write(bytes);
+		 } else if (!range.equals("bytes=0-0") && fullReplies.getAndDecrement() > 0) {
+			 rangesRequested.add(range);
+			 writeFullReply(response, out);
+			 return null;
+		 } else {
+			 writeRange(response, bytes, range, out);
+		 }
 		 out.close();
-		 in.close();
 		 return null;
 	}
 
+	// a big 200 in place of a range, counting how much of it gets through before the client hangs up
+	private static void writeFullReply(Response response, ServletOutputStream out) {
+		response.status(200);
+		byte[] chunk = new byte[64 * 1024];
+		try {
+			while (fullReplyBytes.get() < FULL_REPLY_SIZE) {
+				out.write(chunk);
+				out.flush();
+				fullReplyBytes.addAndGet(chunk.length);
+			}
+			out.close();
+		} catch (IOException e) {
+			// the client went away
+		}
+	}
+
+	private static void writeRange(Response response, byte[] bytes, String range, ServletOutputStream out) throws Exception {
+		rangesRequested.add(range);
+		String[] bounds = range.substring("bytes=".length()).split("-");
+		int start = Integer.parseInt(bounds[0]);
+		int end = Math.min(Integer.parseInt(bounds[1]), bytes.length - 1);
+		if (start > 0 && shiftedRanges.getAndDecrement() > 0) {
+			end = end - start;
+			start = 0;
+		}
+		int length = end - start + 1;
+		response.status(206);
+		response.header("Content-Range", "bytes " + start + "-" + end + "/" + bytes.length);
+		response.raw().setContentLength(length);
+		if (start > 0 && truncatedRanges.getAndDecrement() > 0) {
+			length = length / 2;
+		}
+		out.write(bytes, start, length);
+	}
+
 	private static Object nobody(Request request, Response response) {
 		Spark.halt(200);
 		return null;
@@ -197,6 +294,46 @@ public class MockServer {
 		return jsonResponse(request, response);
 	}
 
+	private static Object deflateResponse(Request request, Response response) throws IOException {
+		String body = (String) jsonResponse(request, response);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (DeflaterOutputStream deflate = new DeflaterOutputStream(out)) {
+			deflate.write(body.getBytes(StandardCharsets.UTF_8));
+		}
+		response.header("Content-Encoding", "deflate");
+		return out.toByteArray();
+	}
+
+	private static Object lines(Request request, Response response) {
+		response.type("text/plain");
+		return "one\ntwo\r\nthree\n";
+	}
+
+	// each connection sends the events after the last one seen, and a 204 once there are no more
+	private static Object events(Request request, Response response) {
+		String lastId = request.headers("Last-Event-ID");
+		lastEventIds.add(String.valueOf(lastId));
+		response.type("text/event-stream");
+		if (lastId == null) {
+			return "retry: 10\nid: 1\ndata: one\n\n: a comment\nid: 2\nevent: update\ndata: two\ndata: lines\n\n";
+		} else if (lastId.equals("2")) {
+			return "id: 3\ndata: three\n\ndata: never finished";
+		}
+		response.status(204);
+		return "";
+	}
+
+	// one event and then nothing more until the test is over
+	private static Object openEvents(Request request, Response response) throws Exception {
+		CountDownLatch until = openEvents;
+		response.type("text/event-stream");
+		ServletOutputStream out = response.raw().getOutputStream();
+		out.write("data: hello\n\n".getBytes(StandardCharsets.UTF_8));
+		out.flush();
+		until.await(30, TimeUnit.SECONDS);
+		return null;
+	}
+
 	private static Object proxiedResponse(Request req, Response res) {
 		return simpleResponse(req, res)
 				.orElseGet(() -> {
@@ -250,6 +387,34 @@ public class MockServer {
 		
 	}
 
+	public static List<String> lastEventIds() {
+		return lastEventIds;
+	}
+
+	public static List<String> rangesRequested() {
+		return rangesRequested;
+	}
+
+	public static void truncateRanges(int count) {
+		truncatedRanges.set(count);
+	}
+
+	public static void shiftRanges(int count) {
+		shiftedRanges.set(count);
+	}
+
+	public static void replyToRangesInFull(int count) {
+		fullReplies.set(count);
+	}
+
+	public static long fullReplyBytes() {
+		return fullReplyBytes.get();
+	}
+
+	public static void ignoreRanges() {
+		ignoreRanges = true;
+	}
+
 	public static void expectCookie(String name, String value) {
 		cookies.add(new Pair<>(name, value));
 	}
@@ -30,11 +30,14 @@ import org.junit.Test;
 
 import java.io.*;
 import java.net.URISyntaxException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static java.util.Arrays.asList;
 import static kong.unirest.TestUtil.getFileBytes;
 import static kong.unirest.TestUtil.rezFile;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
 public class MultiPartFormPostingTest extends BddTest {
     @Test
@@ -188,6 +191,41 @@ public class MultiPartFormPostingTest extends BddTest {
         assertAsync();
     }
 
+    @Test
+    public void testMultipartLargeFileAsync() throws Exception {
+        File file = rezFile("/image.jpg");
+
+        Unirest.post(MockServer.POST)
+                .field("name", "Mark")
+                .field("file", file)
+                .asObjectAsync(RequestCapture.class)
+                .get()
+                .getBody()
+                .assertParam("name", "Mark")
+                .getFile("image.jpg")
+                .assertSize(file.length());
+    }
+
+    @Test
+    public void asyncFailsIfTheBodyCannotBeRead() throws Exception {
+        InputStream broken = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("boom");
+            }
+        };
+
+        try {
+            Unirest.post(MockServer.POST)
+                    .field("file", broken, "broken.txt")
+                    .asEmptyAsync()
+                    .get(5, TimeUnit.SECONDS);
+            fail("Expected the request to fail");
+        } catch (ExecutionException e) {
+            assertEquals("boom", e.getCause().getMessage());
+        }
+    }
+
     @Test
     public void utf8FileNames() {
         InputStream fileData = new ByteArrayInputStream(new byte[] {'t', 'e', 's', 't'});
@@ -413,4 +451,46 @@ public class MultiPartFormPostingTest extends BddTest {
         assertEquals(expected, body);
     }
 
+    @Test
+    public void sendsAContentLengthWhenEveryPartHasAKnownSize() {
+        RequestCapture capture = Unirest.post(MockServer.POST)
+                .field("name", "Mark")
+                .field("file", rezFile("/spidey.jpg"))
+                .field("bytes", new byte[]{1, 2, 3}, "bytes.bin")
+                .asObject(RequestCapture.class)
+                .getBody()
+                .assertMultiPartContentType()
+                .assertNoHeader("Transfer-Encoding");
+
+        assertEquals(1, capture.headers.get("Content-Length").size());
+        capture.getFile("spidey.jpg").assertSize(rezFile("/spidey.jpg").length());
+    }
+
+    @Test
+    public void inputStreamPartsAreChunked() throws Exception {
+        Unirest.post(MockServer.POST)
+                .field("name", "Mark")
+                .field("file", new FileInputStream(rezFile("/test")), "test")
+                .asObject(RequestCapture.class)
+                .getBody()
+                .assertHeader("Transfer-Encoding", "chunked")
+                .assertParam("name", "Mark")
+                .getFile("test")
+                .assertBody("This is a test file");
+    }
+
+    @Test
+    public void partsWithTheSameNameKeepTheOrderTheyWereAddedIn() {
+        RequestCapture capture = Unirest.post(MockServer.POST)
+                .field("b", "1")
+                .field("a", "2")
+                .field("b", "3")
+                .field("a", "4")
+                .field("file", rezFile("/test"))
+                .asObject(RequestCapture.class)
+                .getBody();
+
+        assertEquals(asList("2", "4"), capture.params.get("a"));
+        assertEquals(asList("1", "3"), capture.params.get("b"));
+    }
 }
@@ -0,0 +1,112 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package BehaviorTests;
+
+import kong.unirest.*;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PoolStatsTest extends BddTest {
+    private static final String ROUTE = "http://localhost:" + MockServer.PORT;
+
+    @Test
+    public void noStatsUntilTheClientIsBuilt() {
+        assertFalse(Unirest.config().getPoolStats().isPresent());
+        assertFalse(Unirest.config().getAsyncPoolStats().isPresent());
+    }
+
+    @Test
+    public void aFinishedRequestLeavesAnAvailableConnection() {
+        Unirest.get(MockServer.GET).asString();
+
+        PoolStats stats = Unirest.config().getPoolStats().get();
+
+        assertRoute(stats);
+    }
+
+    @Test
+    public void aFinishedAsyncRequestLeavesAnAvailableConnection() throws Exception {
+        Unirest.get(MockServer.GET).asStringAsync().get();
+
+        PoolStats stats = Unirest.config().getAsyncPoolStats().get();
+
+        assertRoute(stats);
+    }
+
+    @Test
+    public void routeLimitsShowUpAsTheMax() {
+        Unirest.config().concurrency(ROUTE, 3);
+        Unirest.get(MockServer.GET).asString();
+
+        assertEquals(3, Unirest.config().getPoolStats().get().getRoutes().get(ROUTE).getMax());
+    }
+
+    @Test
+    public void statsArePushedToTheMetric() throws Exception {
+        CountDownLatch reported = new CountDownLatch(1);
+        AtomicReference<PoolStats> last = new AtomicReference<>();
+        Unirest.config()
+                .connectionOptions(new ConnectionOptions().statsInterval(10))
+                .instrumentWith(new UniMetric() {
+                    @Override
+                    public MetricContext begin(HttpRequestSummary request) {
+                        return (r, e) -> { };
+                    }
+
+                    @Override
+                    public void poolStats(PoolStats stats, boolean async) {
+                        if (!async && stats.getRoutes().containsKey(ROUTE)) {
+                            last.set(stats);
+                            reported.countDown();
+                        }
+                    }
+                });
+
+        Unirest.get(MockServer.GET).asString();
+
+        assertTrue("Expected the pool stats to be reported", reported.await(5, TimeUnit.SECONDS));
+        assertEquals(Config.DEFAULT_MAX_CONNECTIONS, last.get().getMax());
+    }
+
+    private void assertRoute(PoolStats stats) {
+        assertEquals(Config.DEFAULT_MAX_CONNECTIONS, stats.getMax());
+        assertEquals(0, stats.getLeased());
+        assertEquals(0, stats.getPending());
+        assertEquals(1, stats.getAvailable());
+
+        PoolStats route = stats.getRoutes().get(ROUTE);
+        assertEquals(Config.DEFAULT_MAX_PER_ROUTE, route.getMax());
+        assertEquals(0, route.getLeased());
+        assertEquals(1, route.getAvailable());
+    }
+}
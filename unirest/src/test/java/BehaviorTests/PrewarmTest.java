@@ -0,0 +1,110 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package BehaviorTests;
+
+import kong.unirest.*;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PrewarmTest extends BddTest {
+    private static final String ROUTE = "http://localhost:" + MockServer.PORT;
+
+    @Test
+    public void opensConnectionsInThePoolsOfTheClientsThatExist() throws Exception {
+        Unirest.config().getClient();
+        Unirest.config().getAsyncClient();
+
+        Unirest.config().prewarm(ROUTE, 3).get(5, TimeUnit.SECONDS);
+
+        assertAvailable(3, Unirest.config().getPoolStats().get());
+        assertAvailable(3, Unirest.config().getAsyncPoolStats().get());
+    }
+
+    @Test
+    public void onlyBuildsTheClientItIsAskedToWarm() throws Exception {
+        Unirest.config().prewarm(ROUTE, 3).get(5, TimeUnit.SECONDS);
+        assertFalse(Unirest.config().getPoolStats().isPresent());
+
+        Unirest.config().prewarm(ROUTE, 3, false).get(5, TimeUnit.SECONDS);
+
+        assertAvailable(3, Unirest.config().getPoolStats().get());
+        assertFalse(Unirest.config().getAsyncPoolStats().isPresent());
+    }
+
+    @Test
+    public void requestsUseTheWarmConnections() throws Exception {
+        Unirest.config().prewarm("localhost:" + MockServer.PORT, 2, false).get(5, TimeUnit.SECONDS);
+        Unirest.config().prewarm("localhost:" + MockServer.PORT, 2, true).get(5, TimeUnit.SECONDS);
+
+        Unirest.get(MockServer.GET).asString();
+        Unirest.get(MockServer.GET).asStringAsync().get();
+
+        assertOpen(2, Unirest.config().getPoolStats().get());
+        assertOpen(2, Unirest.config().getAsyncPoolStats().get());
+    }
+
+    @Test
+    public void neverOpensMoreThanTheRouteLimit() throws Exception {
+        Unirest.config().concurrency(ROUTE, 2);
+
+        Unirest.config().prewarm(ROUTE, 5, false).get(5, TimeUnit.SECONDS);
+        Unirest.config().prewarm(ROUTE, 5, true).get(5, TimeUnit.SECONDS);
+
+        assertAvailable(2, Unirest.config().getPoolStats().get());
+        assertAvailable(2, Unirest.config().getAsyncPoolStats().get());
+    }
+
+    @Test
+    public void failsWhenTheHostCannotBeReached() throws Exception {
+        for (boolean async : new boolean[]{false, true}) {
+            try {
+                Unirest.config().prewarm("http://localhost:1", 1, async).get(5, TimeUnit.SECONDS);
+                fail("Expected the warm up to fail");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof UnirestException);
+            }
+        }
+    }
+
+    private void assertAvailable(int expected, PoolStats stats) {
+        PoolStats route = stats.getRoutes().get(ROUTE);
+        assertEquals(0, route.getLeased());
+        assertEquals(expected, route.getAvailable());
+    }
+
+    // the async response can arrive before its connection is back in the pool, so count them both
+    private void assertOpen(int expected, PoolStats stats) {
+        PoolStats route = stats.getRoutes().get(ROUTE);
+        assertEquals(expected, route.getLeased() + route.getAvailable());
+    }
+}
@@ -0,0 +1,161 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package BehaviorTests;
+
+import kong.unirest.ByteBufferPublisher;
+import kong.unirest.HttpResponse;
+import kong.unirest.Unirest;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PublisherTest extends BddTest {
+    private static final String LARGE = String.join("", Collections.nCopies(20000, "0123456789"));
+
+    @Test
+    public void canReadTheBodyOneChunkAtATime() throws Exception {
+        ChunkCollector chunks = new ChunkCollector(1);
+
+        HttpResponse<ByteBufferPublisher> response = Unirest.post(MockServer.ECHO_RAW)
+                .body(LARGE)
+                .asPublisherAsync()
+                .get(5, TimeUnit.SECONDS);
+        assertEquals(200, response.getStatus());
+        response.getBody().subscribe(chunks);
+
+        chunks.awaitDone();
+        assertEquals(LARGE, chunks.bytes.toString("UTF-8"));
+        assertTrue(chunks.count.get() > 1);
+    }
+
+    @Test
+    public void nothingMoreIsReadThanWasAskedFor() throws Exception {
+        ChunkCollector chunks = new ChunkCollector(0);
+
+        Unirest.post(MockServer.ECHO_RAW)
+                .body(LARGE)
+                .asPublisherAsync()
+                .get(5, TimeUnit.SECONDS)
+                .getBody()
+                .subscribe(chunks);
+        chunks.subscription.request(2);
+        Thread.sleep(200);
+
+        assertEquals(2, chunks.count.get());
+        chunks.subscription.request(Long.MAX_VALUE);
+        chunks.awaitDone();
+        assertEquals(LARGE.length(), chunks.bytes.size());
+    }
+
+    @Test
+    public void compressedBodiesArePublishedDecoded() throws Exception {
+        ChunkCollector chunks = new ChunkCollector(Long.MAX_VALUE);
+
+        Unirest.get(MockServer.GZIP)
+                .queryString("zipme", "up")
+                .asPublisherAsync()
+                .get(5, TimeUnit.SECONDS)
+                .getBody()
+                .subscribe(chunks);
+
+        chunks.awaitDone();
+        assertTrue(chunks.bytes.toString("UTF-8").contains("zipme"));
+    }
+
+    @Test(timeout = 10000)
+    public void cancellingReleasesTheConnection() throws Exception {
+        Unirest.config().reset().concurrency(1, 1);
+        for (int i = 0; i < 3; i++) {
+            ChunkCollector chunks = new ChunkCollector(0);
+            Unirest.post(MockServer.ECHO_RAW)
+                    .body(LARGE)
+                    .asPublisherAsync()
+                    .get()
+                    .getBody()
+                    .subscribe(chunks);
+            chunks.subscription.cancel();
+        }
+        assertEquals(200, Unirest.get(MockServer.GET).asEmptyAsync().get().getStatus());
+    }
+
+    private static class ChunkCollector implements ByteBufferPublisher.Subscriber {
+        private final long batch;
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final AtomicInteger count = new AtomicInteger();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile ByteBufferPublisher.Subscription subscription;
+        private volatile Throwable error;
+
+        ChunkCollector(long batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public void onSubscribe(ByteBufferPublisher.Subscription s) {
+            subscription = s;
+            if (batch > 0) {
+                s.request(batch);
+            }
+        }
+
+        @Override
+        public void onNext(ByteBuffer chunk) {
+            count.incrementAndGet();
+            byte[] b = new byte[chunk.remaining()];
+            chunk.get(b);
+            bytes.write(b, 0, b.length);
+            if (batch == 1) {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            done.countDown();
+        }
+
+        void awaitDone() throws Exception {
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            if (error != null) {
+                throw new AssertionError(error);
+            }
+        }
+    }
+}
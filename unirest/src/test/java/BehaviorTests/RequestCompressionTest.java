@@ -0,0 +1,134 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package BehaviorTests;
+
+import kong.unirest.HttpResponse;
+import kong.unirest.Unirest;
+import kong.unirest.UnirestConfigException;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static kong.unirest.TestUtil.assertException;
+import static org.junit.Assert.assertEquals;
+
+public class RequestCompressionTest extends BddTest {
+    private static final String LARGE = String.join("", Collections.nCopies(20000, "0123456789"));
+
+    @Test
+    public void bodiesAreNotCompressedByDefault() {
+        HttpResponse<String> response = Unirest.post(MockServer.INFLATE).body(LARGE).asString();
+
+        assertEquals(LARGE, response.getBody());
+        assertEquals("null", response.getHeaders().getFirst("X-Content-Encoding"));
+    }
+
+    @Test
+    public void canGzipRequestBodies() {
+        Unirest.config().requestBodyCompression("gzip", 0);
+
+        HttpResponse<String> response = Unirest.post(MockServer.INFLATE).body(LARGE).asString();
+
+        assertEquals(LARGE, response.getBody());
+        assertEquals("gzip", response.getHeaders().getFirst("X-Content-Encoding"));
+        assertEquals("chunked", response.getHeaders().getFirst("X-Transfer-Encoding"));
+    }
+
+    @Test
+    public void canDeflateRequestBodiesAsync() throws Exception {
+        Unirest.config().requestBodyCompression("deflate", 0);
+
+        HttpResponse<String> response = Unirest.post(MockServer.INFLATE).body(LARGE).asStringAsync().get(5, TimeUnit.SECONDS);
+
+        assertEquals(LARGE, response.getBody());
+        assertEquals("deflate", response.getHeaders().getFirst("X-Content-Encoding"));
+    }
+
+    @Test
+    public void smallBodiesAreLeftAlone() {
+        Unirest.config().requestBodyCompression("gzip", 1000);
+
+        assertEquals("null", Unirest.post(MockServer.INFLATE).body("small").asString().getHeaders().getFirst("X-Content-Encoding"));
+        assertEquals("gzip", Unirest.post(MockServer.INFLATE).body(LARGE).asString().getHeaders().getFirst("X-Content-Encoding"));
+    }
+
+    @Test
+    public void compressionCanBeSetPerRequest() {
+        Unirest.config().requestBodyCompression("gzip", 0);
+
+        HttpResponse<String> response = Unirest.post(MockServer.INFLATE)
+                .bodyCompression(null, 0)
+                .body(LARGE)
+                .asString();
+        assertEquals("null", response.getHeaders().getFirst("X-Content-Encoding"));
+
+        response = Unirest.post(MockServer.INFLATE)
+                .bodyCompression("deflate", 0)
+                .body(LARGE)
+                .asString();
+        assertEquals("deflate", response.getHeaders().getFirst("X-Content-Encoding"));
+        assertEquals(LARGE, response.getBody());
+    }
+
+    @Test
+    public void streamingAndMultipartBodiesAreCompressedToo() throws Exception {
+        Unirest.config().requestBodyCompression("gzip", 1000);
+
+        HttpResponse<String> streamed = Unirest.post(MockServer.INFLATE)
+                .body(new ByteArrayInputStream(LARGE.getBytes(StandardCharsets.UTF_8)))
+                .asStringAsync()
+                .get(5, TimeUnit.SECONDS);
+        assertEquals(LARGE, streamed.getBody());
+
+        HttpResponse<String> multipart = Unirest.post(MockServer.INFLATE)
+                .field("data", new ByteArrayInputStream(LARGE.getBytes(StandardCharsets.UTF_8)), "data.txt")
+                .asString();
+        assertEquals("gzip", multipart.getHeaders().getFirst("X-Content-Encoding"));
+        assertEquals(true, multipart.getBody().contains(LARGE));
+    }
+
+    @Test
+    public void alreadyEncodedBodiesAreLeftAlone() {
+        Unirest.config().requestBodyCompression("gzip", 0);
+
+        HttpResponse<String> response = Unirest.post(MockServer.ECHO_RAW)
+                .header("Content-Encoding", "identity")
+                .body(LARGE)
+                .asString();
+
+        assertEquals(LARGE, response.getBody());
+    }
+
+    @Test
+    public void onlyGzipAndDeflateAreSupported() {
+        assertException(() -> Unirest.config().requestBodyCompression("br", 0),
+                UnirestConfigException.class,
+                "Unsupported content encoding: br");
+    }
+}
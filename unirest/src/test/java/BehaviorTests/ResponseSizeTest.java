@@ -0,0 +1,132 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package BehaviorTests;
+
+import kong.unirest.HttpResponse;
+import kong.unirest.ResponseOptions;
+import kong.unirest.ResponseTooLargeException;
+import kong.unirest.Unirest;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ResponseSizeTest extends BddTest {
+    private static final String SMALL = String.join("", Collections.nCopies(10, "0123456789"));
+    private static final String LARGE = String.join("", Collections.nCopies(20000, "0123456789"));
+
+    @Test
+    public void bodiesOverTheConfiguredLimitFail() {
+        Unirest.config().maxResponseSize(50);
+
+        assertTooLarge(() -> Unirest.post(MockServer.ECHO_RAW).body(SMALL).asString(), 50);
+        assertTooLarge(() -> Unirest.post(MockServer.ECHO_RAW).body(LARGE).asString(), 50);
+    }
+
+    @Test
+    public void theLimitCanBeSetPerRequest() {
+        assertTooLarge(() -> Unirest.post(MockServer.ECHO_RAW)
+                .responseOptions(new ResponseOptions().maxSize(1000))
+                .body(LARGE)
+                .asBytes(), 1000);
+
+        assertEquals(LARGE, Unirest.post(MockServer.ECHO_RAW)
+                .responseOptions(new ResponseOptions().maxSize(LARGE.length()))
+                .body(LARGE)
+                .asString()
+                .getBody());
+    }
+
+    @Test
+    public void theLimitAppliesToTheUnzippedBody() {
+        assertTooLarge(() -> Unirest.get(MockServer.GZIP).responseOptions(new ResponseOptions().maxSize(10)).asString(), 10);
+    }
+
+    @Test
+    public void theClientCanCarryOnAfterDroppingAConnection() {
+        Unirest.config().maxResponseSize(1000);
+        for (int i = 0; i < 10; i++) {
+            assertTooLarge(() -> Unirest.post(MockServer.ECHO_RAW).body(LARGE).asString(), 1000);
+        }
+
+        HttpResponse<String> response = Unirest.post(MockServer.ECHO_RAW).body(SMALL).asString();
+        assertEquals(SMALL, response.getBody());
+    }
+
+    @Test
+    public void bodiesOverTheLimitFailAsync() throws Exception {
+        Unirest.config().maxResponseSize(1000);
+        try {
+            Unirest.post(MockServer.ECHO_RAW).body(LARGE).asStringAsync().get(5, TimeUnit.SECONDS);
+            fail("Expected the body to be too large");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof ResponseTooLargeException);
+        }
+
+        HttpResponse<String> response = Unirest.post(MockServer.ECHO_RAW).body(SMALL).asStringAsync().get(5, TimeUnit.SECONDS);
+        assertEquals(SMALL, response.getBody());
+    }
+
+    @Test
+    public void aDirectBufferGoesBackToThePoolWhenTheBodyIsTooLarge() {
+        Unirest.config().maxResponseSize(1000);
+
+        assertTooLarge(() -> Unirest.post(MockServer.ECHO_RAW).body(LARGE).asDirectByteBuffer(), 1000);
+
+        assertTrue(Unirest.config().getBufferPool().getIdleDirectBytes() > 0);
+    }
+
+    @Test
+    public void largeLazyBodiesCanBeSpilledToDisk() {
+        Unirest.config().lazyResponseBodies(true).responseSpillThreshold(1000);
+
+        HttpResponse<String> response = Unirest.post(MockServer.ECHO_RAW).body(LARGE).asString();
+
+        assertEquals(LARGE, response.getBody());
+    }
+
+    @Test
+    public void largeBodiesAreSpilledToDiskWhenParsedStraightAway() {
+        Unirest.config().responseSpillThreshold(1000);
+
+        assertEquals(LARGE, Unirest.post(MockServer.ECHO_RAW).body(LARGE).asString().getBody());
+        assertEquals(SMALL, Unirest.post(MockServer.ECHO_RAW).body(SMALL).asString().getBody());
+    }
+
+    private void assertTooLarge(Runnable request, long limit) {
+        try {
+            request.run();
+            fail("Expected the body to be too large");
+        } catch (ResponseTooLargeException e) {
+            assertEquals(limit, e.getLimit());
+        }
+    }
+}
@@ -33,11 +33,21 @@ import org.json.JSONArray;
 import org.json.JSONObject;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
 
 import static kong.unirest.TestUtil.assertException;
+import static org.junit.Assert.assertEquals;
 
 public class UniBodyPostingTest extends BddTest {
+    private static final String LARGE = String.join("", Collections.nCopies(20000, "0123456789"));
+
     @Test
     public void canSetCharsetOfBody(){
         Unirest.post(MockServer.POST)
@@ -103,6 +113,63 @@ public class UniBodyPostingTest extends BddTest {
                 .asserBody("{\"url\":\"http://localhost:4567/post\"}");
     }
 
+    @Test
+    public void postAPojoObjectUsesTheBodyCharset() {
+        Unirest.post(MockServer.POST)
+                .charset(StandardCharsets.US_ASCII)
+                .body(new Foo("bar"))
+                .asObject(RequestCapture.class)
+                .getBody()
+                .assertContentType("text/plain; charset=US-ASCII")
+                .asserBody("{\"bar\":\"bar\"}")
+                .assertCharset(StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    public void canSetCharsetOfAPojoBodyAfterMovingToBody() {
+        Unirest.post(MockServer.POST)
+                .body(new Foo("bar"))
+                .charset(StandardCharsets.US_ASCII)
+                .asObject(RequestCapture.class)
+                .getBody()
+                .assertContentType("text/plain; charset=US-ASCII")
+                .asserBody("{\"bar\":\"bar\"}")
+                .assertCharset(StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    public void objectBodiesAreSerializedAsTheyAreSentSoTheirLengthIsNotKnown() {
+        Unirest.post(MockServer.POST)
+                .body(new Foo("bar"))
+                .asObject(RequestCapture.class)
+                .getBody()
+                .asserBody("{\"bar\":\"bar\"}")
+                .assertHeader("Transfer-Encoding", "chunked");
+    }
+
+    @Test
+    public void theLengthOfAnObjectBodyCanBeCountedUpFront() {
+        Unirest.post(MockServer.POST)
+                .body(new Foo("bar"))
+                .precomputeLength(true)
+                .asObject(RequestCapture.class)
+                .getBody()
+                .asserBody("{\"bar\":\"bar\"}")
+                .assertHeader("Content-Length", "13")
+                .assertNoHeader("Transfer-Encoding");
+    }
+
+    @Test
+    public void objectBodiesAreStreamedAsync() throws Exception {
+        String echo = Unirest.post(MockServer.ECHO_RAW)
+                .body(new Foo(LARGE))
+                .asStringAsync()
+                .get(5, TimeUnit.SECONDS)
+                .getBody();
+
+        assertEquals("{\"bar\":\"" + LARGE + "\"}", echo);
+    }
+
     @Test
     public void testDeleteBody() {
         String body = "{\"jsonString\":{\"members\":\"members1\"}}";
@@ -157,4 +224,68 @@ public class UniBodyPostingTest extends BddTest {
                 UnirestConfigException.class,
                 "No Object Mapper Configured. Please config one with Unirest.config().setObjectMapper");
     }
+
+    @Test
+    public void canStreamAFileAsTheBody() throws Exception {
+        File file = largeFile().toFile();
+
+        Unirest.post(MockServer.POST)
+                .body(file)
+                .asObject(RequestCapture.class)
+                .getBody()
+                .asserBody(LARGE)
+                .assertHeader("Content-Length", String.valueOf(LARGE.length()));
+    }
+
+    @Test
+    public void canStreamAPathAsTheBodyAsync() throws Exception {
+        Path file = largeFile();
+
+        String echo = Unirest.post(MockServer.ECHO_RAW)
+                .body(file)
+                .asStringAsync()
+                .get(5, TimeUnit.SECONDS)
+                .getBody();
+
+        assertEquals(LARGE, echo);
+    }
+
+    @Test
+    public void streamsOfUnknownLengthAreSentChunked() {
+        Unirest.post(MockServer.POST)
+                .body(new ByteArrayInputStream(LARGE.getBytes(StandardCharsets.UTF_8)))
+                .asObject(RequestCapture.class)
+                .getBody()
+                .asserBody(LARGE)
+                .assertHeader("Transfer-Encoding", "chunked");
+    }
+
+    @Test
+    public void canStreamAnInputStreamAsync() throws Exception {
+        String echo = Unirest.post(MockServer.ECHO_RAW)
+                .body(new ByteArrayInputStream(LARGE.getBytes(StandardCharsets.UTF_8)))
+                .asStringAsync()
+                .get(5, TimeUnit.SECONDS)
+                .getBody();
+
+        assertEquals(LARGE, echo);
+    }
+
+    @Test
+    public void sendsTheRemainingBytesOfAByteBuffer() throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(LARGE.length() + 3);
+        buffer.put("abc".getBytes(StandardCharsets.UTF_8)).put(LARGE.getBytes(StandardCharsets.UTF_8)).flip();
+        buffer.position(3);
+
+        assertEquals(LARGE, Unirest.post(MockServer.ECHO_RAW).body(buffer).asString().getBody());
+        assertEquals(LARGE, Unirest.post(MockServer.ECHO_RAW).body(buffer).asStringAsync().get(5, TimeUnit.SECONDS).getBody());
+        assertEquals(3, buffer.position());
+    }
+
+    private Path largeFile() throws Exception {
+        Path file = Files.createTempFile("unirest-body", ".txt");
+        file.toFile().deleteOnExit();
+        Files.write(file, LARGE.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
 }
@@ -94,7 +94,7 @@ public class UploadProgressTest extends BddTest {
                 .uploadMonitor(monitor)
                 .asEmpty();
 
-        assertSpideyFileUpload("spidey.jpg");
+        assertSpideyFileTransfer();
     }
 
     @Test
@@ -102,9 +102,10 @@ public class UploadProgressTest extends BddTest {
         Unirest.post(MockServer.POST)
                 .field("spidey", spidey)
                 .uploadMonitor(monitor)
-                .asEmpty();
+                .asEmptyAsync()
+                .get();
 
-        assertSpideyFileUpload("spidey.jpg");
+        assertSpideyFileTransfer();
     }
 
     @Test
@@ -115,7 +116,7 @@ public class UploadProgressTest extends BddTest {
                 .uploadMonitor(monitor)
                 .asEmpty();
 
-        assertSpideyFileUpload("spidey.jpg");
+        assertSpideyFileTransfer();
         assertOtherFileUpload();
     }
 
@@ -129,6 +130,56 @@ public class UploadProgressTest extends BddTest {
         assertSpideyFileUpload("spidey");
     }
 
+    @Test
+    public void canMonitorIfPassedAsInputStreamAsync() throws Exception {
+        Unirest.post(MockServer.POST)
+                .field("spidey", new FileInputStream(spidey))
+                .uploadMonitor(monitor)
+                .asEmptyAsync()
+                .get();
+
+        assertSpideyFileUpload("spidey");
+    }
+
+    @Test
+    public void canReportLessOften() throws Exception {
+        Unirest.config().progressInterval(64 * 1024, 0);
+
+        Unirest.post(MockServer.POST)
+                .field("spidey", new FileInputStream(spidey))
+                .uploadMonitor(monitor)
+                .asEmpty();
+
+        Monitor.Stats stat = monitor.get("spidey");
+        assertEquals(1, stat.timesCalled);
+        assertEquals(asList(46246L), stat.progress);
+    }
+
+    @Test
+    public void canMonitorUniBodies() {
+        Unirest.post(MockServer.POST)
+                .body(spidey)
+                .uploadMonitor(monitor)
+                .asEmpty();
+
+        Monitor.Stats stat = monitor.get("spidey.jpg");
+        assertEquals(46246L, (long) stat.progress.get(stat.progress.size() - 1));
+        assertEquals(46246L, stat.total);
+    }
+
+    @Test
+    public void canMonitorUniBodiesAsync() throws Exception {
+        Unirest.post(MockServer.POST)
+                .body(new FileInputStream(spidey))
+                .uploadMonitor(monitor)
+                .asEmptyAsync()
+                .get();
+
+        Monitor.Stats stat = monitor.get("");
+        assertEquals(46246L, (long) stat.progress.get(stat.progress.size() - 1));
+        assertEquals(-1L, stat.total);
+    }
+
     private void assertOtherFileUpload() {
         Monitor.Stats stat = monitor.get("test");
         assertEquals(1, stat.timesCalled);
@@ -136,11 +187,19 @@ public class UploadProgressTest extends BddTest {
         assertEquals(19L, stat.total);
     }
 
+    // files are copied in 64kb buffers, so a small one reports once
+    private void assertSpideyFileTransfer() {
+        Monitor.Stats stat = monitor.get("spidey.jpg");
+        assertEquals(1, stat.timesCalled);
+        assertEquals(asList(46246L), stat.progress);
+        assertEquals(this.spidey.length(), stat.total);
+    }
+
     private void assertSpideyFileUpload(String name) {
         Monitor.Stats stat = monitor.get(name);
         assertEquals(12, stat.timesCalled);
         assertEquals(asList(4096L, 8192L, 12288L, 16384L, 20480L, 24576L, 28672L,
                 32768L, 36864L, 40960L, 45056L, 46246L), stat.progress);
-        assertEquals(this.spidey.length(), stat.total);
+        assertEquals(-1L, stat.total);
     }
 }
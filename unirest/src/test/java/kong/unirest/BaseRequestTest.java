@@ -83,6 +83,33 @@ public class BaseRequestTest {
         assertEquals(7979, request.getProxy().getPort().intValue());
     }
 
+    @Test
+    public void responseOptionsCanOverrideConfig() {
+        Config config = new Config();
+        config.maxResponseSize(42).responseSpillThreshold(43);
+
+        HttpRequest request = new TestRequest(config);
+
+        assertEquals(42, request.getResponseOptions().getMaxSize());
+        assertEquals(43, request.getResponseOptions().getSpillThreshold());
+        request.responseOptions(new ResponseOptions().maxSize(111));
+        assertEquals(111, request.getResponseOptions().getMaxSize());
+        assertEquals(43, request.getResponseOptions().getSpillThreshold());
+    }
+
+    @Test
+    public void bodyCompressionCanBeTurnedOffPerRequest() {
+        Config config = new Config();
+        config.requestBodyCompression("gzip", 42);
+
+        HttpRequest request = new TestRequest(config);
+
+        assertEquals("gzip", request.getBodyCompression().getEncoding().get());
+        assertEquals(42, request.getBodyCompression().getMinBytes());
+        request.bodyCompression(null, 0);
+        assertFalse(request.getBodyCompression().getEncoding().isPresent());
+    }
+
     private class TestRequest extends BaseRequest<TestRequest> {
         TestRequest(BaseRequest httpRequest) {
             super(httpRequest);
@@ -0,0 +1,145 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class BufferPoolTest {
+
+    private BufferPool pool = new BufferPool(4, 2);
+
+    @Test
+    public void readsABodyOfKnownLength() throws IOException {
+        byte[] body = pool.readAll(stream("hello world"), 11);
+
+        assertArrayEquals("hello world".getBytes(), body);
+        assertEquals(0, pool.getIdleCount());
+    }
+
+    @Test
+    public void readsABodyOfUnknownLengthThroughPooledBuffers() throws IOException {
+        byte[] body = pool.readAll(stream("hello world"), -1);
+
+        assertArrayEquals("hello world".getBytes(), body);
+        assertEquals(2, pool.getIdleCount());
+    }
+
+    @Test
+    public void toleratesAContentLengthThatIsWrong() throws IOException {
+        assertArrayEquals("hello world".getBytes(), pool.readAll(stream("hello world"), 5));
+        assertArrayEquals("hello".getBytes(), pool.readAll(stream("hello"), 50));
+        assertArrayEquals(new byte[0], pool.readAll(stream(""), -1));
+    }
+
+    @Test
+    public void aHugeDeclaredLengthIsNotAllocatedUpFront() throws IOException {
+        assertArrayEquals("hello".getBytes(), pool.readAll(stream("hello"), Integer.MAX_VALUE - 8));
+    }
+
+    @Test
+    public void growsPastTheFirstAllocationForLargeBodies() throws IOException {
+        byte[] large = new byte[BufferPool.MAX_INITIAL_ALLOCATION * 3 + 7];
+        new Random(1).nextBytes(large);
+
+        assertArrayEquals(large, pool.readAll(new ByteArrayInputStream(large), large.length));
+    }
+
+    @Test
+    public void reusesReleasedBuffers() {
+        byte[] buffer = pool.acquire();
+        pool.release(buffer);
+
+        assertSame(buffer, pool.acquire());
+        assertNotSame(buffer, pool.acquire());
+    }
+
+    @Test
+    public void dropsBuffersOfTheWrongSizeOrBeyondTheLimit() {
+        pool.release(new byte[3]);
+        pool.release(new byte[4]);
+        pool.release(new byte[4]);
+        pool.release(new byte[4]);
+
+        assertEquals(2, pool.getIdleCount());
+    }
+
+    @Test
+    public void directBuffersAreRoundedUpToAPowerOfTwo() {
+        ByteBuffer buffer = pool.acquireDirect(100);
+
+        assertTrue(buffer.isDirect());
+        assertEquals(128, buffer.capacity());
+        assertEquals(4, pool.acquireDirect(0).capacity());
+    }
+
+    @Test
+    public void reusesReleasedDirectBuffersOfTheSameSize() {
+        ByteBuffer buffer = pool.acquireDirect(100);
+        buffer.put((byte) 1);
+        pool.release(buffer);
+
+        ByteBuffer again = pool.acquireDirect(120);
+        assertSame(buffer, again);
+        assertEquals(0, again.position());
+        assertNotSame(buffer, pool.acquireDirect(120));
+    }
+
+    @Test
+    public void keepsNoMoreIdleDirectMemoryThanTheLimit() {
+        BufferPool small = new BufferPool(4, 8, 256);
+        ByteBuffer first = small.acquireDirect(128);
+        ByteBuffer second = small.acquireDirect(128);
+        ByteBuffer third = small.acquireDirect(128);
+
+        small.release(first);
+        small.release(second);
+        small.release(third);
+
+        assertEquals(256, small.getIdleDirectBytes());
+        assertSame(first, small.acquireDirect(128));
+        assertEquals(128, small.getIdleDirectBytes());
+    }
+
+    @Test(expected = UnirestConfigException.class)
+    public void buffersMustHaveASize() {
+        new BufferPool(0, 1);
+    }
+
+    private ByteArrayInputStream stream(String s) {
+        return new ByteArrayInputStream(s.getBytes());
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import org.junit.Test;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+
+public class ByteCharSequenceTest {
+
+    @Test
+    public void readsAsciiStraightFromTheBytes() {
+        CharSequence text = seq("hello world", StandardCharsets.UTF_8);
+
+        assertEquals(11, text.length());
+        assertEquals('w', text.charAt(6));
+        assertEquals("world", text.subSequence(6, 11).toString());
+        assertEquals("or", text.subSequence(6, 11).subSequence(1, 3).toString());
+    }
+
+    @Test
+    public void readsLatin1StraightFromTheBytes() {
+        CharSequence text = seq("föö", StandardCharsets.ISO_8859_1);
+
+        assertEquals(3, text.length());
+        assertEquals('ö', text.charAt(2));
+        assertEquals("föö", text.toString());
+    }
+
+    @Test
+    public void decodesMultiByteText() {
+        CharSequence text = seq("ěščřžýáíé", StandardCharsets.UTF_8);
+
+        assertEquals(9, text.length());
+        assertEquals('ř', text.charAt(3));
+        assertEquals("ěščřžýáíé", text.toString());
+    }
+
+    @Test
+    public void decodesOtherCharsets() {
+        Charset cp1250 = Charset.forName("windows-1250");
+
+        assertEquals("šžýáíé", seq("šžýáíé", cp1250).toString());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void cannotReadPastTheEndOfASubSequence() {
+        seq("hello world", StandardCharsets.US_ASCII).subSequence(0, 5).charAt(5);
+    }
+
+    private CharSequence seq(String value, Charset charset) {
+        return new ByteCharSequence(value.getBytes(charset), charset);
+    }
+}
@@ -28,8 +28,11 @@ package kong.unirest;
 import kong.unirest.apache.ApacheAsyncClient;
 import kong.unirest.apache.ApacheClient;
 import kong.unirest.apache.AsyncIdleConnectionMonitorThread;
+import kong.unirest.apache.IdleConnectionReaper;
 import kong.unirest.apache.SyncIdleConnectionMonitorThread;
+import org.apache.http.HttpHost;
 import org.apache.http.client.HttpClient;
+import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
@@ -55,11 +58,11 @@ public class ConfigTest {
     @Mock
     private PoolingHttpClientConnectionManager clientManager;
     @Mock
-    private SyncIdleConnectionMonitorThread connMonitor;
+    private IdleConnectionReaper connMonitor;
     @Mock
     private CloseableHttpAsyncClient asyncClient;
     @Mock
-    private AsyncIdleConnectionMonitorThread asyncMonitor;
+    private IdleConnectionReaper asyncMonitor;
     @Mock
     private PoolingNHttpClientConnectionManager manager;
 
@@ -100,6 +103,59 @@ public class ConfigTest {
         Unirest.shutDown();
     }
 
+    @Test
+    public void concurrencyCanBeChangedWhileTheClientsAreRunning() {
+        Config running = new Config();
+        ApacheClient sync = (ApacheClient) running.getClient();
+        ApacheAsyncClient async = (ApacheAsyncClient) running.getAsyncClient();
+        try {
+            running.concurrency(50, 7);
+
+            assertEquals(50, sync.getManager().getMaxTotal());
+            assertEquals(7, sync.getManager().getDefaultMaxPerRoute());
+            assertEquals(50, async.getManager().getMaxTotal());
+            assertEquals(7, async.getManager().getDefaultMaxPerRoute());
+        } finally {
+            running.shutDown(true);
+        }
+    }
+
+    @Test
+    public void canLimitSingleRoutes() {
+        Config running = new Config();
+        ApacheClient sync = (ApacheClient) running.getClient();
+        ApacheAsyncClient async = (ApacheAsyncClient) running.getAsyncClient();
+        try {
+            running.concurrency("https://API.example.com", 5)
+                    .concurrency("localhost:8080", 120);
+
+            HttpRoute external = new HttpRoute(new HttpHost("api.example.com", 443, "https"), null, true);
+            HttpRoute internal = new HttpRoute(new HttpHost("localhost", 8080, "http"));
+            HttpRoute other = new HttpRoute(new HttpHost("other.example.com", 80, "http"));
+            assertEquals(5, sync.getManager().getMaxPerRoute(external));
+            assertEquals(120, sync.getManager().getMaxPerRoute(internal));
+            assertEquals(Config.DEFAULT_MAX_PER_ROUTE, sync.getManager().getMaxPerRoute(other));
+            assertEquals(5, async.getManager().getMaxPerRoute(external));
+            assertEquals(120, async.getManager().getMaxPerRoute(internal));
+        } finally {
+            running.shutDown(true);
+        }
+    }
+
+    @Test
+    public void routeLimitsAreAppliedToNewClients() {
+        Config fresh = new Config().concurrency("https://api.example.com:8443", 3);
+        try {
+            ApacheClient sync = (ApacheClient) fresh.getClient();
+
+            HttpRoute route = new HttpRoute(new HttpHost("api.example.com", 8443, "https"), null, true);
+            assertEquals(3, sync.getManager().getMaxPerRoute(route));
+            assertEquals(Config.DEFAULT_MAX_CONNECTIONS, sync.getManager().getMaxTotal());
+        } finally {
+            fresh.shutDown(true);
+        }
+    }
+
     @Test
     public void willNotRebuildIfNotClosableAsyncClient() {
         HttpAsyncClient c = mock(HttpAsyncClient.class);
@@ -136,9 +192,27 @@ public class ConfigTest {
 
         verify(httpc).close();
         verify(clientManager).close();
-        verify(connMonitor).interrupt();
+        verify(connMonitor).stop();
         verify(asyncClient).close();
-        verify(asyncMonitor).interrupt();
+        verify(asyncMonitor).stop();
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void theOldMonitorThreadsAreStillAcceptedAndInterruptedOnShutdown() throws IOException {
+        SyncIdleConnectionMonitorThread oldMonitor = mock(SyncIdleConnectionMonitorThread.class);
+        AsyncIdleConnectionMonitorThread oldAsyncMonitor = mock(AsyncIdleConnectionMonitorThread.class);
+        ApacheClient client = new ApacheClient(httpc, null, clientManager, oldMonitor);
+
+        Unirest.config()
+                .httpClient(client)
+                .asyncClient(new ApacheAsyncClient(asyncClient, null, manager, oldAsyncMonitor));
+        assertSame(oldMonitor, client.getSyncMonitor());
+
+        Unirest.shutDown();
+
+        verify(oldMonitor).interrupt();
+        verify(oldAsyncMonitor).interrupt();
     }
 
     @Test
@@ -146,9 +220,9 @@ public class ConfigTest {
         when(asyncClient.isRunning()).thenReturn(true);
         doThrow(new IOException("1")).when(httpc).close();
         doThrow(new RuntimeException("2")).when(clientManager).close();
-        doThrow(new RuntimeException("3")).when(connMonitor).interrupt();
+        doThrow(new RuntimeException("3")).when(connMonitor).stop();
         doThrow(new IOException("4")).when(asyncClient).close();
-        doThrow(new RuntimeException("5")).when(asyncMonitor).interrupt();
+        doThrow(new RuntimeException("5")).when(asyncMonitor).stop();
 
         Unirest.config()
                 .httpClient(new ApacheClient(httpc, null, clientManager, connMonitor))
@@ -165,9 +239,9 @@ public class ConfigTest {
 
         verify(httpc).close();
         verify(clientManager).close();
-        verify(connMonitor).interrupt();
+        verify(connMonitor).stop();
         verify(asyncClient).close();
-        verify(asyncMonitor).interrupt();
+        verify(asyncMonitor).stop();
     }
 
     @Test
@@ -175,8 +249,8 @@ public class ConfigTest {
         when(asyncClient.isRunning()).thenReturn(true);
 
         Unirest.config()
-                .httpClient(new ApacheClient(httpc, null, null, null))
-                .asyncClient(new ApacheAsyncClient(asyncClient, null, null, null));
+                .httpClient(new ApacheClient(httpc, null, null, (IdleConnectionReaper) null))
+                .asyncClient(new ApacheAsyncClient(asyncClient, null, null, (IdleConnectionReaper) null));
 
         Unirest.shutDown();
 
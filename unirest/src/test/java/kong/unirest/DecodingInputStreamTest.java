@@ -0,0 +1,165 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DecodingInputStreamTest {
+
+    private static final String TEXT = "the quick brown fox jumps over the lazy dog, again and again and again";
+
+    @Test
+    public void decodesGzip() throws IOException {
+        assertEquals(TEXT, decode(gzip(TEXT), "gzip"));
+        assertEquals(TEXT, decode(gzip(TEXT), " X-GZIP "));
+    }
+
+    @Test
+    public void decodesConcatenatedGzipMembers() throws IOException {
+        ByteArrayOutputStream both = new ByteArrayOutputStream();
+        both.write(gzip("first "));
+        both.write(gzip("second"));
+
+        assertEquals("first second", decode(both.toByteArray(), "gzip"));
+    }
+
+    @Test
+    public void decodesZlibAndRawDeflate() throws IOException {
+        assertEquals(TEXT, decode(deflate(TEXT, false), "deflate"));
+        assertEquals(TEXT, decode(deflate(TEXT, true), "deflate"));
+    }
+
+    @Test
+    public void anEmptyBodyDecodesToNothing() throws IOException {
+        assertEquals("", decode(new byte[0], "gzip"));
+        assertEquals("", decode(new byte[0], "deflate"));
+    }
+
+    @Test(expected = ZipException.class)
+    public void aCorruptTrailerIsAnError() throws IOException {
+        byte[] zipped = gzip(TEXT);
+        zipped[zipped.length - 5] ^= 1;
+        decode(zipped, "gzip");
+    }
+
+    @Test(expected = IOException.class)
+    public void aTruncatedBodyIsAnError() throws IOException {
+        byte[] zipped = gzip(TEXT);
+        byte[] half = new byte[zipped.length / 2];
+        System.arraycopy(zipped, 0, half, 0, half.length);
+        decode(half, "gzip");
+    }
+
+    @Test
+    public void inflatersAreReturnedToThePool() throws IOException {
+        decode(gzip(TEXT), "gzip");
+        int idle = InflaterPool.getIdleCount(true);
+
+        decode(gzip(TEXT), "gzip");
+
+        assertEquals(idle, InflaterPool.getIdleCount(true));
+        assertTrue(idle > 0);
+    }
+
+    @Test
+    public void reportsCompressedAndDecodedSizesOnce() throws IOException {
+        byte[] zipped = gzip(TEXT);
+        AtomicLong calls = new AtomicLong();
+        AtomicLong compressed = new AtomicLong();
+        AtomicLong decoded = new AtomicLong();
+        MetricContext metric = new MetricContext() {
+            @Override
+            public void complete(HttpResponseSummary httpResponse, Exception ex) {
+            }
+
+            @Override
+            public void contentDecoded(String encoding, long compressedBytes, long decodedBytes) {
+                calls.incrementAndGet();
+                compressed.set(compressedBytes);
+                decoded.set(decodedBytes);
+            }
+        };
+
+        try (InputStream in = new DecodingInputStream(new ByteArrayInputStream(zipped), "gzip", metric)) {
+            readAll(in);
+        }
+
+        assertEquals(1, calls.get());
+        assertEquals(zipped.length, compressed.get());
+        assertEquals(TEXT.length(), decoded.get());
+    }
+
+    @Test(expected = UnirestException.class)
+    public void unknownEncodingsAreRejected() {
+        new DecodingInputStream(new ByteArrayInputStream(new byte[0]), "br", (r, e) -> {});
+    }
+
+    private String decode(byte[] body, String encoding) throws IOException {
+        try (InputStream in = new DecodingInputStream(new ByteArrayInputStream(body), encoding, (r, e) -> {})) {
+            return new String(readAll(in), StandardCharsets.UTF_8);
+        }
+    }
+
+    private byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[7];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream zip = new GZIPOutputStream(out)) {
+            zip.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] deflate(String text, boolean nowrap) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DeflaterOutputStream zip = new DeflaterOutputStream(out, new Deflater(Deflater.DEFAULT_COMPRESSION, nowrap))) {
+            zip.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,137 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static kong.unirest.TestUtil.assertException;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class EncodingOutputStreamTest {
+    private static final String BODY = String.join("", Collections.nCopies(5000, "Hello Unirest "));
+
+    @Test
+    public void gzip() throws Exception {
+        byte[] compressed = encode("gzip");
+
+        assertTrue(compressed.length < BODY.length());
+        assertEquals(BODY, read(new GZIPInputStream(new ByteArrayInputStream(compressed))));
+    }
+
+    @Test
+    public void deflate() throws Exception {
+        byte[] compressed = encode("deflate");
+
+        assertEquals(BODY, read(new InflaterInputStream(new ByteArrayInputStream(compressed))));
+    }
+
+    @Test
+    public void theDeflaterGoesBackToThePoolWhenFinished() throws Exception {
+        encode("gzip");
+        int idle = DeflaterPool.getIdleCount(true);
+
+        EncodingOutputStream out = new EncodingOutputStream(new ByteArrayOutputStream(), "gzip");
+        assertEquals(Math.max(idle - 1, 0), DeflaterPool.getIdleCount(true));
+        out.finish();
+        out.finish();
+        assertEquals(idle == 0 ? 1 : idle, DeflaterPool.getIdleCount(true));
+    }
+
+    @Test
+    public void aDiscardedStreamStillHandsTheDeflaterBack() throws Exception {
+        encode("deflate");
+        int idle = DeflaterPool.getIdleCount(false);
+
+        EncodingOutputStream out = new EncodingOutputStream(new ByteArrayOutputStream(), "deflate");
+        out.write(1);
+        out.discard();
+        out.discard();
+
+        assertEquals(idle == 0 ? 1 : idle, DeflaterPool.getIdleCount(false));
+        assertException(() -> out.write(1), IOException.class, "The compressed body has already been finished");
+    }
+
+    @Test
+    public void theDeflaterGoesBackToThePoolWhenTheHeaderCannotBeWritten() throws Exception {
+        encode("gzip");
+        int idle = DeflaterPool.getIdleCount(true);
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertException(() -> new EncodingOutputStream(broken, "gzip"), IOException.class, "Broken pipe");
+        assertEquals(idle == 0 ? 1 : idle, DeflaterPool.getIdleCount(true));
+    }
+
+    @Test
+    public void cannotWriteOnceFinished() throws Exception {
+        EncodingOutputStream out = new EncodingOutputStream(new ByteArrayOutputStream(), "gzip");
+        out.finish();
+
+        assertException(() -> out.write(1), IOException.class, "The compressed body has already been finished");
+    }
+
+    @Test
+    public void onlyGzipAndDeflate() {
+        assertException(() -> new EncodingOutputStream(new ByteArrayOutputStream(), "br"),
+                UnirestException.class,
+                "Unsupported content encoding: br");
+    }
+
+    private byte[] encode(String encoding) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EncodingOutputStream encoder = new EncodingOutputStream(out, encoding);
+        byte[] bytes = BODY.getBytes(UTF_8);
+        encoder.write(bytes[0]);
+        encoder.write(bytes, 1, bytes.length - 1);
+        encoder.finish();
+        return out.toByteArray();
+    }
+
+    private String read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return new String(out.toByteArray(), UTF_8);
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class EventStreamParserTest {
+
+    private List<ServerSentEvent> events = new ArrayList<>();
+    private EventStreamParser parser = new EventStreamParser(events::add, 3000);
+
+    @Test
+    public void joinsDataLinesAndStripsOneLeadingSpace() throws IOException {
+        parse("data:first\ndata:  second\n\n");
+
+        assertEquals(1, events.size());
+        assertEquals("first\n second", events.get(0).getData());
+        assertEquals("message", events.get(0).getEvent());
+    }
+
+    @Test
+    public void acceptsAnyLineEnding() throws IOException {
+        parse("\uFEFFdata: a\r\n\r\ndata: b\r\rdata: c\n\n");
+
+        assertEquals(3, events.size());
+        assertEquals("a", events.get(0).getData());
+        assertEquals("b", events.get(1).getData());
+        assertEquals("c", events.get(2).getData());
+    }
+
+    @Test
+    public void ignoresCommentsUnknownFieldsAndEventsWithoutData() throws IOException {
+        parse(": hello\nfoo: bar\nevent: ping\n\ndata\n\n");
+
+        assertEquals(1, events.size());
+        assertEquals("", events.get(0).getData());
+        assertEquals("message", events.get(0).getEvent());
+    }
+
+    @Test
+    public void theLastEventIdCarriesOverToLaterEvents() throws IOException {
+        parse("id: 7\ndata: a\n\ndata: b\n\nid\ndata: c\n\n");
+
+        assertEquals("7", events.get(0).getId());
+        assertEquals("7", events.get(1).getId());
+        assertEquals("", events.get(2).getId());
+    }
+
+    @Test
+    public void onlyNumericRetryValuesAreUsed() throws IOException {
+        parse("retry: 1500\n\nretry: soon\n\n");
+
+        assertEquals(1500, parser.getRetry());
+    }
+
+    @Test
+    public void anUnterminatedEventIsDiscarded() throws IOException {
+        parse("data: done\n\ndata: half");
+
+        assertEquals(1, events.size());
+        parse("data: next\n\n");
+        assertEquals("next", events.get(1).getData());
+    }
+
+    private void parse(String stream) throws IOException {
+        parser.parse(new BufferedReader(new StringReader(stream)));
+    }
+}
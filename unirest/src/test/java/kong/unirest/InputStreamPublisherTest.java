@@ -0,0 +1,128 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class InputStreamPublisherTest {
+
+    @Test
+    public void publishesOnlyWhatWasRequested() throws Exception {
+        Recorder recorder = new Recorder();
+        new InputStreamPublisher(new ByteArrayInputStream(new byte[20000])).subscribe(recorder);
+
+        recorder.subscription.request(1);
+        Thread.sleep(100);
+        assertEquals(1, recorder.chunks.size());
+
+        recorder.subscription.request(5);
+        recorder.await();
+        assertEquals(3, recorder.chunks.size());
+        assertEquals(20000, recorder.chunks.stream().mapToInt(ByteBuffer::remaining).sum());
+        assertEquals("complete", recorder.signals.get(recorder.signals.size() - 1));
+    }
+
+    @Test
+    public void aNonPositiveRequestIsAnError() throws Exception {
+        Recorder recorder = new Recorder();
+        new InputStreamPublisher(new ByteArrayInputStream(new byte[10])).subscribe(recorder);
+
+        recorder.subscription.request(0);
+        recorder.await();
+
+        assertTrue(recorder.error instanceof IllegalArgumentException);
+    }
+
+    @Test
+    public void canOnlyBeSubscribedOnce() throws Exception {
+        InputStreamPublisher publisher = new InputStreamPublisher(new ByteArrayInputStream(new byte[10]));
+        publisher.subscribe(new Recorder());
+        Recorder second = new Recorder();
+
+        publisher.subscribe(second);
+
+        second.await();
+        assertTrue(second.error instanceof IllegalStateException);
+    }
+
+    @Test
+    public void nothingIsSignalledAfterCancelling() throws Exception {
+        Recorder recorder = new Recorder();
+        new InputStreamPublisher(new ByteArrayInputStream(new byte[20000])).subscribe(recorder);
+
+        recorder.subscription.cancel();
+        recorder.subscription.request(10);
+        Thread.sleep(100);
+
+        assertEquals(0, recorder.signals.size());
+    }
+
+    private static class Recorder implements ByteBufferPublisher.Subscriber {
+        private final List<ByteBuffer> chunks = new CopyOnWriteArrayList<>();
+        private final List<String> signals = new CopyOnWriteArrayList<>();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile ByteBufferPublisher.Subscription subscription;
+        private volatile Throwable error;
+
+        @Override
+        public void onSubscribe(ByteBufferPublisher.Subscription s) {
+            subscription = s;
+        }
+
+        @Override
+        public void onNext(ByteBuffer chunk) {
+            chunks.add(chunk);
+            signals.add("next");
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            signals.add("error");
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            signals.add("complete");
+            done.countDown();
+        }
+
+        void await() throws InterruptedException {
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+public class JsonValueIteratorTest {
+
+    @Test
+    public void splitsTheElementsOfAnArray() {
+        assertEquals(asList("{\"a\":[1,2]}", "[3]", "\"x\"", "4.5", "true", "null"),
+                split(" [ {\"a\":[1,2]} ,[3],\"x\", 4.5 ,true,null ] "));
+    }
+
+    @Test
+    public void splitsValuesFollowingEachOther() {
+        assertEquals(asList("{\"a\":1}", "{\"b\":2}", "3"), split("{\"a\":1}\n{\"b\":2}\r\n3\n"));
+    }
+
+    @Test
+    public void bracketsAndQuotesInStringsAreNotStructure() {
+        assertEquals(asList("{\"a\":\"]}\\\"[{\"}", "\"\\\\\""), split("[{\"a\":\"]}\\\"[{\"},\"\\\\\"]"));
+    }
+
+    @Test
+    public void emptyBodiesAndArraysHaveNoValues() {
+        assertEquals(new ArrayList<>(), split(""));
+        assertEquals(new ArrayList<>(), split("  [ ]  "));
+    }
+
+    @Test
+    public void valuesAreLargerThanTheReadBuffer() {
+        StringBuilder big = new StringBuilder("\"");
+        for (int i = 0; i < 20000; i++) {
+            big.append('x');
+        }
+        big.append('"');
+
+        assertEquals(asList(big.toString(), "1"), split("[" + big + ",1]"));
+    }
+
+    @Test(expected = UnirestException.class)
+    public void aTruncatedArrayIsAnError() {
+        split("[{\"a\":1},");
+    }
+
+    @Test(expected = UnirestException.class)
+    public void aTruncatedValueIsAnError() {
+        split("{\"a\":");
+    }
+
+    private List<String> split(String json) {
+        List<String> values = new ArrayList<>();
+        Iterator<String> it = new JsonValueIterator<>(new StringReader(json), s -> s);
+        it.forEachRemaining(values::add);
+        return values;
+    }
+}
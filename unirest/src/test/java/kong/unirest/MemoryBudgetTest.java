@@ -0,0 +1,118 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static kong.unirest.TestUtil.assertException;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MemoryBudgetTest {
+    private final AtomicLong reported = new AtomicLong(-1);
+    private final UniMetric metric = new UniMetric() {
+        @Override
+        public MetricContext begin(HttpRequestSummary request) {
+            return (r, e) -> { };
+        }
+
+        @Override
+        public void bodyMemoryInUse(long usedBytes, long maxBytes) {
+            reported.set(usedBytes);
+        }
+    };
+
+    @Test
+    public void reservesAndReleasesBytes() {
+        MemoryBudget budget = new MemoryBudget(100, 0, () -> metric);
+
+        assertEquals(60, budget.acquire(60));
+        assertEquals(60, budget.getUsedBytes());
+        assertEquals(60, reported.get());
+
+        budget.release(60);
+        assertEquals(0, budget.getUsedBytes());
+        assertEquals(0, reported.get());
+    }
+
+    @Test
+    public void failsStraightAwayWithoutAWait() {
+        MemoryBudget budget = new MemoryBudget(100, 0, () -> metric);
+        budget.acquire(60);
+
+        assertException(() -> budget.acquire(50),
+                MemoryBudgetException.class,
+                "The body memory budget of 100 bytes is used up");
+        assertEquals(60, budget.getUsedBytes());
+    }
+
+    @Test
+    public void waitsForRoomToFreeUp() throws Exception {
+        MemoryBudget budget = new MemoryBudget(100, 5000, () -> metric);
+        budget.acquire(60);
+
+        CompletableFuture<Long> waiting = CompletableFuture.supplyAsync(() -> budget.acquire(50));
+        Thread.sleep(100);
+        assertFalse(waiting.isDone());
+
+        budget.release(60);
+        assertEquals(50L, (long) waiting.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void acquiringNowNeverWaits() {
+        MemoryBudget budget = new MemoryBudget(100, 5000, () -> metric);
+        budget.acquire(60);
+
+        long start = System.nanoTime();
+        assertException(() -> budget.acquireNow(50),
+                MemoryBudgetException.class,
+                "The body memory budget of 100 bytes is used up");
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+        assertEquals(40, budget.acquireNow(40));
+    }
+
+    @Test
+    public void aBodyLargerThanTheBudgetTakesAllOfIt() {
+        MemoryBudget budget = new MemoryBudget(100, 0, () -> metric);
+
+        assertEquals(100, budget.acquire(500));
+        budget.release(100);
+        assertEquals(0, budget.getUsedBytes());
+    }
+
+    @Test
+    public void budgetMustBePositive() {
+        assertException(() -> new MemoryBudget(0, 0, () -> metric),
+                UnirestConfigException.class,
+                "The memory budget must be positive and the wait may not be negative");
+    }
+}
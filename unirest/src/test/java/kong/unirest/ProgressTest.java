@@ -0,0 +1,90 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+public class ProgressTest {
+    private final Config config = new Config();
+    private final List<Long> reported = new ArrayList<>();
+    private final ProgressListener listener = (name, fileName, bytes, total) -> reported.add(bytes);
+
+    @Test
+    public void reportsOnceEveryIntervalOfBytes() {
+        config.progressInterval(100, 0);
+        Progress progress = new Progress(listener, "f", null, 1000, config);
+
+        for (int i = 0; i < 25; i++) {
+            progress.add(40);
+        }
+
+        assertEquals(asList(120L, 240L, 360L, 480L, 600L, 720L, 840L, 960L, 1000L), reported);
+    }
+
+    @Test
+    public void reportsEveryCallWithoutAnInterval() {
+        config.progressInterval(0, 0);
+        Progress progress = new Progress(listener, "f", null, -1, config);
+
+        progress.add(1);
+        progress.add(0);
+        progress.add(2);
+
+        assertEquals(asList(1L, 3L), reported);
+    }
+
+    @Test
+    public void doneReportsWhatIsLeftOfABodyOfUnknownSize() {
+        config.progressInterval(100, 0);
+        Progress progress = new Progress(listener, "f", null, -1, config);
+
+        progress.add(150);
+        progress.add(20);
+        progress.done();
+        progress.done();
+
+        assertEquals(asList(150L, 170L), reported);
+    }
+
+    @Test
+    public void reportsOnceTheTimeIntervalHasPassed() throws Exception {
+        config.progressInterval(0, 20);
+        Progress progress = new Progress(listener, "f", null, -1, config);
+
+        progress.add(1);
+        assertEquals(0, reported.size());
+
+        Thread.sleep(30);
+        progress.add(1);
+        assertEquals(asList(2L), reported);
+    }
+}
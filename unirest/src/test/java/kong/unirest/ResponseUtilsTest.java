@@ -69,6 +69,23 @@ public class ResponseUtilsTest {
         assertEquals("SINDARIN-42", getCharSet(null));
     }
 
+    @Test
+    public void charsetCanBeQuotedOrSpaced() {
+        assertEquals("UTF-8", getCharSet("application/json; charset=\"utf-8\""));
+        assertEquals("EUC-JP", getCharSet("text/html;foo=bar;  Charset = euc-jp ;"));
+        assertEquals("ISO-8859-1", getCharSet("text/plain;charset=iso-8859-1"));
+    }
+
+    @Test
+    public void responsesWhichOnlyImplementTheInterfaceStillHaveACharset() {
+        defaultEncoding("UTF-8");
+        InterfaceResponse response = new InterfaceResponse(config);
+
+        assertEquals("UTF-8", response.getCharSet());
+        response.type = "text/html; charset=euc-jp";
+        assertEquals("EUC-JP", response.getCharSet());
+    }
+
     private void defaultEncoding(String t) {
         when(config.getDefaultResponseEncoding()).thenReturn(t);
     }
@@ -78,6 +95,80 @@ public class ResponseUtilsTest {
         return test.getCharSet();
     }
 
+    public static class InterfaceResponse implements RawResponse {
+        private final Config config;
+        public String type;
+
+        InterfaceResponse(Config config) {
+            this.config = config;
+        }
+
+        @Override
+        public int getStatus() {
+            return 0;
+        }
+
+        @Override
+        public String getStatusText() {
+            return null;
+        }
+
+        @Override
+        public Headers getHeaders() {
+            return null;
+        }
+
+        @Override
+        public InputStream getContent() {
+            return null;
+        }
+
+        @Override
+        public byte[] getContentAsBytes() {
+            return new byte[0];
+        }
+
+        @Override
+        public String getContentAsString() {
+            return null;
+        }
+
+        @Override
+        public String getContentAsString(String charset) {
+            return null;
+        }
+
+        @Override
+        public InputStreamReader getContentReader() {
+            return null;
+        }
+
+        @Override
+        public boolean hasContent() {
+            return false;
+        }
+
+        @Override
+        public String getContentType() {
+            return type;
+        }
+
+        @Override
+        public String getEncoding() {
+            return null;
+        }
+
+        @Override
+        public Config getConfig() {
+            return config;
+        }
+
+        @Override
+        public HttpResponseSummary toSummary() {
+            return null;
+        }
+    }
+
     public static class TestResponse extends RawResponseBase {
 
         public String type;
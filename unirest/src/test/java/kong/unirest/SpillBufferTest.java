@@ -0,0 +1,69 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SpillBufferTest {
+    private static final String BODY = String.join("", Collections.nCopies(5000, "0123456789"));
+    private final BufferPool pool = new BufferPool(1024, 2);
+
+    @Test
+    public void smallBodiesStayOnTheHeap() throws Exception {
+        ByteBuffer buffer = SpillBuffer.read(input(), BODY.length(), pool);
+
+        assertTrue(buffer.hasArray());
+        assertEquals(BODY, new String(buffer.array(), UTF_8));
+    }
+
+    @Test
+    public void largeBodiesAreMappedFromDisk() throws Exception {
+        ByteBuffer buffer = SpillBuffer.read(input(), BODY.length() - 1, pool);
+
+        assertFalse(buffer.hasArray());
+        assertTrue(buffer.isDirect());
+        assertEquals(BODY, UTF_8.decode(buffer).toString());
+    }
+
+    @Test
+    public void aZeroThresholdSpillsAnythingAtAll() throws Exception {
+        assertTrue(SpillBuffer.read(input(), 0, pool).isDirect());
+        assertTrue(SpillBuffer.read(new ByteArrayInputStream(new byte[0]), 0, pool).hasArray());
+    }
+
+    private ByteArrayInputStream input() {
+        return new ByteArrayInputStream(BODY.getBytes(UTF_8));
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+
+public class StringDecoderTest {
+
+    private BufferPool pool = new BufferPool(4, 2);
+
+    @Test
+    public void decodesAscii() throws IOException {
+        assertEquals("hello world", decode("hello world", StandardCharsets.UTF_8, -1));
+        assertEquals("hello world", decode("hello world", StandardCharsets.US_ASCII, 11));
+    }
+
+    @Test
+    public void decodesLatin1() throws IOException {
+        assertEquals("föö bär", decode("föö bär", StandardCharsets.ISO_8859_1, -1));
+    }
+
+    @Test
+    public void decodesMultiByteCharactersSplitAcrossReads() throws IOException {
+        assertEquals("ascii then ěščřžýáíé", decode("ascii then ěščřžýáíé", StandardCharsets.UTF_8, -1));
+        assertEquals("ěščřžýáíé", decode("ěščřžýáíé", StandardCharsets.UTF_8, 3));
+        assertEquals("こんにちは", decode("こんにちは", StandardCharsets.UTF_16, -1));
+    }
+
+    @Test
+    public void decodesOtherCharsets() throws IOException {
+        assertEquals("šžýáíé", decode("šžýáíé", Charset.forName("windows-1250"), -1));
+    }
+
+    @Test
+    public void replacesMalformedInputLikeNewStringDoes() throws IOException {
+        byte[] bad = {'a', (byte) 0xC3, 'b'};
+
+        String decoded = StringDecoder.decode(new ByteArrayInputStream(bad), StandardCharsets.UTF_8, -1, pool);
+
+        assertEquals(new String(bad, StandardCharsets.UTF_8), decoded);
+    }
+
+    @Test
+    public void decodesNothing() throws IOException {
+        assertEquals("", decode("", StandardCharsets.UTF_8, 0));
+    }
+
+    private String decode(String value, Charset charset, long length) throws IOException {
+        return StringDecoder.decode(new ByteArrayInputStream(value.getBytes(charset)), charset, length, pool);
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest.apache;
+
+import BehaviorTests.MockServer;
+import kong.unirest.HttpResponse;
+import kong.unirest.Unirest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class AsyncStreamingEntityTest {
+    private final CountDownLatch busy = new CountDownLatch(1);
+
+    @Before
+    public void setUp() {
+        MockServer.reset();
+    }
+
+    @After
+    public void tearDown() {
+        busy.countDown();
+        Unirest.shutDown(true);
+    }
+
+    @Test(timeout = 10000)
+    public void bodiesAreWrittenWhileEveryWorkerIsBusy() throws Exception {
+        for (int i = 0; i < Util.MAX_WORKERS; i++) {
+            Util.WORKERS.execute(() -> {
+                try {
+                    busy.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        HttpResponse<String> response = Unirest.post(MockServer.ECHO_RAW)
+                .body(new ByteArrayInputStream("written".getBytes(StandardCharsets.UTF_8)))
+                .asStringAsync()
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals("written", response.getBody());
+    }
+}
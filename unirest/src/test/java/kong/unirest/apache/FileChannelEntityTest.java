@@ -0,0 +1,137 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest.apache;
+
+import org.apache.http.nio.ContentEncoder;
+import org.apache.http.nio.FileContentEncoder;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+public class FileChannelEntityTest {
+    private static final String BODY = String.join("", Collections.nCopies(10000, "0123456789"));
+
+    @Test
+    public void writesTheFileToAStream() throws Exception {
+        FileChannelEntity entity = new FileChannelEntity(file());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        entity.writeTo(out);
+
+        assertEquals(BODY.length(), entity.getContentLength());
+        assertEquals(BODY, new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void copiesThroughABufferWhenTheEncoderCannotTakeAChannel() throws Exception {
+        FileChannelEntity entity = new FileChannelEntity(file());
+
+        assertEquals(BODY, produce(entity));
+        // and again, as it would be on a retry
+        assertEquals(BODY, produce(entity));
+    }
+
+    @Test
+    public void transfersStraightFromTheFileWhenTheEncoderCanTakeAChannel() throws Exception {
+        FileChannelEntity entity = new FileChannelEntity(file());
+
+        assertEquals(BODY, produce(entity, new ChannelEncoder()));
+    }
+
+    @Test(expected = IOException.class)
+    public void failsRatherThanHangWhenTheFileGetsShorter() throws Exception {
+        Path file = file();
+        FileChannelEntity entity = new FileChannelEntity(file);
+        ChannelEncoder encoder = new ChannelEncoder();
+        entity.produceContent(encoder, null);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(2000);
+        }
+        produce(entity, encoder);
+    }
+
+    private String produce(FileChannelEntity entity) throws Exception {
+        return produce(entity, new SlowEncoder());
+    }
+
+    private String produce(FileChannelEntity entity, SlowEncoder encoder) throws Exception {
+        while (!encoder.isCompleted()) {
+            entity.produceContent(encoder, null);
+        }
+        return new String(encoder.out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private Path file() throws Exception {
+        Path file = Files.createTempFile("unirest-entity", ".txt");
+        file.toFile().deleteOnExit();
+        Files.write(file, BODY.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    // takes a few bytes at a time, like a socket that keeps filling up
+    private static class SlowEncoder implements ContentEncoder {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        private boolean completed;
+
+        @Override
+        public int write(ByteBuffer src) {
+            int count = Math.min(src.remaining(), 1000);
+            for (int i = 0; i < count; i++) {
+                out.write(src.get());
+            }
+            return count;
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        @Override
+        public boolean isCompleted() {
+            return completed;
+        }
+    }
+
+    private static class ChannelEncoder extends SlowEncoder implements FileContentEncoder {
+        @Override
+        public long transfer(FileChannel src, long position, long count) throws IOException {
+            return src.transferTo(position, Math.min(count, 1000), Channels.newChannel(super.out));
+        }
+    }
+}
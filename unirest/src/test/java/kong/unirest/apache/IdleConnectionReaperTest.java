@@ -0,0 +1,120 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest.apache;
+
+import kong.unirest.Config;
+import kong.unirest.ConnectionOptions;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class IdleConnectionReaperTest {
+
+    @Test
+    public void sweepsExpiredAndIdleConnections() throws Exception {
+        CountDownLatch swept = new CountDownLatch(2);
+        AtomicLong idle = new AtomicLong();
+        Config config = new Config().connectionOptions(new ConnectionOptions().sweepInterval(10).idleTimeout(50));
+
+        IdleConnectionReaper reaper = IdleConnectionReaper.start(config, swept::countDown, millis -> {
+            idle.set(millis);
+            swept.countDown();
+        });
+
+        try {
+            assertTrue(swept.await(5, TimeUnit.SECONDS));
+            assertEquals(50, idle.get());
+        } finally {
+            reaper.stop();
+        }
+    }
+
+    @Test
+    public void idleConnectionsAreKeptWithoutAnIdleTimeout() throws Exception {
+        CountDownLatch swept = new CountDownLatch(3);
+        AtomicInteger idleSweeps = new AtomicInteger();
+        Config config = new Config().connectionOptions(new ConnectionOptions().sweepInterval(10).idleTimeout(0));
+
+        IdleConnectionReaper reaper = IdleConnectionReaper.start(config, swept::countDown, millis -> idleSweeps.incrementAndGet());
+
+        try {
+            assertTrue(swept.await(5, TimeUnit.SECONDS));
+            assertEquals(0, idleSweeps.get());
+        } finally {
+            reaper.stop();
+        }
+    }
+
+    @Test
+    public void aFailedSweepDoesNotStopTheNextOne() throws Exception {
+        CountDownLatch swept = new CountDownLatch(3);
+        Config config = new Config().connectionOptions(new ConnectionOptions().sweepInterval(10));
+
+        IdleConnectionReaper reaper = IdleConnectionReaper.start(config, () -> {
+            swept.countDown();
+            throw new IllegalStateException("Connection pool shut down");
+        }, millis -> { });
+
+        try {
+            assertTrue(swept.await(5, TimeUnit.SECONDS));
+        } finally {
+            reaper.stop();
+        }
+    }
+
+    @Test
+    public void thereIsNoReaperWhenSweepingIsOff() {
+        Config config = new Config().connectionOptions(new ConnectionOptions().sweepInterval(0));
+
+        assertNull(IdleConnectionReaper.start(config, () -> { }, millis -> { }));
+    }
+
+    @Test
+    public void clientsStopTheirReaperWhenClosed() {
+        IdleConnectionReaper reaper = mock(IdleConnectionReaper.class);
+        IdleConnectionReaper asyncReaper = mock(IdleConnectionReaper.class);
+        Config config = new Config();
+
+        new ApacheClient(mock(CloseableHttpClient.class), config, mock(PoolingHttpClientConnectionManager.class), reaper).close();
+        new ApacheAsyncClient(mock(CloseableHttpAsyncClient.class), config, mock(PoolingNHttpClientConnectionManager.class), asyncReaper).close();
+
+        verify(reaper).stop();
+        verify(asyncReaper).stop();
+    }
+}
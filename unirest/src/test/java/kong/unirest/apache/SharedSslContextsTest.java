@@ -0,0 +1,145 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest.apache;
+
+import kong.unirest.Config;
+import kong.unirest.ConnectionOptions;
+import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.junit.Test;
+
+import javax.net.ssl.SSLContext;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.security.Key;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+
+import static org.junit.Assert.*;
+
+public class SharedSslContextsTest {
+    private static final String STORE = "src/test/resources/certs/badssl.com-client.p12";
+    private static final char[] PASSWORD = "badssl.com".toCharArray();
+
+    @Test
+    public void configsWithTheSameSettingsShareAContext() {
+        assertSame(SharedSslContexts.get(new Config()), SharedSslContexts.get(new Config()));
+    }
+
+    @Test
+    public void aKeystoreLoadedTwiceSharesAContext() {
+        SSLContext first = SharedSslContexts.get(new Config().clientCertificateStore(STORE, "badssl.com"));
+        SSLContext second = SharedSslContexts.get(new Config().clientCertificateStore(STORE, "badssl.com"));
+
+        assertSame(first, second);
+        assertNotSame(first, SharedSslContexts.get(new Config()));
+    }
+
+    @Test
+    public void turningOffVerificationGetsAContextOfItsOwn() {
+        assertNotSame(SharedSslContexts.get(new Config()), SharedSslContexts.get(new Config().verifySsl(false)));
+    }
+
+    @Test
+    public void theSessionCacheIsSized() {
+        SSLContext context = SharedSslContexts.get(new Config().connectionOptions(new ConnectionOptions().sslSessionCache(50, 600)));
+
+        assertEquals(50, context.getClientSessionContext().getSessionCacheSize());
+        assertEquals(600, context.getClientSessionContext().getSessionTimeout());
+    }
+
+    @Test
+    public void onlyTheMostRecentlyUsedContextsAreKept() {
+        SSLContext shared = SharedSslContexts.get(new Config());
+        for (int i = 1; i <= SharedSslContexts.MAX_CONTEXTS * 2; i++) {
+            SharedSslContexts.get(new Config().connectionOptions(new ConnectionOptions().sslSessionCache(i, 1)));
+        }
+
+        assertEquals(SharedSslContexts.MAX_CONTEXTS, SharedSslContexts.size());
+        assertNotSame(shared, SharedSslContexts.get(new Config()));
+    }
+
+    @Test
+    public void aKeystoreWithTheSameCertificatesButAnotherKeyGetsAContextOfItsOwn() throws Exception {
+        KeyStore original = load();
+        String alias = original.aliases().nextElement();
+        Certificate[] chain = original.getCertificateChain(alias);
+        Key otherKey = KeyPairGenerator.getInstance("RSA").generateKeyPair().getPrivate();
+
+        SSLContext first = SharedSslContexts.get(config(keyEntry(alias, original.getKey(alias, PASSWORD), chain)));
+        SSLContext second = SharedSslContexts.get(config(keyEntry(alias, otherKey, chain)));
+
+        assertNotSame(first, second);
+        assertSame(first, SharedSslContexts.get(config(keyEntry(alias, original.getKey(alias, PASSWORD), chain))));
+    }
+
+    @Test
+    public void aTrustedCertificateIsNotTheSameAsAKeyForIt() throws Exception {
+        KeyStore original = load();
+        String alias = original.aliases().nextElement();
+        Certificate[] chain = original.getCertificateChain(alias);
+        KeyStore trusted = empty();
+        trusted.setCertificateEntry(alias, chain[0]);
+
+        SSLContext withKey = SharedSslContexts.get(config(keyEntry(alias, original.getKey(alias, PASSWORD), new Certificate[]{chain[0]})));
+
+        assertNotSame(withKey, SharedSslContexts.get(config(trusted)));
+    }
+
+    @Test
+    public void aClientCertificateKeepsTheHostNameChecks() {
+        Config config = new Config().clientCertificateStore(STORE, "badssl.com");
+
+        assertSame(SSLConnectionSocketFactory.getDefaultHostnameVerifier().getClass(),
+                new SecurityConfig(config).getHostnameVerifier().getClass());
+        assertSame(NoopHostnameVerifier.INSTANCE, new SecurityConfig(config.verifySsl(false)).getHostnameVerifier());
+    }
+
+    private static KeyStore load() throws Exception {
+        KeyStore store = KeyStore.getInstance("PKCS12");
+        try (InputStream in = new FileInputStream(STORE)) {
+            store.load(in, PASSWORD);
+        }
+        return store;
+    }
+
+    private static KeyStore empty() throws Exception {
+        KeyStore store = KeyStore.getInstance("JKS");
+        store.load(null, PASSWORD);
+        return store;
+    }
+
+    private static KeyStore keyEntry(String alias, Key key, Certificate[] chain) throws Exception {
+        KeyStore store = empty();
+        store.setKeyEntry(alias, key, PASSWORD, chain);
+        return store;
+    }
+
+    private static Config config(KeyStore store) {
+        return new Config().clientCertificateStore(store, new String(PASSWORD));
+    }
+}
@@ -30,6 +30,8 @@ import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
 import org.apache.http.nio.client.HttpAsyncClient;
 import org.junit.Test;
 
+import java.util.concurrent.ThreadPoolExecutor;
+
 import static org.junit.Assert.*;
 
 public class UtilTest {
@@ -51,6 +53,17 @@ public class UtilTest {
         assertEquals(true, Util.tryCast(build, CloseableHttpAsyncClient.class).isPresent());
     }
 
+    @Test
+    public void theWorkerPoolIsBounded() {
+        assertEquals(Util.MAX_WORKERS, ((ThreadPoolExecutor) Util.WORKERS).getMaximumPoolSize());
+    }
+
+    @Test
+    public void bodyWritersHaveABoundedPoolOfTheirOwn() {
+        assertNotSame(Util.WORKERS, Util.WRITERS);
+        assertEquals(Util.MAX_WORKERS, ((ThreadPoolExecutor) Util.WRITERS).getMaximumPoolSize());
+    }
+
     public abstract class Foo {}
 
     public class Bar extends Foo {}